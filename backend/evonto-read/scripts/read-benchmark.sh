@@ -0,0 +1,79 @@
+#!/usr/bin/env bash
+# Runs the same read requests against the servlet app and the reactive read
+# service at several concurrency levels and prints throughput and latency.
+# Needs `hey` (https://github.com/rakyll/hey) and both services running on the
+# same database.
+#
+#   TOKEN=<jwt> EVENT_ID=<id of an event owned by the token user> scripts/read-benchmark.sh
+#
+# SERVLET_URL / REACTIVE_URL default to localhost:8080 / localhost:8081.
+# CONCURRENCY (default "16 64 256 1024") and REQUESTS (default 20000) tune the load.
+#
+# The servlet app sheds load above its adaptive concurrency limit (503) and the
+# reactive service has no such limit, so start the servlet app with the limit
+# at or above the highest concurrency for a fair comparison, e.g.
+#
+#   LIMITS_CONCURRENCY_MIN=1024 LIMITS_CONCURRENCY_INITIAL=1024 LIMITS_CONCURRENCY_MAX=2048 \
+#       java -jar target/evonto-0.0.1-SNAPSHOT.jar
+#
+# The non-2xx column counts responses that were not a 2xx plus failed requests;
+# the script exits non-zero if any row has some, as its numbers are not comparable.
+set -euo pipefail
+
+SERVLET_URL="${SERVLET_URL:-http://localhost:8080}"
+REACTIVE_URL="${REACTIVE_URL:-http://localhost:8081}"
+CONCURRENCY="${CONCURRENCY:-16 64 256 1024}"
+REQUESTS="${REQUESTS:-20000}"
+: "${TOKEN:?TOKEN is required}"
+: "${EVENT_ID:?EVENT_ID is required}"
+
+if ! command -v hey >/dev/null; then
+    echo "hey not found on PATH" >&2
+    exit 1
+fi
+
+# Prints "req/s p50 p90 p99 non-2xx" (latencies in ms) from hey's report
+summarize() {
+    awk '
+        /Requests\/sec:/ { rps = $2 }
+        /50% in/ { p50 = $3 * 1000 }
+        /90% in/ { p90 = $3 * 1000 }
+        /99% in/ { p99 = $3 * 1000 }
+        /Status code distribution:/ { section = "status"; next }
+        /Error distribution:/ { section = "error"; next }
+        section == "status" && $1 ~ /^\[/ && $1 !~ /^\[2/ { failed += $2 }
+        section == "error" && $1 ~ /^\[/ { failed += substr($1, 2) }
+        END { printf "%10.0f %8.1f %8.1f %8.1f %8d\n", rps, p50, p90, p99, failed }'
+}
+
+failed_rows=0
+
+run() {
+    local name="$1" base="$2" label="$3" c="$4" row
+    shift 4
+    row=$(printf '%-9s %-24s %6d %s' "$name" "$label" "$c" \
+        "$(hey -n "$REQUESTS" -c "$c" "$@" "$base$PATH_SUFFIX" | summarize)")
+    echo "$row"
+    if [ "$(awk '{ print $NF }' <<<"$row")" != 0 ]; then
+        failed_rows=$((failed_rows + 1))
+    fi
+}
+
+printf '%-9s %-24s %6s %10s %8s %8s %8s %8s\n' service endpoint conc req/s p50ms p90ms p99ms non-2xx
+for c in $CONCURRENCY; do
+    for target in "servlet $SERVLET_URL" "reactive $REACTIVE_URL"; do
+        set -- $target
+        name="$1" base="$2"
+        PATH_SUFFIX="/api/events/$EVENT_ID" run "$name" "$base" "GET event" "$c"
+        PATH_SUFFIX="/api/events/my" run "$name" "$base" "GET my events" "$c" \
+            -H "Authorization: Bearer $TOKEN"
+        PATH_SUFFIX="/api/invitations/list" run "$name" "$base" "POST guest list" "$c" \
+            -m POST -T application/json -d "{\"eventId\":\"$EVENT_ID\"}" \
+            -H "Authorization: Bearer $TOKEN"
+    done
+done
+
+if [ "$failed_rows" -gt 0 ]; then
+    echo "$failed_rows run(s) had non-2xx responses or errors; their numbers are not comparable" >&2
+    exit 1
+fi
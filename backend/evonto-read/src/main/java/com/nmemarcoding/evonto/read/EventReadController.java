@@ -0,0 +1,48 @@
+package com.nmemarcoding.evonto.read;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.nmemarcoding.evonto.dto.EventDto;
+
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/events")
+public class EventReadController {
+
+    private final ReadRepository repository;
+    private final ReactiveJwt jwt;
+
+    public EventReadController(ReadRepository repository, ReactiveJwt jwt) {
+        this.repository = repository;
+        this.jwt = jwt;
+    }
+
+    // Events created by the logged-in user (token required)
+    @GetMapping("/my")
+    public Mono<ResponseEntity<?>> getMyEvents(ServerHttpRequest request) {
+        String username = jwt.username(request);
+        if (username == null) {
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Token not valid"));
+        }
+        return repository.findUserId(username)
+                .<ResponseEntity<?>>map(userId -> ResponseEntity.ok(repository.findEventsByOwner(userId).map(EventDto::new)))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found"))
+                .onErrorResume(e -> Mono.just(ResponseEntity.internalServerError().body("Error fetching user events: " + e.getMessage())));
+    }
+
+    // Get a single event by ID (public)
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<?>> getEventById(@PathVariable Long id) {
+        return repository.findEvent(id)
+                .<ResponseEntity<?>>map(event -> ResponseEntity.ok(new EventDto(event)))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).body("Event not found"))
+                .onErrorResume(e -> Mono.just(ResponseEntity.internalServerError().body("Error retrieving event: " + e.getMessage())));
+    }
+}
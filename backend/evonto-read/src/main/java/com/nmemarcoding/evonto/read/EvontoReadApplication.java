@@ -0,0 +1,24 @@
+package com.nmemarcoding.evonto.read;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.nmemarcoding.evonto.util.JwtKeyRing;
+import com.nmemarcoding.evonto.util.TokenRevocationList;
+
+// Reactive read service: serves the public event/invitation lookups and the
+// owner listings from the same database as the servlet app, without a thread
+// per in-flight query. Route those GET/POST paths here from the proxy; all
+// writes stay on the servlet app.
+@SpringBootApplication
+@EnableScheduling
+@Import({ JwtKeyRing.class, TokenRevocationList.class })
+public class EvontoReadApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(EvontoReadApplication.class, args);
+	}
+
+}
@@ -0,0 +1,38 @@
+package com.nmemarcoding.evonto.read;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.nmemarcoding.evonto.limit.TokenBucketRateLimiter;
+
+// Same guest lookup limits as the servlet app (per client address and per
+// event), with the same property names. Buckets are per instance.
+@Component
+public class GuestRateLimits {
+
+    private final TokenBucketRateLimiter byClient;
+    private final TokenBucketRateLimiter byEvent;
+
+    public GuestRateLimits(@Value("${limits.rate.guest.per-second:5}") double guestPerSecond,
+                           @Value("${limits.rate.guest.burst:20}") int guestBurst,
+                           @Value("${limits.rate.event.per-second:20}") double eventPerSecond,
+                           @Value("${limits.rate.event.burst:50}") int eventBurst) {
+        this.byClient = new TokenBucketRateLimiter(guestPerSecond, guestBurst);
+        this.byEvent = new TokenBucketRateLimiter(eventPerSecond, eventBurst);
+    }
+
+    public TokenBucketRateLimiter getByClient() {
+        return byClient;
+    }
+
+    public TokenBucketRateLimiter getByEvent() {
+        return byEvent;
+    }
+
+    @Scheduled(fixedDelayString = "${limits.rate.evict-interval-ms:10000}")
+    public void evictIdleBuckets() {
+        byClient.evictIdle();
+        byEvent.evictIdle();
+    }
+}
@@ -0,0 +1,108 @@
+package com.nmemarcoding.evonto.read;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.nmemarcoding.evonto.dto.EventDto;
+import com.nmemarcoding.evonto.dto.InvitationDto;
+import com.nmemarcoding.evonto.dto.InvitationWithEventDto;
+import com.nmemarcoding.evonto.limit.TokenBucketRateLimiter;
+
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/invitations")
+public class InvitationReadController {
+
+    private final ReadRepository repository;
+    private final ReactiveJwt jwt;
+    private final GuestRateLimits rateLimits;
+
+    public InvitationReadController(ReadRepository repository, ReactiveJwt jwt, GuestRateLimits rateLimits) {
+        this.repository = repository;
+        this.jwt = jwt;
+        this.rateLimits = rateLimits;
+    }
+
+    // Guest views their invitation by guest name + optional email, with the event
+    @PostMapping("/info")
+    public Mono<ResponseEntity<?>> getInvitationInfo(@RequestBody Map<String, String> payload, ServerHttpRequest request) {
+        String guestEmail = payload.get("guestEmail");
+        String guestName = payload.get("guestName");
+        Long eventId;
+        try {
+            eventId = Long.parseLong(payload.get("eventId"));
+        } catch (NumberFormatException e) {
+            return Mono.just(ResponseEntity.badRequest().body("eventId is required"));
+        }
+        if (guestName == null) {
+            return Mono.just(ResponseEntity.badRequest().body("guestName is required"));
+        }
+
+        ResponseEntity<?> limited = throttle(rateLimits.getByClient(), clientAddress(request));
+        if (limited == null) {
+            limited = throttle(rateLimits.getByEvent(), eventId.toString());
+        }
+        if (limited != null) {
+            return Mono.just(limited);
+        }
+
+        return repository.findEvent(eventId)
+                .flatMap(event -> repository.findGuestInvitation(event, guestName, guestEmail)
+                        .<ResponseEntity<?>>map(invitation -> ResponseEntity.ok(
+                                new InvitationWithEventDto(new EventDto(event), new InvitationDto(invitation)))))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).body("Invitation not found"))
+                .onErrorResume(e -> Mono.just(ResponseEntity.internalServerError().body("Error fetching invitation: " + e.getMessage())));
+    }
+
+    // Owner's guest list, streamed as rows arrive. Send Accept: application/x-ndjson
+    // for one JSON object per line; the default is a JSON array written incrementally.
+    // Either way rows are read only as fast as the client takes them.
+    @PostMapping("/list")
+    public Mono<ResponseEntity<?>> listMyEventInvitations(@RequestBody Map<String, String> payload, ServerHttpRequest request) {
+        String username = jwt.username(request);
+        if (username == null) {
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Token not valid"));
+        }
+        Long eventId;
+        try {
+            eventId = Long.parseLong(payload.get("eventId"));
+        } catch (NumberFormatException e) {
+            return Mono.just(ResponseEntity.badRequest().body("eventId is required"));
+        }
+
+        return repository.findUserId(username)
+                .zipWith(repository.findEvent(eventId))
+                .<ResponseEntity<?>>map(found -> {
+                    if (!found.getT2().getCreatedBy().getUserId().equals(found.getT1())) {
+                        return ResponseEntity.status(HttpStatus.FORBIDDEN).body("You do not own this event");
+                    }
+                    return ResponseEntity.ok(repository.findInvitationsByEvent(found.getT2()).map(InvitationDto::new));
+                })
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).body("Event not found"))
+                .onErrorResume(e -> Mono.just(ResponseEntity.internalServerError().body("Error listing invitations: " + e.getMessage())));
+    }
+
+    private static ResponseEntity<?> throttle(TokenBucketRateLimiter limiter, String key) {
+        if (limiter.tryAcquire(key)) {
+            return null;
+        }
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header("Retry-After", String.valueOf(limiter.getRetryAfterSeconds()))
+                .body("Too many requests");
+    }
+
+    // Client address after X-Forwarded-For handling (server.forward-headers-strategy=framework)
+    private static String clientAddress(ServerHttpRequest request) {
+        InetSocketAddress remote = request.getRemoteAddress();
+        return remote != null && remote.getAddress() != null ? remote.getAddress().getHostAddress() : "unknown";
+    }
+}
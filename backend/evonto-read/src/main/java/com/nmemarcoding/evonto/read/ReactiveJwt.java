@@ -0,0 +1,62 @@
+package com.nmemarcoding.evonto.read;
+
+import java.security.Key;
+import java.util.Date;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+
+import com.nmemarcoding.evonto.util.JwtKeyRing;
+import com.nmemarcoding.evonto.util.TokenRevocationList;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+
+// Verifies tokens issued by the servlet app; point jwt.keyring.path at the
+// same key ring file and leave rotation to the servlet app. Logged-out tokens
+// are rejected once RevocationSync has seen them.
+@Component
+public class ReactiveJwt {
+
+    private final JwtParser parser;
+    private final TokenRevocationList revocations;
+
+    public ReactiveJwt(JwtKeyRing keyRing, TokenRevocationList revocations) {
+        this.revocations = revocations;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        Key key = keyRing.getKey(header.getKeyId());
+                        if (key == null) {
+                            throw new JwtException("Unknown signing key: " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .build();
+    }
+
+    // Username of a valid bearer token, or null
+    public String username(ServerHttpRequest request) {
+        String header = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith("Bearer ")) {
+            return null;
+        }
+        try {
+            Claims claims = parser.parseClaimsJws(header.substring(7)).getBody();
+            if (claims.getExpiration().before(new Date())
+                    || revocations.isRevoked(claims.getId(), claims.getSubject(), claims.getIssuedAt().getTime())) {
+                return null;
+            }
+            return claims.getSubject();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.nmemarcoding.evonto.read;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.nmemarcoding.evonto.model.Event;
+import com.nmemarcoding.evonto.model.Event.RecurrenceFrequency;
+import com.nmemarcoding.evonto.model.Invitation;
+import com.nmemarcoding.evonto.model.Invitation.RSVPStatus;
+import com.nmemarcoding.evonto.model.LocalDateTimeListConverter;
+import com.nmemarcoding.evonto.model.User;
+import com.nmemarcoding.evonto.util.TokenRevocationList.Revocation;
+
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// The read queries of the servlet app in plain SQL over R2DBC. Rows are mapped
+// onto the shared entity classes (as plain objects) so the existing DTO
+// constructors produce exactly the same JSON.
+@Repository
+public class ReadRepository {
+
+    // Rows requested from the database at a time while a guest list streams
+    private static final int FETCH_SIZE = 256;
+
+    private static final String EVENT_COLUMNS = "e.event_id, e.title, e.description, e.start_date_time, e.end_date_time, " +
+            "e.location, e.capacity, e.created_at, e.version, e.recurrence_frequency, e.recurrence_interval, " +
+            "e.recurrence_until, e.recurrence_count, e.recurrence_exceptions, u.id AS owner_id, u.username AS owner_username";
+
+    private static final String INVITATION_COLUMNS = "i.invitation_id, i.event_id, i.guest_name, i.guest_email, i.guest_phone, " +
+            "i.occurrence_start, i.rsvp_status, i.invitation_sent_at, i.responded_at, i.version";
+
+    private static final LocalDateTimeListConverter EXCEPTIONS = new LocalDateTimeListConverter();
+
+    private final DatabaseClient db;
+
+    public ReadRepository(DatabaseClient db) {
+        this.db = db;
+    }
+
+    public Mono<Event> findEvent(Long eventId) {
+        return db.sql("SELECT " + EVENT_COLUMNS + " FROM events e JOIN users u ON u.id = e.created_by " +
+                        "WHERE e.event_id = :eventId AND e.deleted_at IS NULL")
+                .bind("eventId", eventId)
+                .map(ReadRepository::event)
+                .one();
+    }
+
+    public Flux<Event> findEventsByOwner(Long userId) {
+        return db.sql("SELECT " + EVENT_COLUMNS + " FROM events e JOIN users u ON u.id = e.created_by " +
+                        "WHERE e.created_by = :userId AND e.deleted_at IS NULL")
+                .bind("userId", userId)
+                .map(ReadRepository::event)
+                .all();
+    }
+
+    public record RevokedRow(long id, Revocation revocation) {}
+
+    // Same window as RevokedTokenRepository.findUnexpiredSince in the servlet app
+    public Flux<RevokedRow> findRevocations(long afterId, LocalDateTime since, LocalDateTime now) {
+        return db.sql("SELECT id, jti, username, revoked_at, expires_at FROM revoked_tokens " +
+                        "WHERE (id > :afterId OR revoked_at > :since) AND expires_at > :now ORDER BY id")
+                .bind("afterId", afterId)
+                .bind("since", since)
+                .bind("now", now)
+                .map(row -> new RevokedRow(row.get("id", Long.class),
+                        new Revocation(row.get("jti", String.class), row.get("username", String.class),
+                                millis(row.get("revoked_at", LocalDateTime.class)),
+                                millis(row.get("expires_at", LocalDateTime.class)))))
+                .all();
+    }
+
+    public Mono<Long> findUserId(String username) {
+        return db.sql("SELECT id FROM users WHERE username = :username")
+                .bind("username", username)
+                .map(row -> row.get("id", Long.class))
+                .one();
+    }
+
+    // Whole guest list, streamed: rows are pulled as the client consumes them
+    public Flux<Invitation> findInvitationsByEvent(Event event) {
+        return db.sql("SELECT " + INVITATION_COLUMNS + " FROM invitations i WHERE i.event_id = :eventId")
+                .bind("eventId", event.getEventId())
+                .filter(statement -> statement.fetchSize(FETCH_SIZE))
+                .map(row -> invitation(row, event))
+                .all();
+    }
+
+    // Guest lookup of /api/invitations/info, matched in SQL instead of loading the guest list
+    public Mono<Invitation> findGuestInvitation(Event event, String guestName, String guestEmail) {
+        String sql = "SELECT " + INVITATION_COLUMNS + " FROM invitations i " +
+                "WHERE i.event_id = :eventId AND LOWER(i.guest_name) = LOWER(:guestName)" +
+                (guestEmail != null ? " AND LOWER(i.guest_email) = LOWER(:guestEmail)" : "") +
+                " ORDER BY i.invitation_id LIMIT 1";
+        DatabaseClient.GenericExecuteSpec spec = db.sql(sql)
+                .bind("eventId", event.getEventId())
+                .bind("guestName", guestName);
+        if (guestEmail != null) {
+            spec = spec.bind("guestEmail", guestEmail);
+        }
+        return spec.map(row -> invitation(row, event)).one();
+    }
+
+    private static Event event(Readable row) {
+        User owner = new User();
+        owner.setUserId(row.get("owner_id", Long.class));
+        owner.setUsername(row.get("owner_username", String.class));
+
+        Event event = new Event();
+        event.setEventId(row.get("event_id", Long.class));
+        event.setTitle(row.get("title", String.class));
+        event.setDescription(row.get("description", String.class));
+        event.setStartDateTime(row.get("start_date_time", LocalDateTime.class));
+        event.setEndDateTime(row.get("end_date_time", LocalDateTime.class));
+        event.setLocation(row.get("location", String.class));
+        event.setCapacity(row.get("capacity", Integer.class));
+        event.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        event.setVersion(row.get("version", Long.class));
+        String frequency = row.get("recurrence_frequency", String.class);
+        event.setRecurrenceFrequency(frequency != null ? RecurrenceFrequency.valueOf(frequency) : null);
+        event.setRecurrenceInterval(row.get("recurrence_interval", Integer.class));
+        event.setRecurrenceUntil(row.get("recurrence_until", LocalDateTime.class));
+        event.setRecurrenceCount(row.get("recurrence_count", Integer.class));
+        event.setRecurrenceExceptions(EXCEPTIONS.convertToEntityAttribute(row.get("recurrence_exceptions", String.class)));
+        event.setCreatedBy(owner);
+        return event;
+    }
+
+    private static Invitation invitation(Readable row, Event event) {
+        Invitation invitation = new Invitation();
+        invitation.setInvitationId(row.get("invitation_id", Long.class));
+        invitation.setEvent(event);
+        invitation.setGuestName(row.get("guest_name", String.class));
+        invitation.setGuestEmail(row.get("guest_email", String.class));
+        invitation.setGuestPhone(row.get("guest_phone", String.class));
+        invitation.setOccurrenceStart(row.get("occurrence_start", LocalDateTime.class));
+        invitation.setRsvpStatus(RSVPStatus.valueOf(row.get("rsvp_status", String.class)));
+        invitation.setInvitationSentAt(row.get("invitation_sent_at", LocalDateTime.class));
+        invitation.setRespondedAt(row.get("responded_at", LocalDateTime.class));
+        invitation.setVersion(row.get("version", Long.class));
+        return invitation;
+    }
+
+    private static long millis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,56 @@
+package com.nmemarcoding.evonto.read;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.nmemarcoding.evonto.read.ReadRepository.RevokedRow;
+import com.nmemarcoding.evonto.util.TokenRevocationList;
+
+// Pulls logouts from revoked_tokens into the local TokenRevocationList, like
+// TokenRevocationService does in the servlet app. This service never revokes
+// tokens itself; rows are written and cleaned up by the servlet app.
+@Component
+public class RevocationSync {
+
+    private static final Logger log = LoggerFactory.getLogger(RevocationSync.class);
+
+    private static final long RESYNC_WINDOW_MS = 60_000;
+
+    private final ReadRepository repository;
+    private final TokenRevocationList revocations;
+
+    private volatile long lastSeenId;
+
+    public RevocationSync(ReadRepository repository, TokenRevocationList revocations) {
+        this.repository = repository;
+        this.revocations = revocations;
+    }
+
+    // Runs on the scheduler thread, which may block; request threads never wait on it
+    @Scheduled(fixedDelayString = "${auth.revocation.sync-interval-ms:5000}")
+    public void sync() {
+        long now = System.currentTimeMillis();
+        try {
+            var rows = repository.findRevocations(lastSeenId, local(now - RESYNC_WINDOW_MS), local(now))
+                    .collectList()
+                    .block();
+            if (rows != null) {
+                rows.forEach(row -> lastSeenId = Math.max(lastSeenId, row.id()));
+                revocations.addAll(rows.stream().map(RevokedRow::revocation).toList());
+            }
+            revocations.removeExpired(now);
+        } catch (Exception e) {
+            log.warn("Token revocation sync failed: {}", e.getMessage());
+        }
+    }
+
+    private static LocalDateTime local(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+}
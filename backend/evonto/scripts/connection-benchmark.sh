@@ -0,0 +1,142 @@
+#!/usr/bin/env bash
+# Measures how long requests hold a pooled JDBC connection and how much heap
+# they allocate, for one server configuration per run. Results are appended to
+# a table so runs can be compared, e.g. open-session-in-view on vs. off:
+#
+#   TOKEN=<jwt> EVENT_ID=<id> scripts/connection-benchmark.sh osiv-on -- \
+#       java -jar target/evonto-0.0.1-SNAPSHOT.jar --spring.jpa.open-in-view=true
+#   TOKEN=<jwt> EVENT_ID=<id> scripts/connection-benchmark.sh osiv-off -- \
+#       java -jar target/evonto-0.0.1-SNAPSHOT.jar --spring.jpa.open-in-view=false
+#
+# To compare whole commits, build a jar of each and pass them as the command.
+# The event must belong to the token's user. Needs `hey`
+# (https://github.com/rakyll/hey), `jq` and /actuator/metrics exposed (default).
+#
+# Reported per configuration, over the measured load only (after a warm-up):
+#   conn-hold  mean/max time a request held a connection (hikaricp.connections.usage)
+#   acquire    mean wait for a connection (hikaricp.connections.acquire)
+#   alloc/req  heap allocated per request (jvm.gc.memory.allocated)
+#   heap-used  heap in use after the run (jvm.memory.used, area=heap)
+#
+# BASE_URL (default http://localhost:8080), REQUESTS (default 20000),
+# CONCURRENCY (default 64) and RESULTS (default /tmp/evonto-connection-benchmark.tsv) tune it.
+#
+# The start command gets LIMITS_* environment variables that keep the adaptive
+# concurrency limit at or above CONCURRENCY and the rate limits out of the way,
+# so the numbers are the server's, not the limiters' (set any of them yourself
+# to override; pass them on with -e when the command is `docker run`). The run
+# fails if any response is not a 2xx.
+set -euo pipefail
+
+LABEL="${1:?usage: $0 <label> -- <start command>}"
+shift
+[ "${1:-}" = "--" ] && shift
+if [ $# -eq 0 ]; then
+    echo "usage: $0 <label> -- <start command>" >&2
+    exit 1
+fi
+: "${TOKEN:?TOKEN is required}"
+: "${EVENT_ID:?EVENT_ID is required}"
+for tool in hey jq curl; do
+    if ! command -v "$tool" >/dev/null; then
+        echo "$tool not found on PATH" >&2
+        exit 1
+    fi
+done
+
+BASE_URL="${BASE_URL:-http://localhost:8080}"
+REQUESTS="${REQUESTS:-20000}"
+CONCURRENCY="${CONCURRENCY:-64}"
+RESULTS="${RESULTS:-/tmp/evonto-connection-benchmark.tsv}"
+TIMEOUT_S="${TIMEOUT_S:-120}"
+
+export LIMITS_CONCURRENCY_MIN="${LIMITS_CONCURRENCY_MIN:-$CONCURRENCY}"
+export LIMITS_CONCURRENCY_INITIAL="${LIMITS_CONCURRENCY_INITIAL:-$((CONCURRENCY * 2))}"
+export LIMITS_CONCURRENCY_MAX="${LIMITS_CONCURRENCY_MAX:-$((CONCURRENCY * 4))}"
+for var in LIMITS_RATE_{AUTH,GUEST,EVENT}_{PER_SECOND,BURST}; do
+    export "$var=${!var:-1000000}"
+done
+
+"$@" >"/tmp/evonto-connection-benchmark-$LABEL.log" 2>&1 &
+pid=$!
+trap 'kill "$pid" 2>/dev/null || true; wait "$pid" 2>/dev/null || true' EXIT
+
+waited=0
+until curl -fs -o /dev/null "$BASE_URL/api/health"; do
+    if ! kill -0 "$pid" 2>/dev/null || [ "$waited" -ge $((TIMEOUT_S * 20)) ]; then
+        echo "server did not become healthy (see /tmp/evonto-connection-benchmark-$LABEL.log)" >&2
+        exit 1
+    fi
+    sleep 0.05
+    waited=$((waited + 1))
+done
+
+# One statistic of a metric, 0 when absent; extra args are tag filters (name:value)
+metric() {
+    local name="$1" statistic="$2" query=""
+    shift 2
+    for tag in "$@"; do
+        query="${query:+$query&}tag=$tag"
+    done
+    curl -fs "$BASE_URL/actuator/metrics/$name${query:+?$query}" \
+        | jq -r --arg s "$statistic" '[.measurements[] | select(.statistic == $s) | .value][0] // 0'
+}
+
+# Runs hey and stops the benchmark if any response was not a 2xx (a 429/503
+# from a limiter, an error status or a failed connection)
+run_hey() {
+    local report failures
+    report=$(hey "$@")
+    failures=$(awk '
+        /Status code distribution:/ { section = "status"; next }
+        /Error distribution:/ { section = "error"; next }
+        section == "status" && $1 ~ /^\[/ && $1 !~ /^\[2/ { print "  " $1 " " $2 " responses" }
+        section == "error" && NF { print }' <<<"$report")
+    if [ -n "$failures" ]; then
+        echo "non-2xx responses from ${*: -1}:" >&2
+        echo "$failures" >&2
+        exit 1
+    fi
+}
+
+# The read paths that used to keep their connection through JSON rendering
+load() {
+    local each=$(( $1 / 3 ))
+    run_hey -n "$each" -c "$CONCURRENCY" -H "Authorization: Bearer $TOKEN" \
+        "$BASE_URL/api/events/my"
+    run_hey -n "$each" -c "$CONCURRENCY" -H "Authorization: Bearer $TOKEN" \
+        "$BASE_URL/api/events/dashboard"
+    run_hey -n "$each" -c "$CONCURRENCY" -H "Authorization: Bearer $TOKEN" \
+        -m POST -T application/json -d "{\"eventId\":\"$EVENT_ID\"}" \
+        "$BASE_URL/api/invitations/list"
+    echo $(( each * 3 ))
+}
+
+load $(( REQUESTS / 10 )) >/dev/null
+
+usage_count=$(metric hikaricp.connections.usage COUNT)
+usage_time=$(metric hikaricp.connections.usage TOTAL_TIME)
+acquire_count=$(metric hikaricp.connections.acquire COUNT)
+acquire_time=$(metric hikaricp.connections.acquire TOTAL_TIME)
+allocated=$(metric jvm.gc.memory.allocated COUNT)
+
+sent=$(load "$REQUESTS")
+
+usage_count=$(awk -v a="$usage_count" -v b="$(metric hikaricp.connections.usage COUNT)" 'BEGIN { print b - a }')
+usage_time=$(awk -v a="$usage_time" -v b="$(metric hikaricp.connections.usage TOTAL_TIME)" 'BEGIN { print b - a }')
+usage_max=$(metric hikaricp.connections.usage MAX)
+acquire_count=$(awk -v a="$acquire_count" -v b="$(metric hikaricp.connections.acquire COUNT)" 'BEGIN { print b - a }')
+acquire_time=$(awk -v a="$acquire_time" -v b="$(metric hikaricp.connections.acquire TOTAL_TIME)" 'BEGIN { print b - a }')
+allocated=$(awk -v a="$allocated" -v b="$(metric jvm.gc.memory.allocated COUNT)" 'BEGIN { print b - a }')
+heap_used=$(metric jvm.memory.used VALUE area:heap)
+
+# Timers report seconds; print milliseconds and KiB
+awk -v label="$LABEL" -v sent="$sent" -v uc="$usage_count" -v ut="$usage_time" -v um="$usage_max" \
+    -v ac="$acquire_count" -v at="$acquire_time" -v alloc="$allocated" -v heap="$heap_used" 'BEGIN {
+        printf "%s\t%d\t%.2f\t%.1f\t%.3f\t%.1f\t%.1f\n", label, sent,
+            uc > 0 ? ut / uc * 1000 : 0, um * 1000, ac > 0 ? at / ac * 1000 : 0,
+            sent > 0 ? alloc / sent / 1024 : 0, heap / 1048576
+    }' >>"$RESULTS"
+
+printf '%-16s %8s %14s %13s %11s %13s %12s\n' config requests conn-hold-ms conn-max-ms acquire-ms alloc/req-KiB heap-used-MiB
+awk -F '\t' '{ printf "%-16s %8d %14.2f %13.1f %11.3f %13.1f %12.1f\n", $1, $2, $3, $4, $5, $6, $7 }' "$RESULTS"
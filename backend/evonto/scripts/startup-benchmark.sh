@@ -0,0 +1,55 @@
+#!/usr/bin/env bash
+# Measures time from process start to the first successful GET /api/health.
+#
+#   scripts/startup-benchmark.sh [runs] -- <command that starts the server>
+#
+# Examples:
+#   scripts/startup-benchmark.sh 5 -- java -jar target/evonto-0.0.1-SNAPSHOT.jar
+#   scripts/startup-benchmark.sh 5 -- docker run --rm -p 8080:8080 evonto:fast
+#   scripts/startup-benchmark.sh 5 -- docker run --rm -p 8080:8080 evonto:native
+set -euo pipefail
+
+RUNS="${1:-5}"
+shift || true
+[ "${1:-}" = "--" ] && shift
+if [ $# -eq 0 ]; then
+    echo "usage: $0 [runs] -- <start command>" >&2
+    exit 1
+fi
+
+URL="${HEALTH_URL:-http://localhost:8080/api/health}"
+TIMEOUT_S="${TIMEOUT_S:-120}"
+results=()
+
+for run in $(seq 1 "$RUNS"); do
+    start_ns=$(date +%s%N)
+    "$@" >/tmp/evonto-startup-$run.log 2>&1 &
+    pid=$!
+
+    elapsed_ms=""
+    while kill -0 "$pid" 2>/dev/null; do
+        if curl -fs -o /dev/null "$URL"; then
+            elapsed_ms=$(( ($(date +%s%N) - start_ns) / 1000000 ))
+            break
+        fi
+        if [ $(( ($(date +%s%N) - start_ns) / 1000000000 )) -ge "$TIMEOUT_S" ]; then
+            break
+        fi
+        sleep 0.05
+    done
+
+    kill "$pid" 2>/dev/null || true
+    wait "$pid" 2>/dev/null || true
+
+    if [ -z "$elapsed_ms" ]; then
+        echo "run $run: server did not become healthy (see /tmp/evonto-startup-$run.log)" >&2
+        exit 1
+    fi
+    echo "run $run: ${elapsed_ms} ms"
+    results+=("$elapsed_ms")
+    sleep 1
+done
+
+printf '%s\n' "${results[@]}" | sort -n | awk '
+    { v[NR] = $1; sum += $1 }
+    END { printf "runs=%d min=%d median=%d mean=%d max=%d (ms)\n", NR, v[1], v[int((NR + 1) / 2)], sum / NR, v[NR] }'
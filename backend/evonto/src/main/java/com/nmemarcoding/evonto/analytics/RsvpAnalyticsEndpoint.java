@@ -0,0 +1,30 @@
+package com.nmemarcoding.evonto.analytics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+// Operator endpoint: POST /actuator/rsvpanalytics rebuilds all RSVP counters.
+@Component
+@Endpoint(id = "rsvpanalytics")
+public class RsvpAnalyticsEndpoint {
+
+    private final RsvpRebuildJob rebuildJob;
+
+    public RsvpAnalyticsEndpoint(RsvpRebuildJob rebuildJob) {
+        this.rebuildJob = rebuildJob;
+    }
+
+    @WriteOperation
+    public Map<String, Object> rebuild() {
+        long started = System.currentTimeMillis();
+        long events = rebuildJob.rebuild();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("rebuiltEvents", events);
+        result.put("tookMs", System.currentTimeMillis() - started);
+        return result;
+    }
+}
@@ -0,0 +1,149 @@
+package com.nmemarcoding.evonto.analytics;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.nmemarcoding.evonto.analytics.RsvpRecorder.Cell;
+import com.nmemarcoding.evonto.analytics.RsvpRecorder.State;
+import com.nmemarcoding.evonto.dto.RsvpAnalyticsDto;
+import com.nmemarcoding.evonto.dto.RsvpAnalyticsDto.DailyCount;
+import com.nmemarcoding.evonto.dto.RsvpAnalyticsDto.ResponseTimeBucket;
+import com.nmemarcoding.evonto.model.Event;
+import com.nmemarcoding.evonto.model.Invitation;
+import com.nmemarcoding.evonto.model.Invitation.RSVPStatus;
+import com.nmemarcoding.evonto.model.RsvpCounter;
+import com.nmemarcoding.evonto.model.User;
+import com.nmemarcoding.evonto.repository.EventRepository;
+import com.nmemarcoding.evonto.repository.InvitationRepository;
+import com.nmemarcoding.evonto.repository.RsvpCounterRepository;
+import com.nmemarcoding.evonto.shard.ShardRouter;
+
+// Reads RSVP analytics from the rsvp_counters cells: a dashboard costs one
+// indexed read of a few cells per event, however many guests answered.
+@Service
+@Transactional(readOnly = true)
+public class RsvpAnalyticsService {
+
+    private static final RSVPStatus[] STATUSES = RSVPStatus.values();
+
+    private final RsvpCounterRepository counterRepository;
+    private final EventRepository eventRepository;
+    private final InvitationRepository invitationRepository;
+    private final ShardRouter shardRouter;
+
+    public RsvpAnalyticsService(RsvpCounterRepository counterRepository, EventRepository eventRepository,
+                                InvitationRepository invitationRepository, ShardRouter shardRouter) {
+        this.counterRepository = counterRepository;
+        this.eventRepository = eventRepository;
+        this.invitationRepository = invitationRepository;
+        this.shardRouter = shardRouter;
+    }
+
+    // Totals over the owner's live events, with each event's own figures in start order
+    public RsvpAnalyticsDto forOwner(User owner) {
+        return shardRouter.onShardOfUser(owner, () -> {
+            List<Event> events = eventRepository.findByCreatedByAndDeletedAtIsNull(owner);
+            Map<Long, List<RsvpCounter>> cells = events.isEmpty() ? Map.of()
+                    : counterRepository.findByEventIds(events.stream().map(Event::getEventId).toList()).stream()
+                            .collect(Collectors.groupingBy(RsvpCounter::getEventId));
+
+            List<RsvpAnalyticsDto> perEvent = events.stream()
+                    .sorted(Comparator.comparing(Event::getStartDateTime))
+                    .map(event -> summarize(event.getEventId(), event.getTitle(),
+                            cells.getOrDefault(event.getEventId(), List.of()), null))
+                    .toList();
+            List<RsvpCounter> all = cells.values().stream().flatMap(List::stream).toList();
+            return summarize(null, null, all, perEvent);
+        });
+    }
+
+    public RsvpAnalyticsDto forEvent(Event event) {
+        return shardRouter.onShardOfEvent(event.getEventId(), () -> summarize(event.getEventId(), event.getTitle(),
+                counterRepository.findByEventIds(List.of(event.getEventId())), null));
+    }
+
+    // Recomputes the cells of the next batch of live events on the current shard
+    // from their invitations. Returns the ids done, in order; empty when none are left.
+    @Transactional
+    public List<Long> rebuildBatch(Long afterEventId, int batchSize) {
+        List<Long> eventIds = eventRepository.findLiveIdsAfter(afterEventId, Limit.of(batchSize));
+        if (eventIds.isEmpty()) {
+            return eventIds;
+        }
+        Map<Cell, Long> totals = new HashMap<>();
+        for (Invitation invitation : invitationRepository.findByEventIds(eventIds)) {
+            RsvpRecorder.contribute(totals, invitation.getEvent().getEventId(), State.of(invitation), 1);
+        }
+        counterRepository.deleteByEventIds(eventIds);
+        totals.entrySet().stream()
+                .filter(entry -> entry.getValue() != 0)
+                .sorted(Map.Entry.comparingByKey(RsvpRecorder.CELL_ORDER))
+                .forEach(entry -> counterRepository.add(entry.getKey().eventId(), entry.getKey().metric().name(),
+                        entry.getKey().bucket(), entry.getValue()));
+        return eventIds;
+    }
+
+    // Drops the cells of deleted and archived events on the current shard
+    @Transactional
+    public int deleteOrphans() {
+        return counterRepository.deleteOrphans();
+    }
+
+    private static RsvpAnalyticsDto summarize(Long eventId, String title, List<RsvpCounter> cells,
+                                              List<RsvpAnalyticsDto> events) {
+        Map<RSVPStatus, Long> statusCounts = new EnumMap<>(RSVPStatus.class);
+        for (RSVPStatus status : STATUSES) {
+            statusCounts.put(status, 0L);
+        }
+        SortedMap<Integer, Long> responseTimes = new TreeMap<>();
+        SortedMap<Long, long[]> days = new TreeMap<>();
+
+        for (RsvpCounter cell : cells) {
+            long bucket = cell.getBucket();
+            switch (cell.getMetric()) {
+                case STATUS -> {
+                    if (bucket >= 0 && bucket < STATUSES.length) {
+                        statusCounts.merge(STATUSES[(int) bucket], cell.getTotal(), Long::sum);
+                    }
+                }
+                case SENT_DAY -> days.computeIfAbsent(bucket, day -> new long[2])[0] += cell.getTotal();
+                case RESPONSE_DAY -> days.computeIfAbsent(bucket, day -> new long[2])[1] += cell.getTotal();
+                case RESPONSE_TIME -> responseTimes.merge((int) bucket, cell.getTotal(), Long::sum);
+            }
+        }
+
+        long invited = statusCounts.values().stream().mapToLong(Long::longValue).sum();
+        long responded = invited - statusCounts.get(RSVPStatus.NO_RESPONSE);
+
+        List<ResponseTimeBucket> histogram = new ArrayList<>();
+        responseTimes.forEach((bucket, count) -> {
+            if (count > 0) {
+                histogram.add(new ResponseTimeBucket(RsvpHistogram.lowerBound(bucket), RsvpHistogram.upperBound(bucket), count));
+            }
+        });
+        List<DailyCount> daily = new ArrayList<>();
+        days.forEach((day, counts) -> {
+            if (counts[0] != 0 || counts[1] != 0) {
+                daily.add(new DailyCount(LocalDate.ofEpochDay(day), counts[0], counts[1]));
+            }
+        });
+
+        return new RsvpAnalyticsDto(eventId, title, statusCounts, invited, responded,
+                RsvpHistogram.percentile(responseTimes, 0.50),
+                RsvpHistogram.percentile(responseTimes, 0.90),
+                RsvpHistogram.percentile(responseTimes, 0.99),
+                histogram, daily, events);
+    }
+}
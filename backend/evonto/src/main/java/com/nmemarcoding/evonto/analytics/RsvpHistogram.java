@@ -0,0 +1,62 @@
+package com.nmemarcoding.evonto.analytics;
+
+import java.util.Map;
+import java.util.SortedMap;
+
+// Log-linear buckets in the style of HdrHistogram: values below 16 get a bucket
+// each, above that every power of two is split into 16 equal sub-buckets. Any
+// value is within 1/16 (6.25%) of its bucket's bounds, and a long needs fewer
+// than 1000 buckets, so seconds to respond fit from "instantly" to "years later".
+public final class RsvpHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private RsvpHistogram() {}
+
+    public static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) Math.max(0, value);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    // Smallest value in the bucket
+    public static long lowerBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long sub = bucket % SUB_BUCKETS;
+        if (exponent >= 63) {
+            return Long.MAX_VALUE;
+        }
+        return (SUB_BUCKETS + sub) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    // Smallest value of the next bucket
+    public static long upperBound(int bucket) {
+        return lowerBound(bucket + 1);
+    }
+
+    // Value at quantile q (0..1] of a bucket -> count map, reported as the middle
+    // of the bucket it falls in; null for an empty histogram
+    public static Long percentile(SortedMap<Integer, Long> counts, double q) {
+        long total = counts.values().stream().mapToLong(Long::longValue).sum();
+        if (total <= 0) {
+            return null;
+        }
+        long rank = Math.max(1, (long) Math.ceil(q * total));
+        long seen = 0;
+        for (Map.Entry<Integer, Long> entry : counts.entrySet()) {
+            seen += entry.getValue();
+            if (seen >= rank) {
+                long lower = lowerBound(entry.getKey());
+                return lower + (upperBound(entry.getKey()) - 1 - lower) / 2;
+            }
+        }
+        return lowerBound(counts.lastKey());
+    }
+}
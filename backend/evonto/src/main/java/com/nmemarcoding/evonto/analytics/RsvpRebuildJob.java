@@ -0,0 +1,66 @@
+package com.nmemarcoding.evonto.analytics;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.nmemarcoding.evonto.shard.ShardRouter;
+
+// Recomputes every live event's RSVP cells from its invitations, one batch (and
+// transaction) of events at a time. Run it once after deploying the analytics
+// to backfill existing invitations, and whenever the counters may have drifted
+// (an instance died with unflushed deltas). Answers given while a batch is being
+// rebuilt can be counted twice or not at all until the next rebuild.
+@Component
+public class RsvpRebuildJob {
+
+    private static final Logger log = LoggerFactory.getLogger(RsvpRebuildJob.class);
+
+    private final RsvpAnalyticsService analyticsService;
+    private final RsvpRecorder recorder;
+    private final ShardRouter shardRouter;
+    private final int batchSize;
+
+    public RsvpRebuildJob(RsvpAnalyticsService analyticsService, RsvpRecorder recorder, ShardRouter shardRouter,
+                          @Value("${analytics.rebuild-batch-size:200}") int batchSize) {
+        this.analyticsService = analyticsService;
+        this.recorder = recorder;
+        this.shardRouter = shardRouter;
+        this.batchSize = batchSize;
+    }
+
+    // Off unless analytics.rebuild-cron is set
+    @Scheduled(cron = "${analytics.rebuild-cron:-}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    // Returns how many events were rebuilt
+    public synchronized long rebuild() {
+        // Deltas already committed belong in the old cells, which the rebuild replaces
+        recorder.flush();
+        AtomicLong events = new AtomicLong();
+        shardRouter.onEachShard(shard -> {
+            long rebuilt = 0;
+            try {
+                List<Long> batch = analyticsService.rebuildBatch(0L, batchSize);
+                while (!batch.isEmpty()) {
+                    rebuilt += batch.size();
+                    batch = analyticsService.rebuildBatch(batch.get(batch.size() - 1), batchSize);
+                }
+                int orphans = analyticsService.deleteOrphans();
+                log.info("Rebuilt RSVP analytics of {} events on shard {}, {} stale cells removed",
+                        rebuilt, shard, orphans);
+            } catch (Exception e) {
+                log.warn("Rebuilding RSVP analytics on shard {} stopped after {} events: {}", shard, rebuilt, e.getMessage());
+            }
+            events.addAndGet(rebuilt);
+        });
+        return events.get();
+    }
+}
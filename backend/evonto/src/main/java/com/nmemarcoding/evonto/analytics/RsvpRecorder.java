@@ -0,0 +1,145 @@
+package com.nmemarcoding.evonto.analytics;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.nmemarcoding.evonto.model.Invitation;
+import com.nmemarcoding.evonto.model.Invitation.RSVPStatus;
+import com.nmemarcoding.evonto.model.RsvpCounter.Metric;
+import com.nmemarcoding.evonto.repository.RsvpCounterRepository;
+import com.nmemarcoding.evonto.shard.ShardDirectory;
+import com.nmemarcoding.evonto.shard.ShardRouter;
+
+// Keeps the rsvp_counters cells up to date as invitations change. Each
+// invitation contributes to its status, the day it was sent and, once answered,
+// the day and the time it took; a change adds the new contributions and takes
+// back the old ones. Deltas of committed changes are summed in memory and added
+// to the cells every analytics.flush-interval-ms, so a busy event costs one
+// statement per cell and flush, not per RSVP. Unflushed deltas are lost if the
+// instance dies; RsvpRebuildJob recomputes the cells from the invitations.
+@Component
+public class RsvpRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(RsvpRecorder.class);
+
+    // The fields of an invitation the analytics depend on
+    public record State(RSVPStatus status, LocalDateTime sentAt, LocalDateTime respondedAt) {
+
+        public static State of(Invitation invitation) {
+            return new State(invitation.getRsvpStatus(), invitation.getInvitationSentAt(), invitation.getRespondedAt());
+        }
+    }
+
+    record Cell(Long eventId, Metric metric, long bucket) {}
+
+    static final Comparator<Cell> CELL_ORDER = Comparator.comparing(Cell::eventId)
+            .thenComparing(Cell::metric)
+            .thenComparingLong(Cell::bucket);
+
+    private final ConcurrentHashMap<Cell, Long> pending = new ConcurrentHashMap<>();
+
+    private final RsvpCounterRepository counterRepository;
+    private final ShardRouter shardRouter;
+    private final ShardDirectory directory;
+    private final TransactionTemplate transaction;
+
+    public RsvpRecorder(RsvpCounterRepository counterRepository, ShardRouter shardRouter, ShardDirectory directory,
+                        PlatformTransactionManager transactionManager) {
+        this.counterRepository = counterRepository;
+        this.shardRouter = shardRouter;
+        this.directory = directory;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    // An invitation of the event went from before to after; null for "did not exist".
+    // Applied only if the surrounding transaction commits.
+    public void changed(Long eventId, State before, State after) {
+        Map<Cell, Long> deltas = new HashMap<>();
+        contribute(deltas, eventId, before, -1);
+        contribute(deltas, eventId, after, 1);
+        deltas.values().removeIf(delta -> delta == 0);
+        if (!deltas.isEmpty()) {
+            afterCommit(() -> deltas.forEach((cell, delta) -> pending.merge(cell, delta, Long::sum)));
+        }
+    }
+
+    // Adds sign times the cells one invitation counts in. Answers are whatever
+    // the guest said last: respondedAt moves with every new answer.
+    static void contribute(Map<Cell, Long> into, Long eventId, State state, long sign) {
+        if (state == null) {
+            return;
+        }
+        into.merge(new Cell(eventId, Metric.STATUS, state.status().ordinal()), sign, Long::sum);
+        if (state.sentAt() != null) {
+            into.merge(new Cell(eventId, Metric.SENT_DAY, state.sentAt().toLocalDate().toEpochDay()), sign, Long::sum);
+        }
+        if (state.respondedAt() != null && state.status() != RSVPStatus.NO_RESPONSE) {
+            into.merge(new Cell(eventId, Metric.RESPONSE_DAY, state.respondedAt().toLocalDate().toEpochDay()), sign, Long::sum);
+            if (state.sentAt() != null) {
+                long seconds = Duration.between(state.sentAt(), state.respondedAt()).toSeconds();
+                into.merge(new Cell(eventId, Metric.RESPONSE_TIME, RsvpHistogram.bucket(seconds)), sign, Long::sum);
+            }
+        }
+    }
+
+    // Cells are written in key order, so two instances flushing the same cells cannot deadlock
+    @Scheduled(fixedDelayString = "${analytics.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<String, List<Map.Entry<Cell, Long>>> byShard = new LinkedHashMap<>();
+        for (Cell cell : new ArrayList<>(pending.keySet())) {
+            Long delta = pending.remove(cell);
+            if (delta != null && delta != 0) {
+                byShard.computeIfAbsent(directory.shardOfEvent(cell.eventId()), shard -> new ArrayList<>())
+                        .add(Map.entry(cell, delta));
+            }
+        }
+        byShard.forEach((shard, entries) -> {
+            entries.sort(Map.Entry.comparingByKey(CELL_ORDER));
+            try {
+                shardRouter.on(shard, () -> transaction.execute(status -> {
+                    for (Map.Entry<Cell, Long> entry : entries) {
+                        Cell cell = entry.getKey();
+                        counterRepository.add(cell.eventId(), cell.metric().name(), cell.bucket(), entry.getValue());
+                    }
+                    return null;
+                }));
+            } catch (Exception e) {
+                // Keep the deltas for the next flush
+                log.warn("Flushing {} RSVP counters failed, retrying: {}", entries.size(), e.getMessage());
+                entries.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), Long::sum));
+            }
+        });
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,34 @@
+package com.nmemarcoding.evonto.audit;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+// Operator endpoint at /actuator/audit?from=...&to=...&eventId=...: audit
+// records in a time range (ISO-8601 instants, both optional), optionally for
+// one event.
+@Component
+@Endpoint(id = "audit")
+public class AuditEndpoint {
+
+    private static final int MAX_RECORDS = 1000;
+
+    private final AuditLogReader reader;
+
+    public AuditEndpoint(AuditLogReader reader) {
+        this.reader = reader;
+    }
+
+    @ReadOperation
+    public List<AuditRecord> records(@Nullable Instant from, @Nullable Instant to, @Nullable Long eventId) {
+        long fromMillis = from != null ? from.toEpochMilli() : 0;
+        long toMillis = to != null ? to.toEpochMilli() : Long.MAX_VALUE;
+        return eventId != null
+                ? reader.byEvent(eventId, fromMillis, toMillis, MAX_RECORDS)
+                : reader.byTimeRange(fromMillis, toMillis, MAX_RECORDS);
+    }
+}
@@ -0,0 +1,213 @@
+package com.nmemarcoding.evonto.audit;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.nmemarcoding.evonto.audit.AuditRecord.Action;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Local append-only audit trail. Services hand records to a bounded queue
+// after their transaction commits; one writer thread appends them to a
+// memory-mapped segment, so a mutation never waits on a disk write or a
+// second database insert. The writer fsyncs every fsync-interval (a host
+// crash can lose that much, a process crash loses nothing already queued to
+// the page cache), rolls over to a new segment when one is full and drops
+// segments past the retention period.
+@Component
+public class AuditLog {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLog.class);
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final long fsyncIntervalMs;
+    private final Duration retention;
+    private final BlockingQueue<AuditRecord> queue;
+
+    private Thread writer;
+    private volatile boolean running;
+
+    // Writer thread only
+    private MappedByteBuffer segment;
+    private long lastTimestamp;
+    private boolean dirty;
+    private long lastSync;
+    private long lastRetentionCheck;
+
+    public AuditLog(@Value("${audit.dir:audit}") String directory,
+                    @Value("${audit.segment-bytes:67108864}") int segmentBytes,
+                    @Value("${audit.fsync-interval-ms:1000}") long fsyncIntervalMs,
+                    @Value("${audit.retention-days:365}") int retentionDays,
+                    @Value("${audit.queue-capacity:65536}") int queueCapacity) {
+        this.directory = Path.of(directory);
+        this.segmentBytes = segmentBytes;
+        this.fsyncIntervalMs = fsyncIntervalMs;
+        this.retention = Duration.ofDays(retentionDays);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        Files.createDirectories(directory);
+        reopenLastSegment();
+        running = true;
+        writer = new Thread(this::writeLoop, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // Drains what is queued, then syncs
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.interrupt();
+        writer.join(10_000);
+    }
+
+    public void record(Action action, Long actorUserId, Long eventId, Long invitationId, String detail) {
+        AuditRecord record = AuditRecord.of(action, actorUserId, eventId, invitationId, detail);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(record);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(record);
+            }
+        });
+    }
+
+    // Blocks when the writer falls behind rather than lose a record
+    private void enqueue(AuditRecord record) {
+        try {
+            queue.put(record);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while queueing audit record {}", record);
+        }
+    }
+
+    private void writeLoop() {
+        List<AuditRecord> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                AuditRecord first = queue.poll(fsyncIntervalMs, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch);
+                    batch.forEach(this::append);
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                // stop() was called; the loop condition drains the rest
+            } catch (RuntimeException e) {
+                log.error("Audit append failed, {} records dropped", batch.size(), e);
+                batch.clear();
+            }
+            maintain();
+        }
+        sync();
+    }
+
+    private void append(AuditRecord record) {
+        // Non-decreasing append times keep segments and their records in time order
+        long now = Math.max(System.currentTimeMillis(), lastTimestamp);
+        byte[] detail = record.detailBytes();
+        int size = AuditRecord.encodedSize(detail);
+        if (segment == null || segment.remaining() < size + AuditRecord.HEADER_BYTES) {
+            rollOver(Math.max(now, lastTimestamp + 1));
+            now = lastTimestamp;
+        }
+        record.withTimestamp(now).writeTo(segment, detail);
+        lastTimestamp = now;
+        dirty = true;
+    }
+
+    private void maintain() {
+        long now = System.currentTimeMillis();
+        if (dirty && now - lastSync >= fsyncIntervalMs) {
+            sync();
+        }
+        if (now - lastRetentionCheck >= TimeUnit.HOURS.toMillis(1)) {
+            lastRetentionCheck = now;
+            dropExpiredSegments(now);
+        }
+    }
+
+    private void sync() {
+        if (segment != null && dirty) {
+            segment.force();
+            dirty = false;
+        }
+        lastSync = System.currentTimeMillis();
+    }
+
+    private void rollOver(long startMillis) {
+        sync();
+        segment = map(AuditSegments.path(directory, startMillis));
+        lastTimestamp = startMillis;
+    }
+
+    // Continues the newest segment after its last intact record
+    private void reopenLastSegment() throws IOException {
+        List<Path> segments = AuditSegments.list(directory);
+        if (segments.isEmpty()) {
+            return;
+        }
+        Path last = segments.get(segments.size() - 1);
+        MappedByteBuffer buffer = map(last);
+        AuditRecord record;
+        long timestamp = AuditSegments.startOf(last);
+        while ((record = AuditRecord.readFrom(buffer)) != null) {
+            timestamp = record.timestamp();
+        }
+        segment = buffer;
+        lastTimestamp = timestamp;
+    }
+
+    // A segment is expired once the one after it starts before the cutoff
+    private void dropExpiredSegments(long now) {
+        try {
+            List<Path> segments = AuditSegments.list(directory);
+            long cutoff = now - retention.toMillis();
+            for (int i = 0; i + 1 < segments.size(); i++) {
+                if (AuditSegments.startOf(segments.get(i + 1)) >= cutoff) {
+                    break;
+                }
+                Files.deleteIfExists(segments.get(i));
+            }
+        } catch (IOException e) {
+            log.warn("Could not apply audit retention", e);
+        }
+    }
+
+    private MappedByteBuffer map(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.nmemarcoding.evonto.audit;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Scans the audit segments read-only, alongside the writer. Segments entirely
+// outside the time range are skipped by name; records within a segment are
+// in time order, so a scan stops at the first record past the range.
+@Component
+public class AuditLogReader {
+
+    private final Path directory;
+
+    public AuditLogReader(@Value("${audit.dir:audit}") String directory) {
+        this.directory = Path.of(directory);
+    }
+
+    // Records appended in [fromMillis, toMillis), oldest first, at most limit
+    public List<AuditRecord> byTimeRange(long fromMillis, long toMillis, int limit) {
+        return scan(fromMillis, toMillis, null, limit);
+    }
+
+    // Records about one event (including its invitations) in [fromMillis, toMillis)
+    public List<AuditRecord> byEvent(Long eventId, long fromMillis, long toMillis, int limit) {
+        return scan(fromMillis, toMillis, eventId, limit);
+    }
+
+    private List<AuditRecord> scan(long fromMillis, long toMillis, Long eventId, int limit) {
+        List<AuditRecord> matches = new ArrayList<>();
+        try {
+            List<Path> segments = AuditSegments.list(directory);
+            for (int i = 0; i < segments.size() && matches.size() < limit; i++) {
+                long start = AuditSegments.startOf(segments.get(i));
+                boolean endsBeforeRange = i + 1 < segments.size() && AuditSegments.startOf(segments.get(i + 1)) <= fromMillis;
+                if (endsBeforeRange) {
+                    continue;
+                }
+                if (start >= toMillis) {
+                    break;
+                }
+                scanSegment(segments.get(i), fromMillis, toMillis, eventId, limit, matches);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return matches;
+    }
+
+    private void scanSegment(Path segment, long fromMillis, long toMillis, Long eventId, int limit,
+                             List<AuditRecord> matches) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (NoSuchFileException e) {
+            // Removed by retention meanwhile
+            return;
+        }
+        AuditRecord record;
+        while ((record = AuditRecord.readFrom(buffer)) != null && matches.size() < limit) {
+            if (record.timestamp() >= toMillis) {
+                return;
+            }
+            if (record.timestamp() >= fromMillis && (eventId == null || eventId.equals(record.eventId()))) {
+                matches.add(record);
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.nmemarcoding.evonto.audit;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+// One audited mutation. On disk: [int length][int crc32][body], where the body
+// holds the fixed fields followed by the UTF-8 detail. Ids that do not apply
+// (and the actor of a guest RSVP) are stored as -1 and read back as null.
+public record AuditRecord(long timestamp, Action action, Long actorUserId, Long eventId, Long invitationId, String detail) {
+
+    public enum Action {
+        USER_REGISTERED,
+        EVENT_CREATED,
+        EVENT_DELETED,
+        INVITATION_SENT,
+        INVITATION_DELETED,
+        RSVP_CHANGED
+    }
+
+    static final int HEADER_BYTES = 8;
+    static final int MAX_DETAIL_BYTES = 1024;
+    private static final int FIXED_BODY_BYTES = 8 + 1 + 8 + 8 + 8 + 2;
+    private static final Action[] ACTIONS = Action.values();
+
+    // Timestamp 0: the writer stamps the append time
+    public static AuditRecord of(Action action, Long actorUserId, Long eventId, Long invitationId, String detail) {
+        return new AuditRecord(0, action, actorUserId, eventId, invitationId, detail);
+    }
+
+    AuditRecord withTimestamp(long timestamp) {
+        return new AuditRecord(timestamp, action, actorUserId, eventId, invitationId, detail);
+    }
+
+    byte[] detailBytes() {
+        if (detail == null) {
+            return new byte[0];
+        }
+        byte[] bytes = detail.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= MAX_DETAIL_BYTES) {
+            return bytes;
+        }
+        // Cut on a character boundary so the stored prefix still decodes
+        int end = MAX_DETAIL_BYTES;
+        while (end > 0 && (bytes[end] & 0xC0) == 0x80) {
+            end--;
+        }
+        byte[] cut = new byte[end];
+        System.arraycopy(bytes, 0, cut, 0, end);
+        return cut;
+    }
+
+    static int encodedSize(byte[] detail) {
+        return HEADER_BYTES + FIXED_BODY_BYTES + detail.length;
+    }
+
+    // The length is written last: a reader that sees a non-zero length sees the whole record
+    void writeTo(ByteBuffer buffer, byte[] detail) {
+        int start = buffer.position();
+        int bodyLength = FIXED_BODY_BYTES + detail.length;
+        buffer.position(start + HEADER_BYTES);
+        buffer.putLong(timestamp)
+                .put((byte) action.ordinal())
+                .putLong(orNone(actorUserId))
+                .putLong(orNone(eventId))
+                .putLong(orNone(invitationId))
+                .putShort((short) detail.length)
+                .put(detail);
+        int end = buffer.position();
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(start + HEADER_BYTES, bodyLength));
+        buffer.putInt(start + 4, (int) crc.getValue());
+        buffer.putInt(start, bodyLength);
+        buffer.position(end);
+    }
+
+    // Reads the record at the buffer position and advances past it; null at
+    // the end of the written data (zero length, torn or corrupt record)
+    static AuditRecord readFrom(ByteBuffer buffer) {
+        int start = buffer.position();
+        if (buffer.remaining() < HEADER_BYTES) {
+            return null;
+        }
+        int bodyLength = buffer.getInt(start);
+        if (bodyLength < FIXED_BODY_BYTES || bodyLength > FIXED_BODY_BYTES + MAX_DETAIL_BYTES
+                || bodyLength > buffer.remaining() - HEADER_BYTES) {
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(start + HEADER_BYTES, bodyLength));
+        if ((int) crc.getValue() != buffer.getInt(start + 4)) {
+            return null;
+        }
+
+        buffer.position(start + HEADER_BYTES);
+        long timestamp = buffer.getLong();
+        int action = buffer.get();
+        Long actor = orNull(buffer.getLong());
+        Long eventId = orNull(buffer.getLong());
+        Long invitationId = orNull(buffer.getLong());
+        byte[] detail = new byte[buffer.getShort()];
+        buffer.get(detail);
+        if (action < 0 || action >= ACTIONS.length) {
+            return null;
+        }
+        return new AuditRecord(timestamp, ACTIONS[action], actor, eventId, invitationId,
+                detail.length > 0 ? new String(detail, StandardCharsets.UTF_8) : null);
+    }
+
+    private static long orNone(Long id) {
+        return id != null ? id : -1;
+    }
+
+    private static Long orNull(long id) {
+        return id >= 0 ? id : null;
+    }
+}
@@ -0,0 +1,43 @@
+package com.nmemarcoding.evonto.audit;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Segment files are named after the append time of their first record, so
+// listing the directory gives both the order and the time span of each file:
+// a segment covers [its start, the next segment's start).
+final class AuditSegments {
+
+    private static final String PREFIX = "audit-";
+    private static final String SUFFIX = ".log";
+
+    private AuditSegments() {}
+
+    static Path path(Path directory, long startMillis) {
+        return directory.resolve(PREFIX + String.format("%013d", startMillis) + SUFFIX);
+    }
+
+    static long startOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    // Oldest first
+    static List<Path> list(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(AuditSegments::isSegment).sorted().toList();
+        }
+    }
+
+    private static boolean isSegment(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX)
+                && name.substring(PREFIX.length(), name.length() - SUFFIX.length()).chars().allMatch(Character::isDigit);
+    }
+}
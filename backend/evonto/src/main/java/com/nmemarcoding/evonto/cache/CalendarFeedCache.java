@@ -0,0 +1,207 @@
+package com.nmemarcoding.evonto.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.nmemarcoding.evonto.model.Event;
+import com.nmemarcoding.evonto.util.ICalendarFormat;
+
+// Rendered .ics feeds keyed by feed token. Each feed keeps one pre-rendered
+// VEVENT per event, so a change made on this instance re-renders only that
+// event and re-joins the body. Changes are applied after the surrounding
+// transaction commits. Other instances do not tell this one about their
+// changes, so a feed is reloaded from the database once it is older than
+// cache.calendar-feeds.ttl-seconds; that also bounds how long a rotated token
+// keeps working on another instance.
+@Component
+public class CalendarFeedCache {
+
+    public record Feed(byte[] body, String etag, long lastModified) {}
+
+    private static final class UserFeed {
+        final Long userId;
+        final String token;
+        final long loadedAt;
+        final TreeMap<Long, String> events = new TreeMap<>();
+        Feed rendered;
+
+        UserFeed(Long userId, String token, long loadedAt) {
+            this.userId = userId;
+            this.token = token;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    // Changes to one user while loads of their feed are running; a load that
+    // saw a change is not cached. Only users with a load in flight have one.
+    private static final class Loads {
+        int running;
+        long changes;
+    }
+
+    private final int maxFeeds;
+    private final long ttlMs;
+
+    private final LinkedHashMap<String, UserFeed> byToken = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<Long, UserFeed> byUser = new HashMap<>();
+    private final Map<Long, Loads> loading = new HashMap<>();
+
+    public CalendarFeedCache(@Value("${cache.calendar-feeds.max-entries:10000}") int maxFeeds,
+                             @Value("${cache.calendar-feeds.ttl-seconds:300}") long ttlSeconds) {
+        this.maxFeeds = maxFeeds;
+        this.ttlMs = ttlSeconds * 1000;
+    }
+
+    public synchronized Feed get(String token) {
+        UserFeed feed = byToken.get(token);
+        if (feed == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() - feed.loadedAt >= ttlMs) {
+            byUser.remove(feed.userId);
+            byToken.remove(token);
+            return null;
+        }
+        return feed.rendered;
+    }
+
+    // Renders the user's feed from the events query and caches it, unless the
+    // user's events or token changed while the query ran
+    public Feed load(String token, Long userId, Supplier<List<Event>> events) {
+        long stamp;
+        synchronized (this) {
+            Loads loads = loading.computeIfAbsent(userId, id -> new Loads());
+            loads.running++;
+            stamp = loads.changes;
+        }
+        UserFeed feed = new UserFeed(userId, token, System.currentTimeMillis());
+        boolean fresh = false;
+        try {
+            for (Event event : events.get()) {
+                feed.events.put(event.getEventId(), ICalendarFormat.vevent(event));
+            }
+            feed.rendered = render(feed);
+            fresh = true;
+        } finally {
+            synchronized (this) {
+                Loads loads = loading.get(userId);
+                if (fresh && loads.changes == stamp) {
+                    store(feed);
+                }
+                if (--loads.running == 0) {
+                    loading.remove(userId);
+                }
+            }
+        }
+        return feed.rendered;
+    }
+
+    public void eventSaved(Event event) {
+        Long ownerId = event.getCreatedBy().getUserId();
+        Long eventId = event.getEventId();
+        String vevent = ICalendarFormat.vevent(event);
+        afterCommit(() -> update(ownerId, eventId, vevent));
+    }
+
+    public void eventRemoved(Long ownerId, Long eventId) {
+        afterCommit(() -> remove(ownerId, eventId));
+    }
+
+    // The old feed URL must stop working once the token is rotated
+    public void userTokenChanged(Long userId) {
+        afterCommit(() -> evictUser(userId));
+    }
+
+    private synchronized void update(Long ownerId, Long eventId, String vevent) {
+        changed(ownerId);
+        UserFeed feed = byUser.get(ownerId);
+        if (feed != null) {
+            feed.events.put(eventId, vevent);
+            feed.rendered = render(feed);
+        }
+    }
+
+    private synchronized void remove(Long ownerId, Long eventId) {
+        changed(ownerId);
+        UserFeed feed = byUser.get(ownerId);
+        if (feed != null && feed.events.remove(eventId) != null) {
+            feed.rendered = render(feed);
+        }
+    }
+
+    private synchronized void evictUser(Long userId) {
+        changed(userId);
+        UserFeed feed = byUser.remove(userId);
+        if (feed != null) {
+            byToken.remove(feed.token);
+        }
+    }
+
+    private void changed(Long userId) {
+        Loads loads = loading.get(userId);
+        if (loads != null) {
+            loads.changes++;
+        }
+    }
+
+    private void store(UserFeed feed) {
+        UserFeed previous = byUser.put(feed.userId, feed);
+        if (previous != null) {
+            byToken.remove(previous.token);
+        }
+        byToken.put(feed.token, feed);
+
+        Iterator<UserFeed> eldest = byToken.values().iterator();
+        while (byToken.size() > maxFeeds && eldest.hasNext()) {
+            byUser.remove(eldest.next().userId);
+            eldest.remove();
+        }
+    }
+
+    private static Feed render(UserFeed feed) {
+        StringBuilder ics = new StringBuilder(ICalendarFormat.HEADER);
+        feed.events.values().forEach(ics::append);
+        ics.append(ICalendarFormat.FOOTER);
+        byte[] body = ics.toString().getBytes(StandardCharsets.UTF_8);
+        // Second precision, as sent in Last-Modified
+        long lastModified = System.currentTimeMillis() / 1000 * 1000;
+        return new Feed(body, etag(body), lastModified);
+    }
+
+    // Content hash, so every instance and every restart agrees on the ETag
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+}
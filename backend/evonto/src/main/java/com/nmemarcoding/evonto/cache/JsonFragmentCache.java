@@ -0,0 +1,184 @@
+package com.nmemarcoding.evonto.cache;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nmemarcoding.evonto.dto.EventDto;
+import com.nmemarcoding.evonto.dto.InvitationDto;
+import com.nmemarcoding.evonto.model.Event;
+import com.nmemarcoding.evonto.model.Invitation;
+import com.nmemarcoding.evonto.trace.RequestTrace;
+
+// Pre-encoded UTF-8 JSON for single events and invitations, keyed by entity id.
+// An entry is reused while the entity version matches; a newer version is
+// re-encoded and replaces it. Least recently used entries are evicted once the
+// total cached bytes exceed the configured limit.
+@Component
+public class JsonFragmentCache {
+
+    private static final byte[] OPEN_ARRAY = {'['};
+    private static final byte[] CLOSE_ARRAY = {']'};
+    private static final byte[] COMMA = {','};
+    private static final byte[] EVENT_PREFIX = "{\"event\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] INVITATIONS_PREFIX = ",\"invitations\":".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper;
+    private final long maxBytes;
+
+    private final LinkedHashMap<Key, Fragment> fragments = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+
+    public JsonFragmentCache(ObjectMapper objectMapper,
+                             @Value("${cache.json-fragments.max-bytes:16777216}") long maxBytes) {
+        this.objectMapper = objectMapper;
+        this.maxBytes = maxBytes;
+    }
+
+    public byte[] event(Event event) {
+        return lookup(new Key(Kind.EVENT, event.getEventId()), event.getVersion(), event);
+    }
+
+    public byte[] invitation(Invitation invitation) {
+        return lookup(new Key(Kind.INVITATION, invitation.getInvitationId()), invitation.getVersion(), invitation);
+    }
+
+    // Cached JSON of an event at exactly this version, or null; never encodes
+    public synchronized byte[] cachedEvent(Long eventId, long version) {
+        Fragment cached = fragments.get(new Key(Kind.EVENT, eventId));
+        return cached != null && cached.version == version ? cached.json : null;
+    }
+
+    // Whether any version of the event is cached (does not refresh its LRU position)
+    public synchronized boolean containsEvent(Long eventId) {
+        return fragments.containsKey(new Key(Kind.EVENT, eventId));
+    }
+
+    // Placeholder for an id of a batch read that did not resolve
+    public byte[] eventNotFound(Long eventId) {
+        return ("{\"eventId\":" + eventId + ",\"notFound\":true}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    public void evictEvent(Long eventId) {
+        evict(new Key(Kind.EVENT, eventId));
+    }
+
+    public void evictInvitation(Long invitationId) {
+        evict(new Key(Kind.INVITATION, invitationId));
+    }
+
+    // [a,b,c] from already encoded fragments, as one complete body so a failure
+    // can still be answered with an error status
+    public byte[] array(List<byte[]> items) {
+        long start = RequestTrace.start();
+        try {
+            int length = OPEN_ARRAY.length + CLOSE_ARRAY.length + Math.max(0, items.size() - 1) * COMMA.length;
+            for (byte[] item : items) {
+                length += item.length;
+            }
+            ByteBuffer body = ByteBuffer.allocate(length);
+            appendArray(body, items);
+            return body.array();
+        } finally {
+            RequestTrace.stop("json", start);
+        }
+    }
+
+    // {"event":<event>,"invitations":[...]} matching EventWithInvitationsDto
+    public byte[] eventWithInvitations(byte[] event, List<byte[]> invitations) {
+        int length = EVENT_PREFIX.length + event.length + INVITATIONS_PREFIX.length
+                + OPEN_ARRAY.length + CLOSE_ARRAY.length + Math.max(0, invitations.size() - 1) * COMMA.length + 1;
+        for (byte[] invitation : invitations) {
+            length += invitation.length;
+        }
+        ByteBuffer body = ByteBuffer.allocate(length);
+        body.put(EVENT_PREFIX).put(event).put(INVITATIONS_PREFIX);
+        appendArray(body, invitations);
+        body.put((byte) '}');
+        return body.array();
+    }
+
+    private static void appendArray(ByteBuffer body, List<byte[]> items) {
+        body.put(OPEN_ARRAY);
+        for (int i = 0; i < items.size(); i++) {
+            if (i > 0) {
+                body.put(COMMA);
+            }
+            body.put(items.get(i));
+        }
+        body.put(CLOSE_ARRAY);
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    private byte[] lookup(Key key, long version, Object entity) {
+        synchronized (this) {
+            Fragment cached = fragments.get(key);
+            if (cached != null && cached.version == version) {
+                return cached.json;
+            }
+        }
+
+        // Encode outside the lock; concurrent misses for the same key just race to store
+        byte[] json = encode(entity);
+        if (key.id() != null) {
+            store(key, new Fragment(version, json));
+        }
+        return json;
+    }
+
+    // DTO mapping and encoding of a cache miss
+    private byte[] encode(Object entity) {
+        long start = RequestTrace.start();
+        try {
+            if (entity instanceof Event event) {
+                return objectMapper.writeValueAsBytes(new EventDto(event));
+            }
+            return objectMapper.writeValueAsBytes(new InvitationDto((Invitation) entity));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode " + entity.getClass().getSimpleName(), e);
+        } finally {
+            RequestTrace.stop("json", start);
+        }
+    }
+
+    private synchronized void store(Key key, Fragment fragment) {
+        if (fragment.json.length > maxBytes) {
+            return;
+        }
+        Fragment previous = fragments.put(key, fragment);
+        if (previous != null) {
+            totalBytes -= previous.json.length;
+        }
+        totalBytes += fragment.json.length;
+
+        Iterator<Map.Entry<Key, Fragment>> eldest = fragments.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            totalBytes -= eldest.next().getValue().json.length;
+            eldest.remove();
+        }
+    }
+
+    private synchronized void evict(Key key) {
+        Fragment removed = fragments.remove(key);
+        if (removed != null) {
+            totalBytes -= removed.json.length;
+        }
+    }
+
+    private enum Kind { EVENT, INVITATION }
+
+    private record Key(Kind kind, Long id) {}
+
+    private record Fragment(long version, byte[] json) {}
+}
@@ -42,7 +42,7 @@ public class SecurityConfig {
         config.setAllowedOriginPatterns(List.of("*")); // ✅ Allow all origins
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         config.setAllowedHeaders(List.of("*"));
-        config.setExposedHeaders(List.of("Authorization"));
+        config.setExposedHeaders(List.of("Authorization", "Retry-After", "Idempotent-Replayed"));
         config.setAllowCredentials(true); // Allow cookies/auth headers if needed
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -0,0 +1,64 @@
+package com.nmemarcoding.evonto.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.nmemarcoding.evonto.analytics.RsvpAnalyticsService;
+import com.nmemarcoding.evonto.model.Event;
+import com.nmemarcoding.evonto.model.User;
+import com.nmemarcoding.evonto.service.EventService;
+import com.nmemarcoding.evonto.service.UserService;
+import com.nmemarcoding.evonto.util.JwtUtil;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+    private final RsvpAnalyticsService analyticsService;
+    private final EventService eventService;
+    private final UserService userService;
+    private final JwtUtil jwtUtil;
+
+    public AnalyticsController(RsvpAnalyticsService analyticsService, EventService eventService,
+                               UserService userService, JwtUtil jwtUtil) {
+        this.analyticsService = analyticsService;
+        this.eventService = eventService;
+        this.userService = userService;
+        this.jwtUtil = jwtUtil;
+    }
+
+    // RSVP counts, response rate, time-to-respond histogram and daily curve over
+    // all of the caller's events, or of one of them with eventId (token required).
+    // Figures trail the latest answers by up to analytics.flush-interval-ms.
+    @GetMapping("/rsvp")
+    public ResponseEntity<?> getRsvpAnalytics(@RequestParam(required = false) Long eventId, HttpServletRequest request) {
+        try {
+            jwtUtil.requireValidToken(request);
+            String username = jwtUtil.extractUsernameFromRequest(request);
+
+            User user = userService.findByUsername(username)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            if (eventId == null) {
+                return ResponseEntity.ok(analyticsService.forOwner(user));
+            }
+
+            Event event = eventService.getEventById(eventId)
+                    .orElseThrow(() -> new RuntimeException("Event not found"));
+
+            if (!event.getCreatedBy().getUserId().equals(user.getUserId())) {
+                return ResponseEntity.status(403).body("You do not own this event");
+            }
+
+            return ResponseEntity.ok(analyticsService.forEvent(event));
+
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body("Error fetching RSVP analytics: " + e.getMessage());
+        }
+    }
+}
@@ -11,9 +11,11 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.nmemarcoding.evonto.dto.UserDto;
 import com.nmemarcoding.evonto.model.User;
+import com.nmemarcoding.evonto.service.TokenRevocationService;
 import com.nmemarcoding.evonto.service.UserService;
 import com.nmemarcoding.evonto.util.JwtUtil;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.http.HttpServletRequest;
 
 @RestController
@@ -21,12 +23,14 @@ import jakarta.servlet.http.HttpServletRequest;
 public class AuthController {
 
     private final UserService userService;
+    private final TokenRevocationService tokenRevocationService;
 
     @Autowired
     private JwtUtil jwtUtil;
 
-    public AuthController(UserService userService) {
+    public AuthController(UserService userService, TokenRevocationService tokenRevocationService) {
         this.userService = userService;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @PostMapping("/register")
@@ -105,6 +109,41 @@ public class AuthController {
         }
     }
 
+    // Revokes the token in the Authorization header
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(HttpServletRequest request) {
+        try {
+            String token = jwtUtil.extractToken(request);
+            if (token == null || !jwtUtil.validateToken(token)) {
+                return ResponseEntity.status(401).body("Invalid or expired token");
+            }
+            Claims claims = jwtUtil.extractClaims(token);
+            if (claims.getId() == null) {
+                // Issued before tokens carried an id; only /logout-all can revoke it
+                return ResponseEntity.badRequest().body("Token cannot be revoked individually, use /api/logout-all");
+            }
+            tokenRevocationService.revokeToken(claims.getId(), claims.getExpiration());
+            return ResponseEntity.ok("Logged out");
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body("Logout error: " + e.getMessage());
+        }
+    }
+
+    // Revokes every token of the user issued so far, on all devices
+    @PostMapping("/logout-all")
+    public ResponseEntity<?> logoutAll(HttpServletRequest request) {
+        try {
+            String token = jwtUtil.extractToken(request);
+            if (token == null || !jwtUtil.validateToken(token)) {
+                return ResponseEntity.status(401).body("Invalid or expired token");
+            }
+            tokenRevocationService.revokeAllForUser(jwtUtil.extractUsername(token));
+            return ResponseEntity.ok("Logged out on all devices");
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body("Logout error: " + e.getMessage());
+        }
+    }
+
     // endpoint to check server is running
     @GetMapping("/ping")
     public ResponseEntity<?> ping() {
@@ -0,0 +1,88 @@
+package com.nmemarcoding.evonto.controller;
+
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.nmemarcoding.evonto.cache.CalendarFeedCache.Feed;
+import com.nmemarcoding.evonto.model.User;
+import com.nmemarcoding.evonto.service.CalendarFeedService;
+import com.nmemarcoding.evonto.service.UserService;
+import com.nmemarcoding.evonto.util.JwtUtil;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+@RestController
+@RequestMapping("/api/calendar")
+public class CalendarController {
+
+    private static final MediaType TEXT_CALENDAR = MediaType.parseMediaType("text/calendar;charset=UTF-8");
+
+    private final CalendarFeedService calendarFeedService;
+    private final UserService userService;
+    private final JwtUtil jwtUtil;
+
+    public CalendarController(CalendarFeedService calendarFeedService, UserService userService, JwtUtil jwtUtil) {
+        this.calendarFeedService = calendarFeedService;
+        this.userService = userService;
+        this.jwtUtil = jwtUtil;
+    }
+
+    // Subscription URL of the logged-in user's feed (token required)
+    @GetMapping("/subscription")
+    public ResponseEntity<?> getSubscription(HttpServletRequest request) {
+        try {
+            User user = currentUser(request);
+            return ResponseEntity.ok(Map.of("feedUrl", feedUrl(calendarFeedService.getFeedToken(user))));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body("Error fetching calendar subscription: " + e.getMessage());
+        }
+    }
+
+    // New feed URL; the previous one stops working (token required)
+    @PostMapping("/subscription/rotate")
+    public ResponseEntity<?> rotateSubscription(HttpServletRequest request) {
+        try {
+            User user = currentUser(request);
+            return ResponseEntity.ok(Map.of("feedUrl", feedUrl(calendarFeedService.rotateFeedToken(user))));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body("Error rotating calendar subscription: " + e.getMessage());
+        }
+    }
+
+    // Feed polled by calendar apps. With ETag/Last-Modified set, Spring answers
+    // If-None-Match / If-Modified-Since polls with 304 and no body.
+    @GetMapping("/feed/{token}.ics")
+    public ResponseEntity<?> getFeed(@PathVariable String token) {
+        try {
+            Optional<Feed> feed = calendarFeedService.getFeed(token);
+            if (feed.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Calendar not found");
+            }
+            return ResponseEntity.ok()
+                    .contentType(TEXT_CALENDAR)
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .eTag(feed.get().etag())
+                    .lastModified(feed.get().lastModified())
+                    .body(feed.get().body());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body("Error fetching calendar: " + e.getMessage());
+        }
+    }
+
+    private User currentUser(HttpServletRequest request) {
+        jwtUtil.requireValidToken(request);
+        String username = jwtUtil.extractUsernameFromRequest(request);
+        return userService.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    private static String feedUrl(String token) {
+        return "/api/calendar/feed/" + token + ".ics";
+    }
+}
@@ -1,21 +1,27 @@
 package com.nmemarcoding.evonto.controller;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.nmemarcoding.evonto.cache.JsonFragmentCache;
 import com.nmemarcoding.evonto.dto.EventDto;
-import com.nmemarcoding.evonto.dto.EventWithInvitationsDto;
-import com.nmemarcoding.evonto.dto.InvitationDto;
 import com.nmemarcoding.evonto.model.Event;
 import com.nmemarcoding.evonto.model.User;
+import com.nmemarcoding.evonto.service.EventArchiveService;
 import com.nmemarcoding.evonto.service.EventService;
 import com.nmemarcoding.evonto.service.InvitationService;
 import com.nmemarcoding.evonto.service.UserService;
 import com.nmemarcoding.evonto.util.JwtUtil;
+import com.nmemarcoding.evonto.util.SparseFields;
 
 import jakarta.servlet.http.HttpServletRequest;
 
@@ -23,16 +29,24 @@ import jakarta.servlet.http.HttpServletRequest;
 @RequestMapping("/api/events")
 public class EventController {
 
+    private static final Duration MAX_OCCURRENCE_WINDOW = Duration.ofDays(366);
+    private static final int MAX_BATCH_IDS = 300;
+
     private final EventService eventService;
     private final UserService userService;
     private final JwtUtil jwtUtil;
     private final InvitationService invitationService; 
+    private final JsonFragmentCache fragmentCache;
+    private final EventArchiveService archiveService;
 
-    public EventController(EventService eventService, UserService userService, JwtUtil jwtUtil, InvitationService invitationService) {
+    public EventController(EventService eventService, UserService userService, JwtUtil jwtUtil, InvitationService invitationService,
+                           JsonFragmentCache fragmentCache, EventArchiveService archiveService) {
         this.eventService = eventService;
         this.userService = userService;
         this.jwtUtil = jwtUtil;
         this.invitationService = invitationService;
+        this.fragmentCache = fragmentCache;
+        this.archiveService = archiveService;
     }
 
     // Create a new event (token required)
@@ -49,31 +63,39 @@ public class EventController {
             Event saved = eventService.createEvent(event);
             return ResponseEntity.ok(new EventDto(saved));
 
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body("Error creating event: " + e.getMessage());
         }
     }
 
-    // Get all public events
+    // Get all public events; ?fields=title,startDateTime selects only those columns
     @GetMapping
-    public ResponseEntity<?> getAllEvents(HttpServletRequest request) {
+    public ResponseEntity<?> getAllEvents(@RequestParam(required = false) String fields, HttpServletRequest request) {
         try {
             jwtUtil.requireValidToken(request);
-            
+
+            if (fields != null) {
+                return ResponseEntity.ok(eventService.getAllEventFields(SparseFields.parse(fields, "eventId")));
+            }
+
             List<EventDto> events = eventService.getAllEvents()
                     .stream()
                     .map(EventDto::new)
                     .collect(Collectors.toList());
 
             return ResponseEntity.ok(events);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body("Error fetching events: " + e.getMessage());
         }
     }
 
-    // Get events created by the logged-in user (token required)
+    // Get events created by the logged-in user (token required); supports ?fields= like the list above
     @GetMapping("/my")
-    public ResponseEntity<?> getMyEvents(HttpServletRequest request) {
+    public ResponseEntity<?> getMyEvents(@RequestParam(required = false) String fields, HttpServletRequest request) {
         try {
             jwtUtil.requireValidToken(request);
             String username = jwtUtil.extractUsernameFromRequest(request);
@@ -81,18 +103,127 @@ public class EventController {
             User user = userService.findByUsername(username)
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
-            List<EventDto> events = eventService.getEventsByCreator(user)
+            // Narrow views bypass the fragment cache, which only holds full events
+            if (fields != null) {
+                return ResponseEntity.ok(eventService.getEventFieldsByCreator(user, SparseFields.parse(fields, "eventId")));
+            }
+
+            List<byte[]> events = eventService.getEventsByCreator(user)
                     .stream()
-                    .map(EventDto::new)
-                    .collect(Collectors.toList());
+                    .map(fragmentCache::event)
+                    .toList();
 
-            return ResponseEntity.ok(events);
+            // Body is assembled from cached JSON
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(fragmentCache.array(events));
 
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body("Error fetching user events: " + e.getMessage());
         }
     }
 
+    // The logged-in user's occurrences in [from, to), recurring series expanded (token required)
+    @GetMapping("/occurrences")
+    public ResponseEntity<?> getOccurrences(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                            HttpServletRequest request) {
+        try {
+            jwtUtil.requireValidToken(request);
+            String username = jwtUtil.extractUsernameFromRequest(request);
+
+            User user = userService.findByUsername(username)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            if (!to.isAfter(from) || Duration.between(from, to).compareTo(MAX_OCCURRENCE_WINDOW) > 0) {
+                return ResponseEntity.badRequest().body("to must be after from and the window at most 366 days");
+            }
+
+            return ResponseEntity.ok(eventService.getOccurrences(user, from, to));
+
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body("Error fetching occurrences: " + e.getMessage());
+        }
+    }
+
+    // Owner dashboard: paged events with invitation totals and RSVP breakdown (token required)
+    @GetMapping("/dashboard")
+    public ResponseEntity<?> getDashboard(@RequestParam(defaultValue = "0") int page,
+                                          @RequestParam(defaultValue = "20") int size,
+                                          @RequestParam(defaultValue = "asc") String sort,
+                                          HttpServletRequest request) {
+        try {
+            jwtUtil.requireValidToken(request);
+            String username = jwtUtil.extractUsernameFromRequest(request);
+
+            User user = userService.findByUsername(username)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            if (page < 0 || size < 1 || size > 200) {
+                return ResponseEntity.badRequest().body("page must be >= 0 and size between 1 and 200");
+            }
+            Sort.Direction direction = "desc".equalsIgnoreCase(sort) ? Sort.Direction.DESC : Sort.Direction.ASC;
+
+            return ResponseEntity.ok(eventService.getDashboard(user, page, size, direction));
+
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body("Error fetching dashboard: " + e.getMessage());
+        }
+    }
+
+    // Past events of the logged-in user, live and archived (token required)
+    @GetMapping("/history")
+    public ResponseEntity<?> getEventHistory(HttpServletRequest request) {
+        try {
+            jwtUtil.requireValidToken(request);
+            String username = jwtUtil.extractUsernameFromRequest(request);
+
+            User user = userService.findByUsername(username)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            return ResponseEntity.ok(archiveService.getHistory(user));
+
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body("Error fetching event history: " + e.getMessage());
+        }
+    }
+
+    // Guest list of an archived event (token required + ownership check)
+    @GetMapping("/history/{id}")
+    public ResponseEntity<?> getArchivedEventWithGuests(@PathVariable Long id, HttpServletRequest request) {
+        try {
+            jwtUtil.requireValidToken(request);
+            String username = jwtUtil.extractUsernameFromRequest(request);
+
+            User user = userService.findByUsername(username)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            return archiveService.getArchivedEventWithGuests(id, user)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.status(404).body("Archived event not found"));
+
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body("Error fetching archived event: " + e.getMessage());
+        }
+    }
+
+    // Several events by ID in one call (public, like the single lookup below).
+    // Results follow the order of ids; unknown ids come back as {"eventId":..,"notFound":true}.
+    @GetMapping("/batch")
+    public ResponseEntity<?> getEventsByIds(@RequestParam List<Long> ids) {
+        try {
+            if (ids.isEmpty() || ids.size() > MAX_BATCH_IDS || ids.contains(null)) {
+                return ResponseEntity.badRequest().body("ids must list between 1 and " + MAX_BATCH_IDS + " event ids");
+            }
+
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                    .body(fragmentCache.array(eventService.getEventsJson(ids)));
+
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body("Error retrieving events: " + e.getMessage());
+        }
+    }
+
     // Get a single event by ID (public)
     @GetMapping("/{id}")
     public ResponseEntity<?> getEventById(@PathVariable Long id) {
@@ -126,7 +257,7 @@ public class EventController {
                 return ResponseEntity.status(403).body("You are not the owner of this event");
             }
 
-            eventService.deleteEvent(id);
+            eventService.deleteEvent(event);
             return ResponseEntity.ok("Event deleted successfully");
 
         } catch (Exception e) {
@@ -150,14 +281,14 @@ public class EventController {
                 return ResponseEntity.status(403).body("You do not own this event");
             }
 
-            List<InvitationDto> guestList = invitationService.getInvitationsByEvent(event)
+            List<byte[]> guestList = invitationService.getInvitationsByEvent(event)
                     .stream()
-                    .map(InvitationDto::new)
+                    .map(fragmentCache::invitation)
                     .toList();
 
-            EventWithInvitationsDto response = new EventWithInvitationsDto(new EventDto(event), guestList);
-
-            return ResponseEntity.ok(response);
+            // Same shape as EventWithInvitationsDto, assembled from cached JSON
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                    .body(fragmentCache.eventWithInvitations(fragmentCache.event(event), guestList));
 
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body("Error fetching event details: " + e.getMessage());
@@ -1,23 +1,29 @@
 package com.nmemarcoding.evonto.controller;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.nmemarcoding.evonto.cache.JsonFragmentCache;
 import com.nmemarcoding.evonto.dto.EventDto;
 import com.nmemarcoding.evonto.dto.InvitationDto;
 import com.nmemarcoding.evonto.dto.InvitationWithEventDto;
+import com.nmemarcoding.evonto.limit.PublicRateLimits;
+import com.nmemarcoding.evonto.limit.TokenBucketRateLimiter;
 import com.nmemarcoding.evonto.model.Event;
 import com.nmemarcoding.evonto.model.Invitation;
 import com.nmemarcoding.evonto.model.Invitation.RSVPStatus;
 import com.nmemarcoding.evonto.model.User;
+import com.nmemarcoding.evonto.recurrence.RecurrenceExpander;
 import com.nmemarcoding.evonto.service.EventService;
 import com.nmemarcoding.evonto.service.InvitationService;
 import com.nmemarcoding.evonto.service.UserService;
 import com.nmemarcoding.evonto.util.JwtUtil;
+import com.nmemarcoding.evonto.util.SparseFields;
 
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.Map;
@@ -30,12 +36,17 @@ public class InvitationController {
     private final UserService userService;
     private final EventService eventService;
     private final JwtUtil jwtUtil;
+    private final JsonFragmentCache fragmentCache;
+    private final PublicRateLimits rateLimits;
 
-    public InvitationController(InvitationService invitationService, UserService userService, EventService eventService, JwtUtil jwtUtil) {
+    public InvitationController(InvitationService invitationService, UserService userService, EventService eventService, JwtUtil jwtUtil,
+                                JsonFragmentCache fragmentCache, PublicRateLimits rateLimits) {
         this.invitationService = invitationService;
         this.userService = userService;
         this.eventService = eventService;
         this.jwtUtil = jwtUtil;
+        this.fragmentCache = fragmentCache;
+        this.rateLimits = rateLimits;
     }
 
     // 1. Create invitation (only by event owner)
@@ -51,6 +62,9 @@ public class InvitationController {
             String guestName = payload.get("guestName");
             String guestEmail = payload.get("guestEmail");
             String guestPhone = payload.get("guestPhone");
+            // Optional: one occurrence of a recurring event instead of the whole series
+            LocalDateTime occurrenceStart = payload.get("occurrenceStart") != null
+                    ? LocalDateTime.parse(payload.get("occurrenceStart")) : null;
 
             Event event = eventService.getEventById(eventId)
                     .orElseThrow(() -> new RuntimeException("Event not found"));
@@ -59,7 +73,12 @@ public class InvitationController {
                 return ResponseEntity.status(403).body("You can only send invitations for your own events");
             }
 
-            Optional<Invitation> result = invitationService.sendInvitation(event, guestName, guestEmail, guestPhone);
+            if (occurrenceStart != null && (event.getRecurrenceFrequency() == null
+                    || !RecurrenceExpander.isOccurrence(event, occurrenceStart))) {
+                return ResponseEntity.badRequest().body("occurrenceStart is not an occurrence of this event");
+            }
+
+            Optional<Invitation> result = invitationService.sendInvitation(event, guestName, guestEmail, guestPhone, occurrenceStart);
             if (result.isPresent()) {
                 return ResponseEntity.ok(new InvitationDto(result.get()));
             } else {
@@ -79,6 +98,16 @@ public class InvitationController {
             String guestName = payload.get("guestName");
             Long eventId = Long.parseLong(payload.get("eventId"));
 
+            // Name guessing against one event is throttled by charging its failed
+            // lookups; found guests take nothing, so they cannot use up the budget
+            TokenBucketRateLimiter eventLimiter = rateLimits.getGuestByEvent();
+            String eventKey = eventId.toString();
+            if (eventLimiter.isExhausted(eventKey)) {
+                return ResponseEntity.status(429)
+                        .header("Retry-After", String.valueOf(eventLimiter.getRetryAfterSeconds()))
+                        .body("Too many requests");
+            }
+
             Event event = eventService.getEventById(eventId)
                     .orElseThrow(() -> new RuntimeException("Event not found"));
 
@@ -95,6 +124,7 @@ public class InvitationController {
                 InvitationWithEventDto result = new InvitationWithEventDto(eventDto, invitationDto);
                 return ResponseEntity.ok(result);
             } else {
+                eventLimiter.tryAcquire(eventKey);
                 return ResponseEntity.status(404).body("Invitation not found");
             }
         } catch (Exception e) {
@@ -120,14 +150,18 @@ public class InvitationController {
 
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body("Invalid RSVP status. Use: YES, NO, MAYBE, NO_RESPONSE");
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(409).body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body("Error responding to invitation: " + e.getMessage());
         }
     }
 
-    // 4. Authenticated user views invitations for their own event
+    // 4. Authenticated user views invitations for their own event (?fields=guestName,rsvpStatus narrows the rows)
     @PostMapping("/list")
-    public ResponseEntity<?> listMyEventInvitations(@RequestBody Map<String, String> payload, HttpServletRequest request) {
+    public ResponseEntity<?> listMyEventInvitations(@RequestBody Map<String, String> payload,
+                                                    @RequestParam(required = false) String fields,
+                                                    HttpServletRequest request) {
         try {
             jwtUtil.requireValidToken(request);
             String username = jwtUtil.extractUsernameFromRequest(request);
@@ -143,19 +177,49 @@ public class InvitationController {
                 return ResponseEntity.status(403).body("You do not own this event");
             }
 
-            List<InvitationDto> result = invitationService.getInvitationsByEvent(event)
+            if (fields != null) {
+                return ResponseEntity.ok(invitationService.getInvitationFieldsByEvent(event,
+                        SparseFields.parse(fields, "invitationId")));
+            }
+
+            List<byte[]> result = invitationService.getInvitationsByEvent(event)
                     .stream()
-                    .map(InvitationDto::new)
-                    .collect(Collectors.toList());
+                    .map(fragmentCache::invitation)
+                    .toList();
 
-            return ResponseEntity.ok(result);
+            // Body is assembled from cached JSON
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(fragmentCache.array(result));
 
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body("Error listing invitations: " + e.getMessage());
         }
     }
 
-    // 5. Delete invitation (only if user owns the event)
+    // 5. Authenticated user lists invitations addressed to their own email, across all events
+    @GetMapping("/mine")
+    public ResponseEntity<?> getMyInvitations(@RequestParam(required = false) Long cursor,
+                                              @RequestParam(defaultValue = "20") int size,
+                                              HttpServletRequest request) {
+        try {
+            jwtUtil.requireValidToken(request);
+            String username = jwtUtil.extractUsernameFromRequest(request);
+            User user = userService.findByUsername(username)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            if (size < 1 || size > 100) {
+                return ResponseEntity.badRequest().body("size must be between 1 and 100");
+            }
+
+            return ResponseEntity.ok(invitationService.getInbox(user, cursor, size));
+
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body("Error fetching your invitations: " + e.getMessage());
+        }
+    }
+
+    // 6. Delete invitation (only if user owns the event)
     @DeleteMapping("/delete")
     public ResponseEntity<?> deleteInvitation(@RequestBody Map<String, String> payload, HttpServletRequest request) {
         try {
@@ -175,8 +239,7 @@ public class InvitationController {
                 return ResponseEntity.status(403).body("You can only delete invitations for your own events");
             }
 
-            invitationService.getInvitationById(invitationId)
-                    .ifPresent(inv -> invitationService.deleteInvitation(inv.getInvitationId()));
+            invitationService.deleteInvitation(invitation);
 
             return ResponseEntity.ok("Invitation deleted");
 
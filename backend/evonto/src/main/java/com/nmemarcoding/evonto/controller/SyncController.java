@@ -0,0 +1,53 @@
+package com.nmemarcoding.evonto.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.nmemarcoding.evonto.model.User;
+import com.nmemarcoding.evonto.service.ChangeLogService;
+import com.nmemarcoding.evonto.service.UserService;
+import com.nmemarcoding.evonto.util.JwtUtil;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+@RestController
+@RequestMapping("/api/sync")
+public class SyncController {
+
+    private final ChangeLogService changeLogService;
+    private final UserService userService;
+    private final JwtUtil jwtUtil;
+
+    public SyncController(ChangeLogService changeLogService, UserService userService, JwtUtil jwtUtil) {
+        this.changeLogService = changeLogService;
+        this.userService = userService;
+        this.jwtUtil = jwtUtil;
+    }
+
+    // Changes to the caller's events and invitations after the cursor (token required).
+    // Start with cursor=0: the answer is reset=true with a cursor to keep after a full load.
+    @GetMapping
+    public ResponseEntity<?> sync(@RequestParam(defaultValue = "0") long cursor,
+                                  @RequestParam(defaultValue = "500") int limit,
+                                  HttpServletRequest request) {
+        try {
+            jwtUtil.requireValidToken(request);
+            String username = jwtUtil.extractUsernameFromRequest(request);
+
+            User user = userService.findByUsername(username)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            if (limit < 1 || limit > 1000) {
+                return ResponseEntity.badRequest().body("limit must be between 1 and 1000");
+            }
+
+            return ResponseEntity.ok(changeLogService.sync(user, cursor, limit));
+
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body("Error syncing changes: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.nmemarcoding.evonto.dto;
+
+import java.util.List;
+
+public class EventDashboardDto {
+
+    private List<EventSummaryDto> events;
+    private int page;
+    private int size;
+    private long totalEvents;
+    private int totalPages;
+
+    public EventDashboardDto() {}
+
+    public EventDashboardDto(List<EventSummaryDto> events, int page, int size, long totalEvents, int totalPages) {
+        this.events = events;
+        this.page = page;
+        this.size = size;
+        this.totalEvents = totalEvents;
+        this.totalPages = totalPages;
+    }
+
+    public List<EventSummaryDto> getEvents() {
+        return events;
+    }
+
+    public void setEvents(List<EventSummaryDto> events) {
+        this.events = events;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public long getTotalEvents() {
+        return totalEvents;
+    }
+
+    public void setTotalEvents(long totalEvents) {
+        this.totalEvents = totalEvents;
+    }
+
+    public int getTotalPages() {
+        return totalPages;
+    }
+
+    public void setTotalPages(int totalPages) {
+        this.totalPages = totalPages;
+    }
+}
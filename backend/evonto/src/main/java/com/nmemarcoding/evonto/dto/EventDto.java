@@ -1,8 +1,11 @@
 package com.nmemarcoding.evonto.dto;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
+import com.nmemarcoding.evonto.model.ArchivedEvent;
 import com.nmemarcoding.evonto.model.Event;
+import com.nmemarcoding.evonto.model.Event.RecurrenceFrequency;
 
 public class EventDto {
 
@@ -12,8 +15,14 @@ public class EventDto {
     private LocalDateTime startDateTime;
     private LocalDateTime endDateTime;
     private String location;
+    private Integer capacity;
     private String hostUsername; 
     private LocalDateTime createdAt;
+    private RecurrenceFrequency recurrenceFrequency;
+    private Integer recurrenceInterval;
+    private LocalDateTime recurrenceUntil;
+    private Integer recurrenceCount;
+    private List<LocalDateTime> recurrenceExceptions;
 
     // Default constructor
     public EventDto() {}
@@ -26,7 +35,13 @@ public class EventDto {
         this.startDateTime = event.getStartDateTime();
         this.endDateTime = event.getEndDateTime();
         this.location = event.getLocation();
+        this.capacity = event.getCapacity();
         this.createdAt = event.getCreatedAt();
+        this.recurrenceFrequency = event.getRecurrenceFrequency();
+        this.recurrenceInterval = event.getRecurrenceInterval();
+        this.recurrenceUntil = event.getRecurrenceUntil();
+        this.recurrenceCount = event.getRecurrenceCount();
+        this.recurrenceExceptions = event.getRecurrenceExceptions();
 
         // Null-safe host username assignment
         if (event.getCreatedBy() != null) {
@@ -36,6 +51,24 @@ public class EventDto {
         }
     }
 
+    // Constructor from an archived event; the archive keeps only the creator id
+    public EventDto(ArchivedEvent event, String hostUsername) {
+        this.eventId = event.getEventId();
+        this.title = event.getTitle();
+        this.description = event.getDescription();
+        this.startDateTime = event.getStartDateTime();
+        this.endDateTime = event.getEndDateTime();
+        this.location = event.getLocation();
+        this.capacity = event.getCapacity();
+        this.createdAt = event.getCreatedAt();
+        this.recurrenceFrequency = event.getRecurrenceFrequency();
+        this.recurrenceInterval = event.getRecurrenceInterval();
+        this.recurrenceUntil = event.getRecurrenceUntil();
+        this.recurrenceCount = event.getRecurrenceCount();
+        this.recurrenceExceptions = event.getRecurrenceExceptions();
+        this.hostUsername = hostUsername;
+    }
+
     // Getters and setters
     public Long getEventId() {
         return eventId;
@@ -85,6 +118,14 @@ public class EventDto {
         this.location = location;
     }
 
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
+
     public String getHostUsername() {
         return hostUsername;
     }
@@ -100,4 +141,44 @@ public class EventDto {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public RecurrenceFrequency getRecurrenceFrequency() {
+        return recurrenceFrequency;
+    }
+
+    public void setRecurrenceFrequency(RecurrenceFrequency recurrenceFrequency) {
+        this.recurrenceFrequency = recurrenceFrequency;
+    }
+
+    public Integer getRecurrenceInterval() {
+        return recurrenceInterval;
+    }
+
+    public void setRecurrenceInterval(Integer recurrenceInterval) {
+        this.recurrenceInterval = recurrenceInterval;
+    }
+
+    public LocalDateTime getRecurrenceUntil() {
+        return recurrenceUntil;
+    }
+
+    public void setRecurrenceUntil(LocalDateTime recurrenceUntil) {
+        this.recurrenceUntil = recurrenceUntil;
+    }
+
+    public Integer getRecurrenceCount() {
+        return recurrenceCount;
+    }
+
+    public void setRecurrenceCount(Integer recurrenceCount) {
+        this.recurrenceCount = recurrenceCount;
+    }
+
+    public List<LocalDateTime> getRecurrenceExceptions() {
+        return recurrenceExceptions;
+    }
+
+    public void setRecurrenceExceptions(List<LocalDateTime> recurrenceExceptions) {
+        this.recurrenceExceptions = recurrenceExceptions;
+    }
 }
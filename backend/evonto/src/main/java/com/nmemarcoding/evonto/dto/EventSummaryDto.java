@@ -0,0 +1,55 @@
+package com.nmemarcoding.evonto.dto;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.nmemarcoding.evonto.model.Event;
+import com.nmemarcoding.evonto.model.Invitation.RSVPStatus;
+
+public class EventSummaryDto {
+
+    private EventDto event;
+    private long totalInvitations;
+    private Map<RSVPStatus, Long> rsvpCounts = new EnumMap<>(RSVPStatus.class);
+
+    // Default constructor
+    public EventSummaryDto() {}
+
+    // Every status starts at zero so the frontend always gets the full breakdown
+    public EventSummaryDto(Event event) {
+        this.event = new EventDto(event);
+        for (RSVPStatus status : RSVPStatus.values()) {
+            rsvpCounts.put(status, 0L);
+        }
+    }
+
+    public void addCount(RSVPStatus status, long count) {
+        rsvpCounts.merge(status, count, Long::sum);
+        totalInvitations += count;
+    }
+
+    // Getters and setters
+    public EventDto getEvent() {
+        return event;
+    }
+
+    public void setEvent(EventDto event) {
+        this.event = event;
+    }
+
+    public long getTotalInvitations() {
+        return totalInvitations;
+    }
+
+    public void setTotalInvitations(long totalInvitations) {
+        this.totalInvitations = totalInvitations;
+    }
+
+    public Map<RSVPStatus, Long> getRsvpCounts() {
+        return rsvpCounts;
+    }
+
+    public void setRsvpCounts(Map<RSVPStatus, Long> rsvpCounts) {
+        this.rsvpCounts = rsvpCounts;
+    }
+}
@@ -0,0 +1,21 @@
+package com.nmemarcoding.evonto.dto;
+
+// One row of the version probe used to validate cached event JSON
+public class EventVersionDto {
+
+    private final Long eventId;
+    private final long version;
+
+    public EventVersionDto(Long eventId, long version) {
+        this.eventId = eventId;
+        this.version = version;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
@@ -2,6 +2,7 @@ package com.nmemarcoding.evonto.dto;
 
 import java.time.LocalDateTime;
 
+import com.nmemarcoding.evonto.model.ArchivedInvitation;
 import com.nmemarcoding.evonto.model.Invitation;
 import com.nmemarcoding.evonto.model.Invitation.RSVPStatus;
 
@@ -12,6 +13,7 @@ public class InvitationDto {
     private String guestName;
     private String guestEmail;
     private String guestPhone;
+    private LocalDateTime occurrenceStart;
     private RSVPStatus rsvpStatus;
     private LocalDateTime invitationSentAt;
     private LocalDateTime respondedAt;
@@ -26,6 +28,20 @@ public class InvitationDto {
         this.guestName = invitation.getGuestName();
         this.guestEmail = invitation.getGuestEmail();
         this.guestPhone = invitation.getGuestPhone();
+        this.occurrenceStart = invitation.getOccurrenceStart();
+        this.rsvpStatus = invitation.getRsvpStatus();
+        this.invitationSentAt = invitation.getInvitationSentAt();
+        this.respondedAt = invitation.getRespondedAt();
+    }
+
+    // Constructor from an archived invitation
+    public InvitationDto(ArchivedInvitation invitation) {
+        this.invitationId = invitation.getInvitationId();
+        this.eventId = invitation.getEventId();
+        this.guestName = invitation.getGuestName();
+        this.guestEmail = invitation.getGuestEmail();
+        this.guestPhone = invitation.getGuestPhone();
+        this.occurrenceStart = invitation.getOccurrenceStart();
         this.rsvpStatus = invitation.getRsvpStatus();
         this.invitationSentAt = invitation.getInvitationSentAt();
         this.respondedAt = invitation.getRespondedAt();
@@ -72,6 +88,14 @@ public class InvitationDto {
         this.guestPhone = guestPhone;
     }
 
+    public LocalDateTime getOccurrenceStart() {
+        return occurrenceStart;
+    }
+
+    public void setOccurrenceStart(LocalDateTime occurrenceStart) {
+        this.occurrenceStart = occurrenceStart;
+    }
+
     public RSVPStatus getRsvpStatus() {
         return rsvpStatus;
     }
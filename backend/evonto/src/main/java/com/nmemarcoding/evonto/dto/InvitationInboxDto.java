@@ -0,0 +1,34 @@
+package com.nmemarcoding.evonto.dto;
+
+import java.util.List;
+
+// One page of the caller's invitations; pass nextCursor back as ?cursor= for
+// the next page (null when there are no more)
+public class InvitationInboxDto {
+
+    private List<InvitationWithEventDto> invitations;
+    private Long nextCursor;
+
+    public InvitationInboxDto() {}
+
+    public InvitationInboxDto(List<InvitationWithEventDto> invitations, Long nextCursor) {
+        this.invitations = invitations;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<InvitationWithEventDto> getInvitations() {
+        return invitations;
+    }
+
+    public void setInvitations(List<InvitationWithEventDto> invitations) {
+        this.invitations = invitations;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
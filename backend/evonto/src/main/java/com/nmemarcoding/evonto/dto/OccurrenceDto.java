@@ -0,0 +1,50 @@
+package com.nmemarcoding.evonto.dto;
+
+import java.time.LocalDateTime;
+
+import com.nmemarcoding.evonto.recurrence.RecurrenceExpander.Occurrence;
+
+// One occurrence of an event inside a requested window; recurring series are
+// expanded on the fly, so several of these can share an eventId
+public class OccurrenceDto {
+
+    private final Long eventId;
+    private final String title;
+    private final String location;
+    private final LocalDateTime startDateTime;
+    private final LocalDateTime endDateTime;
+    private final boolean recurring;
+
+    public OccurrenceDto(Occurrence occurrence) {
+        this.eventId = occurrence.event().getEventId();
+        this.title = occurrence.event().getTitle();
+        this.location = occurrence.event().getLocation();
+        this.startDateTime = occurrence.start();
+        this.endDateTime = occurrence.end();
+        this.recurring = occurrence.event().getRecurrenceFrequency() != null;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public LocalDateTime getStartDateTime() {
+        return startDateTime;
+    }
+
+    public LocalDateTime getEndDateTime() {
+        return endDateTime;
+    }
+
+    public boolean isRecurring() {
+        return recurring;
+    }
+}
@@ -0,0 +1,142 @@
+package com.nmemarcoding.evonto.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import com.nmemarcoding.evonto.model.Invitation.RSVPStatus;
+
+// RSVP statistics of one event, or of all of an owner's live events: then
+// eventId is null and events holds the per-event figures. Times are in seconds.
+public class RsvpAnalyticsDto {
+
+    private final Long eventId;
+    private final String title;
+    private final Map<RSVPStatus, Long> statusCounts;
+    private final long invited;
+    private final long responded;
+    private final double responseRate;
+    private final Long p50ResponseSeconds;
+    private final Long p90ResponseSeconds;
+    private final Long p99ResponseSeconds;
+    private final List<ResponseTimeBucket> responseTimes;
+    private final List<DailyCount> daily;
+    private final List<RsvpAnalyticsDto> events;
+
+    public RsvpAnalyticsDto(Long eventId, String title, Map<RSVPStatus, Long> statusCounts, long invited, long responded,
+                            Long p50ResponseSeconds, Long p90ResponseSeconds, Long p99ResponseSeconds,
+                            List<ResponseTimeBucket> responseTimes, List<DailyCount> daily, List<RsvpAnalyticsDto> events) {
+        this.eventId = eventId;
+        this.title = title;
+        this.statusCounts = statusCounts;
+        this.invited = invited;
+        this.responded = responded;
+        this.responseRate = invited > 0 ? (double) responded / invited : 0;
+        this.p50ResponseSeconds = p50ResponseSeconds;
+        this.p90ResponseSeconds = p90ResponseSeconds;
+        this.p99ResponseSeconds = p99ResponseSeconds;
+        this.responseTimes = responseTimes;
+        this.daily = daily;
+        this.events = events;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public Map<RSVPStatus, Long> getStatusCounts() {
+        return statusCounts;
+    }
+
+    public long getInvited() {
+        return invited;
+    }
+
+    public long getResponded() {
+        return responded;
+    }
+
+    public double getResponseRate() {
+        return responseRate;
+    }
+
+    public Long getP50ResponseSeconds() {
+        return p50ResponseSeconds;
+    }
+
+    public Long getP90ResponseSeconds() {
+        return p90ResponseSeconds;
+    }
+
+    public Long getP99ResponseSeconds() {
+        return p99ResponseSeconds;
+    }
+
+    public List<ResponseTimeBucket> getResponseTimes() {
+        return responseTimes;
+    }
+
+    public List<DailyCount> getDaily() {
+        return daily;
+    }
+
+    public List<RsvpAnalyticsDto> getEvents() {
+        return events;
+    }
+
+    // Guests who answered between fromSeconds (inclusive) and toSeconds (exclusive) after the invitation
+    public static class ResponseTimeBucket {
+
+        private final long fromSeconds;
+        private final long toSeconds;
+        private final long count;
+
+        public ResponseTimeBucket(long fromSeconds, long toSeconds, long count) {
+            this.fromSeconds = fromSeconds;
+            this.toSeconds = toSeconds;
+            this.count = count;
+        }
+
+        public long getFromSeconds() {
+            return fromSeconds;
+        }
+
+        public long getToSeconds() {
+            return toSeconds;
+        }
+
+        public long getCount() {
+            return count;
+        }
+    }
+
+    // Invitations sent and latest answers given on one day
+    public static class DailyCount {
+
+        private final LocalDate date;
+        private final long invited;
+        private final long responded;
+
+        public DailyCount(LocalDate date, long invited, long responded) {
+            this.date = date;
+            this.invited = invited;
+            this.responded = responded;
+        }
+
+        public LocalDate getDate() {
+            return date;
+        }
+
+        public long getInvited() {
+            return invited;
+        }
+
+        public long getResponded() {
+            return responded;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.nmemarcoding.evonto.dto;
+
+import com.nmemarcoding.evonto.model.Invitation.RSVPStatus;
+
+// One row of the grouped invitation count query: (event, status) -> count
+public class RsvpCountDto {
+
+    private final Long eventId;
+    private final RSVPStatus rsvpStatus;
+    private final long count;
+
+    public RsvpCountDto(Long eventId, RSVPStatus rsvpStatus, long count) {
+        this.eventId = eventId;
+        this.rsvpStatus = rsvpStatus;
+        this.count = count;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public RSVPStatus getRsvpStatus() {
+        return rsvpStatus;
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,89 @@
+package com.nmemarcoding.evonto.dto;
+
+import java.util.List;
+
+// Changes to the caller's events and their invitations since a cursor. When
+// reset is true the client must reload everything and continue from cursor.
+public class SyncDto {
+
+    private long cursor;
+    private boolean hasMore;
+    private boolean reset;
+    private List<EventDto> events;
+    private List<Long> deletedEventIds;
+    private List<InvitationDto> invitations;
+    private List<Long> deletedInvitationIds;
+
+    public SyncDto() {}
+
+    public SyncDto(long cursor, boolean hasMore, boolean reset, List<EventDto> events, List<Long> deletedEventIds,
+                   List<InvitationDto> invitations, List<Long> deletedInvitationIds) {
+        this.cursor = cursor;
+        this.hasMore = hasMore;
+        this.reset = reset;
+        this.events = events;
+        this.deletedEventIds = deletedEventIds;
+        this.invitations = invitations;
+        this.deletedInvitationIds = deletedInvitationIds;
+    }
+
+    public static SyncDto reset(long cursor) {
+        return new SyncDto(cursor, false, true, List.of(), List.of(), List.of(), List.of());
+    }
+
+    public long getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(long cursor) {
+        this.cursor = cursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public boolean isReset() {
+        return reset;
+    }
+
+    public void setReset(boolean reset) {
+        this.reset = reset;
+    }
+
+    public List<EventDto> getEvents() {
+        return events;
+    }
+
+    public void setEvents(List<EventDto> events) {
+        this.events = events;
+    }
+
+    public List<Long> getDeletedEventIds() {
+        return deletedEventIds;
+    }
+
+    public void setDeletedEventIds(List<Long> deletedEventIds) {
+        this.deletedEventIds = deletedEventIds;
+    }
+
+    public List<InvitationDto> getInvitations() {
+        return invitations;
+    }
+
+    public void setInvitations(List<InvitationDto> invitations) {
+        this.invitations = invitations;
+    }
+
+    public List<Long> getDeletedInvitationIds() {
+        return deletedInvitationIds;
+    }
+
+    public void setDeletedInvitationIds(List<Long> deletedInvitationIds) {
+        this.deletedInvitationIds = deletedInvitationIds;
+    }
+}
@@ -0,0 +1,229 @@
+package com.nmemarcoding.evonto.idempotency;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nmemarcoding.evonto.idempotency.IdempotencyStore.Claim;
+import com.nmemarcoding.evonto.idempotency.IdempotencyStore.StoredResponse;
+import com.nmemarcoding.evonto.util.JwtUtil;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Honors the Idempotency-Key header on the endpoints mobile clients retry.
+// The first request with a key runs normally and its response is stored;
+// retries get the stored response without reaching the controllers, and a
+// retry that arrives while the first is still running waits for its result.
+// A key reused with a different body is answered with 422 instead of a replay.
+// Keys are scoped to the caller: the user of the token, or for guests (RSVPs
+// need no account) the invitation in the body.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final Set<String> IDEMPOTENT_PATHS = Set.of(
+            "/api/events",
+            "/api/invitations/send",
+            "/api/invitations/respond");
+
+    private static final String TEXT_PLAIN = "text/plain;charset=UTF-8";
+
+    private final IdempotencyStore store;
+    private final JwtUtil jwtUtil;
+    private final ObjectMapper objectMapper;
+    private final long waitTimeoutMs;
+
+    public IdempotencyFilter(IdempotencyStore store, JwtUtil jwtUtil, ObjectMapper objectMapper,
+                             @Value("${idempotency.wait-timeout-ms:10000}") long waitTimeoutMs) {
+        this.store = store;
+        this.jwtUtil = jwtUtil;
+        this.objectMapper = objectMapper;
+        this.waitTimeoutMs = waitTimeoutMs;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || !IDEMPOTENT_PATHS.contains(request.getRequestURI())
+                || request.getHeader(HEADER) == null
+                || request.getHeader(HEADER).isBlank();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        CachedBodyRequest cached = new CachedBodyRequest(request);
+        String scope = scope(cached);
+        if (scope == null) {
+            // Guest request without an invitation id; the controller rejects it anyway
+            chain.doFilter(cached, response);
+            return;
+        }
+        String key = sha256(request.getRequestURI() + "\n" + scope + "\n" + request.getHeader(HEADER));
+        String requestHash = sha256(cached.body);
+
+        Optional<Claim> existing = store.claim(key, requestHash);
+        if (existing.isPresent()) {
+            if (existing.get().requestHash() != null && !existing.get().requestHash().equals(requestHash)) {
+                response.setStatus(HttpStatus.UNPROCESSABLE_ENTITY.value());
+                response.setContentType(TEXT_PLAIN);
+                response.getWriter().write("This Idempotency-Key was already used with a different request body");
+                return;
+            }
+            awaitAndReplay(existing.get().result(), response);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(cached, wrapper);
+        } catch (Throwable e) {
+            // Errors too, or the key would stay pending and block its retries
+            store.abandon(key, e);
+            throw e;
+        }
+
+        // Server errors and conflicts ("changed by another request") are not
+        // final answers; let the client retry them
+        if (wrapper.getStatus() >= 500 || wrapper.getStatus() == HttpStatus.CONFLICT.value()) {
+            store.abandon(key, new IllegalStateException("Original request failed with " + wrapper.getStatus()));
+        } else {
+            store.complete(key, requestHash, new StoredResponse(wrapper.getStatus(), wrapper.getContentType(),
+                    wrapper.getContentAsByteArray()));
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private void awaitAndReplay(CompletableFuture<StoredResponse> running, HttpServletResponse response) throws IOException {
+        try {
+            replay(running.get(waitTimeoutMs, TimeUnit.MILLISECONDS), response);
+        } catch (TimeoutException e) {
+            response.setStatus(HttpStatus.CONFLICT.value());
+            response.setContentType(TEXT_PLAIN);
+            response.getWriter().write("A request with this Idempotency-Key is still in progress");
+        } catch (ExecutionException e) {
+            response.setStatus(HttpStatus.CONFLICT.value());
+            response.setContentType(TEXT_PLAIN);
+            response.getWriter().write("The original request with this Idempotency-Key failed, please retry");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        }
+    }
+
+    private void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader("Idempotent-Replayed", "true");
+        if (stored.body() != null) {
+            response.getOutputStream().write(stored.body());
+        }
+    }
+
+    // The token's user, else the invitation a guest responds to, else null
+    private String scope(CachedBodyRequest request) {
+        String username = jwtUtil.extractUsernameFromRequest(request);
+        if (username != null) {
+            return "user:" + username;
+        }
+        try {
+            JsonNode invitationId = objectMapper.readTree(request.body).path("invitationId");
+            return invitationId.isValueNode() && !invitationId.asText().isBlank()
+                    ? "invitation:" + invitationId.asText().trim() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static String sha256(String value) {
+        return sha256(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String sha256(byte[] value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Reads the body once so it can be hashed and still reach the controller
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return in.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new IllegalStateException("Async reads are not supported on idempotent requests");
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            Charset charset = getCharacterEncoding() != null ? Charset.forName(getCharacterEncoding()) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
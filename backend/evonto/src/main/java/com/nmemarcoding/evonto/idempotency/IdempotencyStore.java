@@ -0,0 +1,156 @@
+package com.nmemarcoding.evonto.idempotency;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.nmemarcoding.evonto.model.IdempotencyRecord;
+import com.nmemarcoding.evonto.repository.IdempotencyRecordRepository;
+
+// Completed responses per idempotency key, with a hash of the request body
+// that produced them. The in-memory map is bounded by entry count and expires
+// entries after the TTL; when persistence is enabled completed responses are
+// also written to idempotency_records so a retry that lands on another
+// instance, or after a restart, still gets the same answer. The table is only
+// read for keys this instance does not know, so retries answered from memory
+// never touch the database.
+@Component
+public class IdempotencyStore {
+
+    public record StoredResponse(int status, String contentType, byte[] body) {}
+
+    // The request body hash a key was first used with, and its (pending) response
+    public record Claim(String requestHash, CompletableFuture<StoredResponse> result) {}
+
+    private static final class Entry {
+        final String requestHash;
+        final CompletableFuture<StoredResponse> result = new CompletableFuture<>();
+        volatile long expiresAt = Long.MAX_VALUE;
+
+        Entry(String requestHash) {
+            this.requestHash = requestHash;
+        }
+    }
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final long ttlMs;
+    private final int maxEntries;
+    private final boolean persist;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    public IdempotencyStore(IdempotencyRecordRepository recordRepository,
+                            @Value("${idempotency.ttl-minutes:60}") long ttlMinutes,
+                            @Value("${idempotency.max-entries:10000}") int maxEntries,
+                            @Value("${idempotency.persist:false}") boolean persist) {
+        this.recordRepository = recordRepository;
+        this.ttlMs = ttlMinutes * 60 * 1000;
+        this.maxEntries = maxEntries;
+        this.persist = persist;
+    }
+
+    // Registers the caller as the executor for this key. Returns empty if it
+    // won; otherwise the claim of the execution that is already running or done.
+    public Optional<Claim> claim(String key, String requestHash) {
+        Entry existing = entries.get(key);
+        if (existing == null || existing.expiresAt <= System.currentTimeMillis()) {
+            // Unknown here (or expired): another instance or an earlier run may have answered it
+            Entry created = findPersisted(key).orElseGet(() -> new Entry(requestHash));
+            boolean installed = existing == null
+                    ? entries.putIfAbsent(key, created) == null
+                    : entries.replace(key, existing, created);
+            if (!installed) {
+                return claim(key, requestHash);
+            }
+            insertionOrder.add(key);
+            trim();
+            if (!created.result.isDone()) {
+                return Optional.empty();
+            }
+            existing = created;
+        }
+        return Optional.of(new Claim(existing.requestHash, existing.result));
+    }
+
+    private Optional<Entry> findPersisted(String key) {
+        if (!persist) {
+            return Optional.empty();
+        }
+        return recordRepository.findById(key)
+                .filter(record -> record.getCreatedAt().isAfter(LocalDateTime.now().minus(Duration.ofMillis(ttlMs))))
+                .map(record -> {
+                    Entry entry = new Entry(record.getRequestHash());
+                    entry.expiresAt = record.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() + ttlMs;
+                    entry.result.complete(new StoredResponse(record.getStatus(), record.getContentType(), record.getBody()));
+                    return entry;
+                });
+    }
+
+    public void complete(String key, String requestHash, StoredResponse response) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            entry.expiresAt = System.currentTimeMillis() + ttlMs;
+            entry.result.complete(response);
+        }
+        if (persist) {
+            recordRepository.save(new IdempotencyRecord(key, requestHash, response.status(), response.contentType(),
+                    response.body()));
+        }
+    }
+
+    // The first execution failed; forget the key so the client can retry for real
+    public void abandon(String key, Throwable cause) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            entry.result.completeExceptionally(cause);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval-ms:60000}")
+    public void removeExpired() {
+        long now = System.currentTimeMillis();
+        entries.forEach((key, entry) -> {
+            if (entry.expiresAt <= now) {
+                entries.remove(key, entry);
+            }
+        });
+        insertionOrder.removeIf(key -> !entries.containsKey(key));
+        if (persist) {
+            recordRepository.deleteOlderThan(LocalDateTime.now().minus(Duration.ofMillis(ttlMs)));
+        }
+    }
+
+    // Oldest keys go first once the map is over capacity; a waiter already
+    // holding an evicted entry's future still receives its result
+    private void trim() {
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+        int remaining = insertionOrder.size();
+        while (entries.size() > maxEntries && remaining-- > 0) {
+            String oldest = insertionOrder.poll();
+            if (oldest == null) {
+                return;
+            }
+            Entry entry = entries.get(oldest);
+            if (entry == null) {
+                continue;
+            }
+            if (entry.result.isDone()) {
+                entries.remove(oldest, entry);
+            } else {
+                // Still running, keep it and look further
+                insertionOrder.add(oldest);
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.nmemarcoding.evonto.limit;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Sheds load per route group before a request can tie up a Tomcat thread on
+// the database. Health checks bypass the limiter entirely.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Map<RouteGroup, AimdLimiter> limiters = new EnumMap<>(RouteGroup.class);
+    private final String retryAfterSeconds;
+
+    public ConcurrencyLimitFilter(MeterRegistry meterRegistry,
+                                  @Value("${limits.concurrency.initial:20}") int initialLimit,
+                                  @Value("${limits.concurrency.min:2}") int minLimit,
+                                  @Value("${limits.concurrency.max:200}") int maxLimit,
+                                  @Value("${limits.concurrency.latency-threshold-ms:500}") long latencyThresholdMs,
+                                  @Value("${limits.concurrency.backoff-ratio:0.9}") double backoffRatio,
+                                  @Value("${limits.concurrency.retry-after-seconds:1}") int retryAfterSeconds) {
+        this.retryAfterSeconds = String.valueOf(retryAfterSeconds);
+
+        for (RouteGroup group : RouteGroup.values()) {
+            if (group == RouteGroup.HEALTH) {
+                continue;
+            }
+            AimdLimiter limiter = new AimdLimiter(initialLimit, minLimit, maxLimit,
+                    latencyThresholdMs * 1_000_000, backoffRatio);
+            limiters.put(group, limiter);
+
+            String tag = group.name().toLowerCase();
+            Gauge.builder("evonto.concurrency.limit", limiter, AimdLimiter::getLimit)
+                    .tag("group", tag).register(meterRegistry);
+            Gauge.builder("evonto.concurrency.inflight", limiter, AimdLimiter::getInFlight)
+                    .tag("group", tag).register(meterRegistry);
+            FunctionCounter.builder("evonto.concurrency.rejected", limiter, AimdLimiter::getRejected)
+                    .tag("group", tag).register(meterRegistry);
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AimdLimiter limiter = limiters.get(RouteGroup.of(request.getMethod(), request.getRequestURI()));
+        if (limiter == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        if (!limiter.tryAcquire()) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader("Retry-After", retryAfterSeconds);
+            response.getWriter().write("Server busy, please retry");
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+        } finally {
+            limiter.release(System.nanoTime() - start, failed);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.nmemarcoding.evonto.limit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Rate limits for the unauthenticated endpoints: per client address for
+// login/register and for guest invitation lookups, plus failed lookups per
+// target event so guessing names against one event is throttled across all
+// addresses. Guests who find their invitation are not charged to the event.
+@Component
+public class PublicRateLimits {
+
+    private final TokenBucketRateLimiter authByClient;
+    private final TokenBucketRateLimiter guestByClient;
+    private final TokenBucketRateLimiter guestByEvent;
+
+    public PublicRateLimits(MeterRegistry meterRegistry,
+                            @Value("${limits.rate.auth.per-second:1}") double authPerSecond,
+                            @Value("${limits.rate.auth.burst:10}") int authBurst,
+                            @Value("${limits.rate.guest.per-second:5}") double guestPerSecond,
+                            @Value("${limits.rate.guest.burst:20}") int guestBurst,
+                            @Value("${limits.rate.event.per-second:20}") double eventPerSecond,
+                            @Value("${limits.rate.event.burst:50}") int eventBurst) {
+        this.authByClient = new TokenBucketRateLimiter(authPerSecond, authBurst);
+        this.guestByClient = new TokenBucketRateLimiter(guestPerSecond, guestBurst);
+        this.guestByEvent = new TokenBucketRateLimiter(eventPerSecond, eventBurst);
+
+        Gauge.builder("evonto.ratelimit.buckets", authByClient, TokenBucketRateLimiter::size)
+                .tag("limit", "auth-client").register(meterRegistry);
+        Gauge.builder("evonto.ratelimit.buckets", guestByClient, TokenBucketRateLimiter::size)
+                .tag("limit", "guest-client").register(meterRegistry);
+        Gauge.builder("evonto.ratelimit.buckets", guestByEvent, TokenBucketRateLimiter::size)
+                .tag("limit", "guest-event").register(meterRegistry);
+    }
+
+    public TokenBucketRateLimiter getAuthByClient() {
+        return authByClient;
+    }
+
+    public TokenBucketRateLimiter getGuestByClient() {
+        return guestByClient;
+    }
+
+    public TokenBucketRateLimiter getGuestByEvent() {
+        return guestByEvent;
+    }
+
+    // Keeps memory proportional to recently active clients under address churn
+    @Scheduled(fixedDelayString = "${limits.rate.evict-interval-ms:10000}")
+    public void evictIdleBuckets() {
+        authByClient.evictIdle();
+        guestByClient.evictIdle();
+        guestByEvent.evictIdle();
+    }
+}
@@ -0,0 +1,52 @@
+package com.nmemarcoding.evonto.limit;
+
+import java.io.IOException;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Per-client-address limits on the public endpoints. Runs after the forwarded
+// header filter (server.forward-headers-strategy=framework), so getRemoteAddr()
+// is already the real client address rather than the proxy's.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final PublicRateLimits rateLimits;
+
+    public RateLimitFilter(PublicRateLimits rateLimits) {
+        this.rateLimits = rateLimits;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        TokenBucketRateLimiter limiter = limiterFor(request);
+        if (limiter != null && !limiter.tryAcquire(request.getRemoteAddr())) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader("Retry-After", String.valueOf(limiter.getRetryAfterSeconds()));
+            response.getWriter().write("Too many requests");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private TokenBucketRateLimiter limiterFor(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod())) {
+            return null;
+        }
+        return switch (request.getRequestURI()) {
+            case "/api/login", "/api/register" -> rateLimits.getAuthByClient();
+            case "/api/invitations/info", "/api/invitations/respond" -> rateLimits.getGuestByClient();
+            default -> null;
+        };
+    }
+}
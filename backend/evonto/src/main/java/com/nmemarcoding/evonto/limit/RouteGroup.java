@@ -0,0 +1,37 @@
+package com.nmemarcoding.evonto.limit;
+
+import java.util.regex.Pattern;
+
+// Buckets API routes by cost and audience so one slow group cannot starve the others
+public enum RouteGroup {
+    HEALTH,
+    AUTH,
+    PUBLIC_READ,
+    AUTHENTICATED_READ,
+    WRITE;
+
+    private static final Pattern EVENT_BY_ID = Pattern.compile("/api/events/\\d+");
+
+    public static RouteGroup of(String method, String path) {
+        // CORS preflights never reach a controller
+        if ("OPTIONS".equals(method)) {
+            return HEALTH;
+        }
+        if (path.equals("/api/health") || path.equals("/api/ping") || path.startsWith("/actuator")) {
+            return HEALTH;
+        }
+        if (path.equals("/api/login") || path.equals("/api/register") || path.equals("/api/check-token")
+                || path.equals("/api/logout") || path.equals("/api/logout-all")) {
+            return AUTH;
+        }
+        // Guest-facing lookups (/info is a POST but only reads) and calendar feeds
+        if (path.equals("/api/invitations/info") || path.startsWith("/api/calendar/feed/")
+                || ("GET".equals(method) && (EVENT_BY_ID.matcher(path).matches() || path.equals("/api/events/batch")))) {
+            return PUBLIC_READ;
+        }
+        if ("GET".equals(method) || "HEAD".equals(method) || path.equals("/api/invitations/list")) {
+            return AUTHENTICATED_READ;
+        }
+        return WRITE;
+    }
+}
@@ -0,0 +1,65 @@
+package com.nmemarcoding.evonto.limit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token buckets per key, stored as a single "theoretical arrival time" (GCRA):
+// each request pushes the time forward by one emission interval and is refused
+// if that would put it more than a full burst ahead of now. Admission is one
+// CAS on the key's own counter, so there is no lock shared between clients.
+public class TokenBucketRateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst) {
+        this.emissionIntervalNanos = (long) (1_000_000_000L / permitsPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * Math.max(1, burst);
+    }
+
+    public boolean tryAcquire(String key) {
+        AtomicLong bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+        while (true) {
+            long now = System.nanoTime();
+            long arrival = bucket.get();
+            long next = Math.max(arrival, now) + emissionIntervalNanos;
+            if (next - now > burstToleranceNanos) {
+                return false;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return true;
+            }
+        }
+    }
+
+    // Whether tryAcquire would refuse the key now; takes nothing from the bucket
+    public boolean isExhausted(String key) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            return false;
+        }
+        long now = System.nanoTime();
+        return Math.max(bucket.get(), now) + emissionIntervalNanos - now > burstToleranceNanos;
+    }
+
+    // A bucket whose arrival time has passed is full again and carries no state,
+    // so dropping it is indistinguishable from keeping it
+    public void evictIdle() {
+        long now = System.nanoTime();
+        buckets.forEach((key, bucket) -> {
+            long arrival = bucket.get();
+            if (arrival == Long.MIN_VALUE || arrival - now <= 0) {
+                buckets.remove(key, bucket);
+            }
+        });
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    public long getRetryAfterSeconds() {
+        return Math.max(1, emissionIntervalNanos / 1_000_000_000L);
+    }
+}
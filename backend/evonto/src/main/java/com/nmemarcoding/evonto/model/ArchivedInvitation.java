@@ -0,0 +1,130 @@
+package com.nmemarcoding.evonto.model;
+
+import java.time.LocalDateTime;
+
+import com.nmemarcoding.evonto.model.Invitation.RSVPStatus;
+
+import jakarta.persistence.*;
+
+// Cold copy of an Invitation whose event was archived
+@Entity
+@Table(name = "invitations_archive", indexes = @Index(name = "idx_invitations_archive_event", columnList = "event_id"))
+public class ArchivedInvitation {
+
+    @Id
+    @Column(name = "invitation_id")
+    private Long invitationId;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(name = "guest_name", nullable = false)
+    private String guestName;
+
+    @Column(name = "guest_email")
+    private String guestEmail;
+
+    @Column(name = "guest_phone")
+    private String guestPhone;
+
+    @Column(name = "occurrence_start")
+    private LocalDateTime occurrenceStart;
+
+    // Same column type as Invitation.rsvpStatus, so every live status can be archived
+    @Enumerated(EnumType.STRING)
+    @Column(name = "rsvp_status", nullable = false, columnDefinition = "VARCHAR(16)")
+    private RSVPStatus rsvpStatus;
+
+    @Column(name = "invitation_sent_at", nullable = false)
+    private LocalDateTime invitationSentAt;
+
+    @Column(name = "responded_at")
+    private LocalDateTime respondedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    // Constructors
+    public ArchivedInvitation() {}
+
+    // Getters and setters
+    public Long getInvitationId() {
+        return invitationId;
+    }
+
+    public void setInvitationId(Long invitationId) {
+        this.invitationId = invitationId;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getGuestName() {
+        return guestName;
+    }
+
+    public void setGuestName(String guestName) {
+        this.guestName = guestName;
+    }
+
+    public String getGuestEmail() {
+        return guestEmail;
+    }
+
+    public void setGuestEmail(String guestEmail) {
+        this.guestEmail = guestEmail;
+    }
+
+    public String getGuestPhone() {
+        return guestPhone;
+    }
+
+    public void setGuestPhone(String guestPhone) {
+        this.guestPhone = guestPhone;
+    }
+
+    public LocalDateTime getOccurrenceStart() {
+        return occurrenceStart;
+    }
+
+    public void setOccurrenceStart(LocalDateTime occurrenceStart) {
+        this.occurrenceStart = occurrenceStart;
+    }
+
+    public RSVPStatus getRsvpStatus() {
+        return rsvpStatus;
+    }
+
+    public void setRsvpStatus(RSVPStatus rsvpStatus) {
+        this.rsvpStatus = rsvpStatus;
+    }
+
+    public LocalDateTime getInvitationSentAt() {
+        return invitationSentAt;
+    }
+
+    public void setInvitationSentAt(LocalDateTime invitationSentAt) {
+        this.invitationSentAt = invitationSentAt;
+    }
+
+    public LocalDateTime getRespondedAt() {
+        return respondedAt;
+    }
+
+    public void setRespondedAt(LocalDateTime respondedAt) {
+        this.respondedAt = respondedAt;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    public void setArchivedAt(LocalDateTime archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+}
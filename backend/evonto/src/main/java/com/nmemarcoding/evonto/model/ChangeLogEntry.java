@@ -0,0 +1,108 @@
+package com.nmemarcoding.evonto.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+// One create/update/delete of an event or invitation, written in the same
+// transaction as the change itself. The id is the sync cursor; ChangeLogService
+// assigns it from ChangeLogSequence in commit order.
+@Entity
+@Table(name = "change_log", indexes = {
+        @Index(name = "idx_change_log_owner", columnList = "owner_id, id"),
+        @Index(name = "idx_change_log_entity", columnList = "entity_type, entity_id, id")
+})
+public class ChangeLogEntry {
+
+    @Id
+    private Long id;
+
+    // Owner of the event (for invitations, of the invitation's event)
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 16)
+    private EntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private Operation operation;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt = LocalDateTime.now();
+
+    // Constructors
+    public ChangeLogEntry() {}
+
+    public ChangeLogEntry(Long ownerId, EntityType entityType, Long entityId, Operation operation) {
+        this.ownerId = ownerId;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.operation = operation;
+        this.changedAt = LocalDateTime.now();
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public void setOwnerId(Long ownerId) {
+        this.ownerId = ownerId;
+    }
+
+    public EntityType getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(EntityType entityType) {
+        this.entityType = entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public void setOperation(Operation operation) {
+        this.operation = operation;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(LocalDateTime changedAt) {
+        this.changedAt = changedAt;
+    }
+
+    public enum EntityType {
+        EVENT,
+        INVITATION
+    }
+
+    // Creates and updates are both "upsert": clients just take the latest state
+    public enum Operation {
+        UPSERT,
+        DELETE
+    }
+}
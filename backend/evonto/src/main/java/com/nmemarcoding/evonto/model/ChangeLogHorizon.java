@@ -0,0 +1,42 @@
+package com.nmemarcoding.evonto.model;
+
+import jakarta.persistence.*;
+
+// Highest change_log id whose delete entries have been compacted away. A
+// client whose cursor is below it may have missed deletes and must reload.
+@Entity
+@Table(name = "change_log_horizon")
+public class ChangeLogHorizon {
+
+    public static final int SINGLETON_ID = 1;
+
+    @Id
+    private Integer id = SINGLETON_ID;
+
+    @Column(name = "compacted_through", nullable = false)
+    private long compactedThrough;
+
+    // Constructors
+    public ChangeLogHorizon() {}
+
+    public ChangeLogHorizon(long compactedThrough) {
+        this.compactedThrough = compactedThrough;
+    }
+
+    // Getters and setters
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public long getCompactedThrough() {
+        return compactedThrough;
+    }
+
+    public void setCompactedThrough(long compactedThrough) {
+        this.compactedThrough = compactedThrough;
+    }
+}
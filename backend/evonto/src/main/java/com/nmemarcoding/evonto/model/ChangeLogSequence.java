@@ -0,0 +1,44 @@
+package com.nmemarcoding.evonto.model;
+
+import jakarta.persistence.*;
+
+// Last change_log id handed out on this shard. Ids are taken from it as the
+// last statement of the writing transaction, and its row lock is held until
+// commit, so ids become visible in increasing order and a sync cursor never
+// passes an entry that commits later.
+@Entity
+@Table(name = "change_log_sequence")
+public class ChangeLogSequence {
+
+    public static final int SINGLETON_ID = 1;
+
+    @Id
+    private Integer id = SINGLETON_ID;
+
+    @Column(name = "last_id", nullable = false)
+    private long lastId;
+
+    // Constructors
+    public ChangeLogSequence() {}
+
+    public ChangeLogSequence(long lastId) {
+        this.lastId = lastId;
+    }
+
+    // Getters and setters
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public long getLastId() {
+        return lastId;
+    }
+
+    public void setLastId(long lastId) {
+        this.lastId = lastId;
+    }
+}
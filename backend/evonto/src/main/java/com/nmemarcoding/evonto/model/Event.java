@@ -2,9 +2,17 @@ package com.nmemarcoding.evonto.model;
 
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @Entity
-@Table(name = "events")
+@Table(name = "events", indexes = {
+        @Index(name = "idx_events_deleted_at", columnList = "deleted_at"),
+        @Index(name = "idx_events_end_date_time", columnList = "endDateTime"),
+        @Index(name = "idx_events_created_by_series_ends_at", columnList = "created_by, series_ends_at")
+})
 public class Event {
 
     @Id
@@ -24,6 +32,15 @@ public class Event {
 
     private String location;
 
+    // Seat limit for YES responses; null means unlimited
+    private Integer capacity;
+
+    // YES responses currently holding a seat. Only changed by the conditional
+    // updates in EventRepository, never read-modify-write.
+    @JsonIgnore
+    @Column(name = "seats_taken", nullable = false)
+    private int seatsTaken;
+
     @ManyToOne(optional = false)
     @JoinColumn(name = "created_by", referencedColumnName = "id")
     private User createdBy;
@@ -31,6 +48,44 @@ public class Event {
     @Column(nullable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    // Recurrence rule; null frequency means a single event. startDateTime and
+    // endDateTime describe the first occurrence, the rest are expanded on read.
+    @Enumerated(EnumType.STRING)
+    @Column(name = "recurrence_frequency", length = 16)
+    private RecurrenceFrequency recurrenceFrequency;
+
+    @Column(name = "recurrence_interval")
+    private Integer recurrenceInterval;
+
+    @Column(name = "recurrence_until")
+    private LocalDateTime recurrenceUntil;
+
+    @Column(name = "recurrence_count")
+    private Integer recurrenceCount;
+
+    // Start times of occurrences that were cancelled
+    @Convert(converter = LocalDateTimeListConverter.class)
+    @Column(name = "recurrence_exceptions", length = 4000)
+    private List<LocalDateTime> recurrenceExceptions = new ArrayList<>();
+
+    // End of the last occurrence, null while the series repeats forever.
+    // Lets window queries skip finished series without expanding them.
+    @JsonIgnore
+    @Column(name = "series_ends_at")
+    private LocalDateTime seriesEndsAt;
+
+    // Set when the owner deletes the event; the row is purged in the background
+    @JsonIgnore
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    // Bumped on every update; also keys the cached JSON for this event.
+    // Optimistic lock: saving a stale copy fails instead of overwriting newer data.
+    @JsonIgnore
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     // Constructors
     public Event() {}
 
@@ -93,6 +148,22 @@ public class Event {
         this.location = location;
     }
 
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getSeatsTaken() {
+        return seatsTaken;
+    }
+
+    public void setSeatsTaken(int seatsTaken) {
+        this.seatsTaken = seatsTaken;
+    }
+
     public User getCreatedBy() {
         return createdBy;
     }
@@ -108,4 +179,76 @@ public class Event {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public RecurrenceFrequency getRecurrenceFrequency() {
+        return recurrenceFrequency;
+    }
+
+    public void setRecurrenceFrequency(RecurrenceFrequency recurrenceFrequency) {
+        this.recurrenceFrequency = recurrenceFrequency;
+    }
+
+    public Integer getRecurrenceInterval() {
+        return recurrenceInterval;
+    }
+
+    public void setRecurrenceInterval(Integer recurrenceInterval) {
+        this.recurrenceInterval = recurrenceInterval;
+    }
+
+    public LocalDateTime getRecurrenceUntil() {
+        return recurrenceUntil;
+    }
+
+    public void setRecurrenceUntil(LocalDateTime recurrenceUntil) {
+        this.recurrenceUntil = recurrenceUntil;
+    }
+
+    public Integer getRecurrenceCount() {
+        return recurrenceCount;
+    }
+
+    public void setRecurrenceCount(Integer recurrenceCount) {
+        this.recurrenceCount = recurrenceCount;
+    }
+
+    public List<LocalDateTime> getRecurrenceExceptions() {
+        return recurrenceExceptions;
+    }
+
+    public void setRecurrenceExceptions(List<LocalDateTime> recurrenceExceptions) {
+        this.recurrenceExceptions = recurrenceExceptions;
+    }
+
+    public LocalDateTime getSeriesEndsAt() {
+        return seriesEndsAt;
+    }
+
+    public void setSeriesEndsAt(LocalDateTime seriesEndsAt) {
+        this.seriesEndsAt = seriesEndsAt;
+    }
+
+    // RRULE FREQ values supported for recurring events
+    public enum RecurrenceFrequency {
+        DAILY,
+        WEEKLY,
+        MONTHLY,
+        YEARLY
+    }
 }
@@ -3,11 +3,22 @@ package com.nmemarcoding.evonto.model;
 import jakarta.persistence.*;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
 
 @Entity
-@Table(name = "invitations")
+@Table(name = "invitations", uniqueConstraints = {
+        @UniqueConstraint(name = Invitation.UNIQUE_GUEST, columnNames = {"event_id", "guest_key"})
+}, indexes = {
+        @Index(name = "idx_invitations_guest_email_normalized", columnList = "guest_email_normalized, invitation_id"),
+        @Index(name = "idx_invitations_event_status", columnList = "event_id, rsvp_status")
+})
 public class Invitation {
 
+    public static final String UNIQUE_GUEST = "uk_invitations_event_guest";
+
+    private static final DateTimeFormatter OCCURRENCE_KEY = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "invitation_id")
@@ -26,8 +37,28 @@ public class Invitation {
     @Column(name = "guest_phone")
     private String guestPhone;
 
+    // Trimmed, lower-cased guestEmail; maintained on every write and used for
+    // the guest's inbox lookup
+    @Column(name = "guest_email_normalized")
+    private String guestEmailNormalized;
+
+    // Who this invitation is for, unique per event: the normalized email plus the
+    // occurrence if any. Null for guests without an email, who are never treated
+    // as duplicates: two guests may share a name. Maintained on every write like
+    // guestEmailNormalized.
+    @Column(name = "guest_key", length = 320)
+    private String guestKey;
+
+    // For a recurring event: the single occurrence this invitation is for,
+    // or null when the guest is invited to the whole series
+    @Column(name = "occurrence_start")
+    private LocalDateTime occurrenceStart;
+
+    // VARCHAR, not a native MySQL ENUM: ddl-auto=update never alters an ENUM
+    // column, so a new status would fail to insert. InvitationStatusColumnUpgrade
+    // converts columns created as ENUM.
     @Enumerated(EnumType.STRING)
-    @Column(name = "rsvp_status", nullable = false)
+    @Column(name = "rsvp_status", nullable = false, columnDefinition = "VARCHAR(16)")
     private RSVPStatus rsvpStatus = RSVPStatus.NO_RESPONSE;
 
     @Column(name = "invitation_sent_at", nullable = false)
@@ -36,6 +67,12 @@ public class Invitation {
     @Column(name = "responded_at")
     private LocalDateTime respondedAt;
 
+    // Bumped on every update; also keys the cached JSON for this invitation.
+    // Optimistic lock: saving a stale copy fails instead of overwriting newer data.
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     // Constructors
     public Invitation() {}
 
@@ -48,6 +85,29 @@ public class Invitation {
         this.invitationSentAt = LocalDateTime.now();
     }
 
+    public static String normalizeEmail(String email) {
+        if (email == null || email.isBlank()) {
+            return null;
+        }
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Must match InvitationRepository.backfillGuestKeys
+    public static String guestKey(String guestEmail, LocalDateTime occurrenceStart) {
+        String guest = normalizeEmail(guestEmail);
+        if (guest == null) {
+            return null;
+        }
+        return occurrenceStart != null ? guest + "#" + OCCURRENCE_KEY.format(occurrenceStart) : guest;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void normalizeGuestEmail() {
+        this.guestEmailNormalized = normalizeEmail(guestEmail);
+        this.guestKey = guestKey(guestEmail, occurrenceStart);
+    }
+
     // Getters and setters
     public Long getInvitationId() {
         return invitationId;
@@ -89,6 +149,22 @@ public class Invitation {
         this.guestPhone = guestPhone;
     }
 
+    public String getGuestEmailNormalized() {
+        return guestEmailNormalized;
+    }
+
+    public String getGuestKey() {
+        return guestKey;
+    }
+
+    public LocalDateTime getOccurrenceStart() {
+        return occurrenceStart;
+    }
+
+    public void setOccurrenceStart(LocalDateTime occurrenceStart) {
+        this.occurrenceStart = occurrenceStart;
+    }
+
     public RSVPStatus getRsvpStatus() {
         return rsvpStatus;
     }
@@ -113,11 +189,21 @@ public class Invitation {
         this.respondedAt = respondedAt;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     // Embedded Enum for RSVP status
     public enum RSVPStatus {
         YES,
         NO,
         MAYBE,
-        NO_RESPONSE
+        NO_RESPONSE,
+        // Said YES to a full event; promoted to YES in response order when a seat frees up
+        WAITLISTED
     }
 }
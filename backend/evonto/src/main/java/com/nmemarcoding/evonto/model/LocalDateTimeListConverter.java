@@ -0,0 +1,31 @@
+package com.nmemarcoding.evonto.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// Stores a short list of date-times as one comma-separated ISO-8601 column
+@Converter
+public class LocalDateTimeListConverter implements AttributeConverter<List<LocalDateTime>, String> {
+
+    @Override
+    public String convertToDatabaseColumn(List<LocalDateTime> values) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        return values.stream().map(LocalDateTime::toString).collect(Collectors.joining(","));
+    }
+
+    @Override
+    public List<LocalDateTime> convertToEntityAttribute(String column) {
+        if (column == null || column.isBlank()) {
+            return new ArrayList<>();
+        }
+        return Arrays.stream(column.split(",")).map(LocalDateTime::parse).collect(Collectors.toCollection(ArrayList::new));
+    }
+}
@@ -0,0 +1,97 @@
+package com.nmemarcoding.evonto.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+// A pending reminder for one occurrence of an event, lives on the event's shard.
+// Deleted once sent; for a recurring event the next occurrence's reminder is
+// inserted at the same time.
+@Entity
+@Table(name = "reminders", indexes = {
+        @Index(name = "idx_reminders_due_at", columnList = "due_at"),
+        @Index(name = "idx_reminders_event_id", columnList = "event_id"),
+        @Index(name = "idx_reminders_created_at", columnList = "created_at")
+})
+public class Reminder {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(name = "occurrence_start", nullable = false)
+    private LocalDateTime occurrenceStart;
+
+    // How long before the occurrence this reminder goes out
+    @Column(name = "offset_minutes", nullable = false)
+    private long offsetMinutes;
+
+    @Column(name = "due_at", nullable = false)
+    private LocalDateTime dueAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    // Constructors
+    public Reminder() {}
+
+    public Reminder(Long eventId, LocalDateTime occurrenceStart, long offsetMinutes) {
+        this.eventId = eventId;
+        this.occurrenceStart = occurrenceStart;
+        this.offsetMinutes = offsetMinutes;
+        this.dueAt = occurrenceStart.minusMinutes(offsetMinutes);
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public LocalDateTime getOccurrenceStart() {
+        return occurrenceStart;
+    }
+
+    public void setOccurrenceStart(LocalDateTime occurrenceStart) {
+        this.occurrenceStart = occurrenceStart;
+    }
+
+    public long getOffsetMinutes() {
+        return offsetMinutes;
+    }
+
+    public void setOffsetMinutes(long offsetMinutes) {
+        this.offsetMinutes = offsetMinutes;
+    }
+
+    public LocalDateTime getDueAt() {
+        return dueAt;
+    }
+
+    public void setDueAt(LocalDateTime dueAt) {
+        this.dueAt = dueAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
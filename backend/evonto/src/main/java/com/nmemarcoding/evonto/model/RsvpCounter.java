@@ -0,0 +1,110 @@
+package com.nmemarcoding.evonto.model;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import jakarta.persistence.*;
+
+// One cell of an event's RSVP analytics, lives on the event's shard. Cells are
+// only ever incremented (see RsvpRecorder) and can be rebuilt from invitations.
+@Entity
+@Table(name = "rsvp_counters")
+@IdClass(RsvpCounter.Key.class)
+public class RsvpCounter {
+
+    // What the bucket means per metric:
+    //   STATUS        - RSVPStatus ordinal, guests currently in that status
+    //   SENT_DAY      - epoch day, invitations sent that day
+    //   RESPONSE_DAY  - epoch day, guests whose latest answer came that day
+    //   RESPONSE_TIME - RsvpHistogram bucket of seconds from sending to answer
+    public enum Metric {
+        STATUS,
+        SENT_DAY,
+        RESPONSE_DAY,
+        RESPONSE_TIME
+    }
+
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private Metric metric;
+
+    @Id
+    private long bucket;
+
+    @Column(nullable = false)
+    private long total;
+
+    // Constructors
+    public RsvpCounter() {}
+
+    public RsvpCounter(Long eventId, Metric metric, long bucket, long total) {
+        this.eventId = eventId;
+        this.metric = metric;
+        this.bucket = bucket;
+        this.total = total;
+    }
+
+    // Getters and setters
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public Metric getMetric() {
+        return metric;
+    }
+
+    public void setMetric(Metric metric) {
+        this.metric = metric;
+    }
+
+    public long getBucket() {
+        return bucket;
+    }
+
+    public void setBucket(long bucket) {
+        this.bucket = bucket;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public static class Key implements Serializable {
+
+        private Long eventId;
+        private Metric metric;
+        private long bucket;
+
+        public Key() {}
+
+        public Key(Long eventId, Metric metric, long bucket) {
+            this.eventId = eventId;
+            this.metric = metric;
+            this.bucket = bucket;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key && bucket == key.bucket
+                    && Objects.equals(eventId, key.eventId) && metric == key.metric;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(eventId, metric, bucket);
+        }
+    }
+}
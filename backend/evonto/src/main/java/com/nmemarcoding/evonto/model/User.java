@@ -36,6 +36,11 @@ public class User {
     @Column(nullable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    // Secret in the calendar feed URL; null until the user first asks for it
+    @JsonIgnore
+    @Column(name = "calendar_token", unique = true, length = 64)
+    private String calendarToken;
+
     // Constructors
     public User() {}
 
@@ -72,6 +77,9 @@ public class User {
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
+    public String getCalendarToken() { return calendarToken; }
+    public void setCalendarToken(String calendarToken) { this.calendarToken = calendarToken; }
+
    
 
 }
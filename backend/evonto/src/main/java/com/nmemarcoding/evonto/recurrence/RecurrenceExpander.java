@@ -0,0 +1,157 @@
+package com.nmemarcoding.evonto.recurrence;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import com.nmemarcoding.evonto.model.Event;
+import com.nmemarcoding.evonto.model.Event.RecurrenceFrequency;
+
+// Expands an event's recurrence rule into occurrences on demand; nothing is
+// materialized. startDateTime/endDateTime of the event are the first occurrence.
+// Expansion jumps straight to the first occurrence near the window, so the work
+// is proportional to the window and not to how long the series has run.
+//
+// Follows RFC 5545 where it matters: a monthly rule on the 31st skips shorter
+// months (yearly on Feb 29 skips non-leap years), UNTIL is inclusive, and
+// exception dates remove occurrences without affecting COUNT.
+public final class RecurrenceExpander {
+
+    public record Occurrence(Event event, LocalDateTime start, LocalDateTime end) {}
+
+    public static final int MAX_COUNT = 1000;
+
+    private RecurrenceExpander() {}
+
+    public static void validate(Event event) {
+        if (event.getRecurrenceFrequency() == null) {
+            return;
+        }
+        if (event.getRecurrenceInterval() != null && event.getRecurrenceInterval() < 1) {
+            throw new IllegalArgumentException("Recurrence interval must be at least 1");
+        }
+        if (event.getRecurrenceUntil() != null && event.getRecurrenceCount() != null) {
+            throw new IllegalArgumentException("Use either recurrence until or count, not both");
+        }
+        if (event.getRecurrenceCount() != null && (event.getRecurrenceCount() < 1 || event.getRecurrenceCount() > MAX_COUNT)) {
+            throw new IllegalArgumentException("Recurrence count must be between 1 and " + MAX_COUNT);
+        }
+        if (event.getRecurrenceUntil() != null && event.getRecurrenceUntil().isBefore(event.getStartDateTime())) {
+            throw new IllegalArgumentException("Recurrence until is before the first occurrence");
+        }
+    }
+
+    // Upper bound for the end of the last occurrence, or null when the series never ends
+    public static LocalDateTime seriesEnd(Event event) {
+        if (event.getRecurrenceFrequency() == null) {
+            return event.getEndDateTime();
+        }
+        LocalDateTime lastStart = countLastStart(event);
+        return lastStart != null ? lastStart.plus(length(event)) : null;
+    }
+
+    // Occurrences overlapping [from, to), in start order
+    public static Stream<Occurrence> occurrences(Event event, LocalDateTime from, LocalDateTime to) {
+        Duration length = length(event);
+        return starts(event, from.minus(length), to)
+                .filter(start -> start.plus(length).isAfter(from) || start.equals(from))
+                .map(start -> new Occurrence(event, start, start.plus(length)));
+    }
+
+    public static boolean isOccurrence(Event event, LocalDateTime start) {
+        return starts(event, start, start.plusNanos(1)).anyMatch(start::equals);
+    }
+
+    // Valid, non-excluded occurrence starts in [lowerBound, to)
+    private static Stream<LocalDateTime> starts(Event event, LocalDateTime lowerBound, LocalDateTime to) {
+        LocalDateTime first = event.getStartDateTime();
+        if (event.getRecurrenceFrequency() == null) {
+            return !first.isBefore(lowerBound) && first.isBefore(to) ? Stream.of(first) : Stream.empty();
+        }
+        LocalDateTime lastStart = lastStart(event);
+        Set<LocalDateTime> exceptions = event.getRecurrenceExceptions() != null
+                ? new HashSet<>(event.getRecurrenceExceptions()) : Set.of();
+
+        return Stream.iterate(firstIndexNear(event, lowerBound), k -> k + 1)
+                .map(k -> nominalStart(event, k))
+                .takeWhile(start -> start.isBefore(to) && (lastStart == null || !start.isAfter(lastStart)))
+                .filter(start -> !start.isBefore(lowerBound))
+                .filter(start -> isOnRule(event, start))
+                .filter(start -> !exceptions.contains(start));
+    }
+
+    // Start of the last occurrence allowed by UNTIL or COUNT; null if unbounded.
+    // A COUNT series is read back from the persisted series end rather than
+    // counted from the first occurrence on every expansion.
+    private static LocalDateTime lastStart(Event event) {
+        if (event.getRecurrenceCount() != null && event.getSeriesEndsAt() != null) {
+            return event.getSeriesEndsAt().minus(length(event));
+        }
+        return countLastStart(event);
+    }
+
+    // Walks COUNT from the first occurrence; for seriesEnd() and legacy rows
+    // without series_ends_at
+    private static LocalDateTime countLastStart(Event event) {
+        if (event.getRecurrenceUntil() != null) {
+            return event.getRecurrenceUntil();
+        }
+        if (event.getRecurrenceCount() == null) {
+            return null;
+        }
+        int remaining = event.getRecurrenceCount();
+        for (long k = 0; ; k++) {
+            LocalDateTime start = nominalStart(event, k);
+            if (isOnRule(event, start) && --remaining == 0) {
+                return start;
+            }
+        }
+    }
+
+    // An index at or just before the first occurrence that can reach the bound
+    private static long firstIndexNear(Event event, LocalDateTime bound) {
+        LocalDateTime first = event.getStartDateTime();
+        if (!bound.isAfter(first)) {
+            return 0;
+        }
+        long units = switch (event.getRecurrenceFrequency()) {
+            case DAILY -> ChronoUnit.DAYS.between(first, bound);
+            case WEEKLY -> ChronoUnit.WEEKS.between(first, bound);
+            case MONTHLY -> ChronoUnit.MONTHS.between(first, bound);
+            case YEARLY -> ChronoUnit.YEARS.between(first, bound);
+        };
+        return Math.max(0, units / interval(event) - 1);
+    }
+
+    // k-th step from the first occurrence; plusMonths/plusYears clamp to month end,
+    // which isOnRule() then rejects
+    private static LocalDateTime nominalStart(Event event, long k) {
+        LocalDateTime first = event.getStartDateTime();
+        long steps = k * interval(event);
+        return switch (event.getRecurrenceFrequency()) {
+            case DAILY -> first.plusDays(steps);
+            case WEEKLY -> first.plusWeeks(steps);
+            case MONTHLY -> first.plusMonths(steps);
+            case YEARLY -> first.plusYears(steps);
+        };
+    }
+
+    private static boolean isOnRule(Event event, LocalDateTime start) {
+        RecurrenceFrequency frequency = event.getRecurrenceFrequency();
+        if (frequency == RecurrenceFrequency.MONTHLY || frequency == RecurrenceFrequency.YEARLY) {
+            return start.getDayOfMonth() == event.getStartDateTime().getDayOfMonth();
+        }
+        return true;
+    }
+
+    private static int interval(Event event) {
+        return event.getRecurrenceInterval() != null ? event.getRecurrenceInterval() : 1;
+    }
+
+    private static Duration length(Event event) {
+        return Duration.between(event.getStartDateTime(), event.getEndDateTime());
+    }
+}
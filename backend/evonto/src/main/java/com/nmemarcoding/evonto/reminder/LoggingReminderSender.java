@@ -0,0 +1,21 @@
+package com.nmemarcoding.evonto.reminder;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Default sender until a mail/SMS/push integration is configured
+class LoggingReminderSender implements ReminderSender {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingReminderSender.class);
+
+    @Override
+    public void send(List<ReminderNotice> notices) {
+        for (ReminderNotice notice : notices) {
+            log.info("Reminder {}: event {} '{}' starts {} ({} before), host {}, {} guests",
+                    notice.reminderId(), notice.eventId(), notice.title(), notice.occurrenceStart(),
+                    notice.before(), notice.host().email(), notice.guests().size());
+        }
+    }
+}
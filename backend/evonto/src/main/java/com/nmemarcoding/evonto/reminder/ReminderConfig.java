@@ -0,0 +1,15 @@
+package com.nmemarcoding.evonto.reminder;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ReminderConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(ReminderSender.class)
+    public ReminderSender reminderSender() {
+        return new LoggingReminderSender();
+    }
+}
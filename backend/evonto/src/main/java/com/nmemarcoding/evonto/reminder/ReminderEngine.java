@@ -0,0 +1,311 @@
+package com.nmemarcoding.evonto.reminder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.nmemarcoding.evonto.model.Event;
+import com.nmemarcoding.evonto.model.Invitation;
+import com.nmemarcoding.evonto.model.Invitation.RSVPStatus;
+import com.nmemarcoding.evonto.model.Reminder;
+import com.nmemarcoding.evonto.model.User;
+import com.nmemarcoding.evonto.reminder.ReminderNotice.Recipient;
+import com.nmemarcoding.evonto.repository.EventRepository;
+import com.nmemarcoding.evonto.repository.InvitationRepository;
+import com.nmemarcoding.evonto.repository.ReminderRepository;
+import com.nmemarcoding.evonto.service.ReminderService;
+import com.nmemarcoding.evonto.shard.ShardDirectory;
+import com.nmemarcoding.evonto.shard.ShardRouter;
+
+// Sends reminders when they come due. The reminders table is the source of
+// truth; the timing wheel only holds the rows due within the next
+// reminders.horizon-hours, so a tick costs O(reminders due in it) however many
+// are pending overall. The window is loaded on startup (overdue rows included)
+// and extended as time passes; rows inserted meanwhile, on any instance, are
+// picked up by polling new ids. An overdue reminder is still sent if its
+// occurrence has not started; otherwise it is dropped (after downtime, say) and
+// a recurring event's reminder moves on to the next occurrence.
+//
+// Deleted or rescheduled events need no wheel bookkeeping: a due entry is
+// checked against its row before sending, so a removed row is skipped and a
+// moved one goes back into the wheel. Rows are deleted after the sender
+// returns, in the same transaction, so delivery is at least once.
+//
+// Only one instance should run the engine, so it is off unless
+// reminders.enabled is set on that instance.
+@Component
+public class ReminderEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(ReminderEngine.class);
+
+    private static final int LOAD_PAGE = 10_000;
+    private static final long RESYNC_WINDOW_MS = 60_000;
+
+    private record Due(long reminderId, long eventId) {}
+
+    private final ReminderRepository reminderRepository;
+    private final EventRepository eventRepository;
+    private final InvitationRepository invitationRepository;
+    private final ReminderService reminderService;
+    private final ReminderSender sender;
+    private final ShardRouter shardRouter;
+    private final ShardDirectory directory;
+    private final TransactionTemplate transaction;
+
+    private final boolean enabled;
+    private final long tickMs;
+    private final long horizonMs;
+    private final long pollIntervalMs;
+    private final int batchSize;
+    private final long retryDelayMs;
+
+    private final TimingWheel<Due> wheel;
+    // Rows currently in the wheel, so overlapping loads do not add a row twice.
+    // Reminder ids are per shard; with the event id they are unique.
+    private final Set<Due> scheduled = new HashSet<>();
+    private final Map<String, Long> lastSeenIds = new HashMap<>();
+    private long loadedUntil;
+    private long nextPollAt;
+    private boolean recovered;
+
+    public ReminderEngine(ReminderRepository reminderRepository, EventRepository eventRepository,
+                          InvitationRepository invitationRepository, ReminderService reminderService,
+                          ReminderSender sender, ShardRouter shardRouter, ShardDirectory directory,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${reminders.enabled:false}") boolean enabled,
+                          @Value("${reminders.tick-ms:1000}") long tickMs,
+                          @Value("${reminders.horizon-hours:6}") long horizonHours,
+                          @Value("${reminders.poll-interval-ms:5000}") long pollIntervalMs,
+                          @Value("${reminders.batch-size:500}") int batchSize,
+                          @Value("${reminders.retry-delay-ms:60000}") long retryDelayMs) {
+        this.reminderRepository = reminderRepository;
+        this.eventRepository = eventRepository;
+        this.invitationRepository = invitationRepository;
+        this.reminderService = reminderService;
+        this.sender = sender;
+        this.shardRouter = shardRouter;
+        this.directory = directory;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.tickMs = tickMs;
+        this.horizonMs = horizonHours * 3_600_000;
+        this.pollIntervalMs = pollIntervalMs;
+        this.batchSize = batchSize;
+        this.retryDelayMs = retryDelayMs;
+        this.wheel = new TimingWheel<>(tickMs, System.currentTimeMillis());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void recover() {
+        if (!enabled || recovered) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        nextPollAt = now + pollIntervalMs;
+        try {
+            shardRouter.onEachShard(shard -> {
+                Long maxId = reminderRepository.findMaxId();
+                lastSeenIds.put(shard, maxId != null ? maxId : 0L);
+                load(LocalDateTime.of(1970, 1, 1, 0, 0), local(now + horizonMs));
+            });
+        } catch (Exception e) {
+            log.warn("Loading reminders failed, retrying: {}", e.getMessage());
+            return;
+        }
+        loadedUntil = now + horizonMs;
+        recovered = true;
+        log.info("Reminder engine started with {} reminders due in the next {} h", wheel.size(), horizonMs / 3_600_000);
+    }
+
+    // Polling and window loads run on this thread too, so they never race each other
+    @Scheduled(fixedDelayString = "${reminders.tick-ms:1000}")
+    public synchronized void tick() {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (!recovered) {
+            if (now >= nextPollAt) {
+                recover();
+            }
+            return;
+        }
+        try {
+            if (now >= nextPollAt) {
+                pollNew(now);
+                nextPollAt = now + pollIntervalMs;
+            }
+            // Top up the window once it has shrunk by a poll interval
+            if (now + horizonMs - loadedUntil >= pollIntervalMs) {
+                long until = now + horizonMs;
+                shardRouter.onEachShard(shard -> load(local(loadedUntil), local(until)));
+                loadedUntil = until;
+            }
+        } catch (Exception e) {
+            log.warn("Loading reminders failed: {}", e.getMessage());
+        }
+
+        List<Due> due = new ArrayList<>();
+        wheel.advance(now, due::add);
+        for (Due entry : due) {
+            scheduled.remove(entry);
+        }
+        for (int from = 0; from < due.size(); from += batchSize) {
+            dispatch(due.subList(from, Math.min(from + batchSize, due.size())));
+        }
+    }
+
+    private void load(LocalDateTime from, LocalDateTime to) {
+        long after = 0;
+        List<Reminder> page;
+        do {
+            page = reminderRepository.findDueBetween(from, to, after, Limit.of(LOAD_PAGE));
+            page.forEach(this::schedule);
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == LOAD_PAGE);
+    }
+
+    private void pollNew(long now) {
+        shardRouter.onEachShard(shard -> {
+            long lastSeen = lastSeenIds.getOrDefault(shard, 0L);
+            long cursor = 0;
+            List<Reminder> page;
+            do {
+                page = reminderRepository.findCreatedSince(lastSeenIds.getOrDefault(shard, 0L),
+                        local(now - RESYNC_WINDOW_MS), cursor, Limit.of(LOAD_PAGE));
+                for (Reminder row : page) {
+                    lastSeen = Math.max(lastSeen, row.getId());
+                    cursor = row.getId();
+                    // Later rows arrive with the window
+                    if (millis(row.getDueAt()) < loadedUntil) {
+                        schedule(row);
+                    }
+                }
+            } while (page.size() == LOAD_PAGE);
+            lastSeenIds.put(shard, lastSeen);
+        });
+    }
+
+    private void schedule(Reminder row) {
+        Due entry = new Due(row.getId(), row.getEventId());
+        if (scheduled.add(entry)) {
+            wheel.add(millis(row.getDueAt()), entry);
+        }
+    }
+
+    // Each shard's part of the batch is read, sent and deleted in one transaction
+    private void dispatch(List<Due> batch) {
+        Map<String, List<Due>> byShard = new LinkedHashMap<>();
+        for (Due entry : batch) {
+            byShard.computeIfAbsent(directory.shardOfEvent(entry.eventId()), shard -> new ArrayList<>()).add(entry);
+        }
+        byShard.forEach((shard, entries) -> {
+            try {
+                shardRouter.on(shard, () -> transaction.execute(status -> sendDue(entries)));
+            } catch (Exception e) {
+                log.warn("Sending {} reminders failed, retrying in {} ms: {}", entries.size(), retryDelayMs, e.getMessage());
+                long retryAt = System.currentTimeMillis() + retryDelayMs;
+                for (Due entry : entries) {
+                    if (scheduled.add(entry)) {
+                        wheel.add(retryAt, entry);
+                    }
+                }
+            }
+        });
+    }
+
+    private Void sendDue(List<Due> entries) {
+        List<Reminder> rows = reminderRepository.findAllById(entries.stream().map(Due::reminderId).distinct().toList());
+        long now = System.currentTimeMillis();
+        long cutoff = now + tickMs;
+        List<Reminder> due = new ArrayList<>();
+        for (Reminder row : rows) {
+            if (millis(row.getDueAt()) > cutoff) {
+                // Rescheduled to later since it was loaded
+                if (millis(row.getDueAt()) < loadedUntil) {
+                    schedule(row);
+                }
+            } else {
+                due.add(row);
+            }
+        }
+        if (due.isEmpty()) {
+            return null;
+        }
+
+        List<Long> eventIds = due.stream().map(Reminder::getEventId).distinct().toList();
+        Map<Long, Event> events = eventRepository.findWithCreatorByIdIn(eventIds).stream()
+                .collect(Collectors.toMap(Event::getEventId, Function.identity()));
+        Map<Long, List<Invitation>> guests = events.isEmpty() ? Map.of() : invitationRepository.findByEventIds(events.keySet()).stream()
+                .filter(invitation -> invitation.getRsvpStatus() != RSVPStatus.NO)
+                .collect(Collectors.groupingBy(invitation -> invitation.getEvent().getEventId()));
+
+        // Rows of deleted events, and rows whose occurrence has already started,
+        // are dropped without sending
+        List<ReminderNotice> notices = due.stream()
+                .filter(row -> events.containsKey(row.getEventId()))
+                .filter(row -> millis(row.getOccurrenceStart()) > now)
+                .map(row -> notice(row, events.get(row.getEventId()), guests.getOrDefault(row.getEventId(), List.of())))
+                .toList();
+        if (!notices.isEmpty()) {
+            try {
+                sender.send(notices);
+            } catch (Exception e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+
+        reminderRepository.deleteAllByIdInBatch(due.stream().map(Reminder::getId).toList());
+        reminderRepository.saveAll(due.stream()
+                .filter(row -> events.containsKey(row.getEventId()))
+                .map(row -> reminderService.nextAfter(events.get(row.getEventId()), row))
+                .flatMap(Optional::stream)
+                .toList());
+        return null;
+    }
+
+    private static ReminderNotice notice(Reminder row, Event event, List<Invitation> invitations) {
+        User owner = event.getCreatedBy();
+        List<Recipient> guests = invitations.stream()
+                .filter(invitation -> invitation.getOccurrenceStart() == null
+                        || Objects.equals(invitation.getOccurrenceStart(), row.getOccurrenceStart()))
+                .map(invitation -> new Recipient(invitation.getGuestName(), invitation.getGuestEmail(), invitation.getGuestPhone()))
+                .toList();
+        return new ReminderNotice(row.getId(), event.getEventId(), event.getTitle(), event.getLocation(),
+                row.getOccurrenceStart(), Duration.ofMinutes(row.getOffsetMinutes()),
+                new Recipient(owner.getUsername(), owner.getEmail(), null), guests);
+    }
+
+    private static LocalDateTime local(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    private static long millis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,14 @@
+package com.nmemarcoding.evonto.reminder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// One due reminder with everyone it goes to: the host and the guests who have
+// not declined (for an occurrence, guests of the series and of that occurrence)
+public record ReminderNotice(Long reminderId, Long eventId, String title, String location,
+                             LocalDateTime occurrenceStart, Duration before,
+                             Recipient host, List<Recipient> guests) {
+
+    public record Recipient(String name, String email, String phone) {}
+}
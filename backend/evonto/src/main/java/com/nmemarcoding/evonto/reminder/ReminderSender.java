@@ -0,0 +1,12 @@
+package com.nmemarcoding.evonto.reminder;
+
+import java.util.List;
+
+// Delivers due reminders; declare a bean of this type to replace the default
+// LoggingReminderSender. Called with up to reminders.batch-size notices at a
+// time. Throwing fails the whole batch, which is retried after
+// reminders.retry-delay-ms, so delivery is at least once.
+public interface ReminderSender {
+
+    void send(List<ReminderNotice> notices) throws Exception;
+}
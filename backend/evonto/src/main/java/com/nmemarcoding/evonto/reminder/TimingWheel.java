@@ -0,0 +1,110 @@
+package com.nmemarcoding.evonto.reminder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Hierarchical timing wheel (Varghese & Lauck): LEVELS wheels of 64 slots, each
+// slot of level n spanning 64^n ticks. A timer sits in the coarsest level its
+// delay needs and moves one level down when that slot comes up, so adding is
+// O(1) and advancing one tick touches only the timers due in it plus the ones
+// cascading. With 1 s ticks four levels reach about 194 days; anything further
+// waits in an overflow list that is re-sorted at each top-level turn.
+// Not thread-safe.
+final class TimingWheel<T> {
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int LEVELS = 4;
+
+    private record Timer<T>(long tick, T value) {}
+
+    private final long tickMs;
+    private final List<List<Timer<T>>> slots = new ArrayList<>(LEVELS * SLOTS);
+    private List<Timer<T>> overflow = new ArrayList<>();
+    private List<Timer<T>> overdue = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    TimingWheel(long tickMs, long nowMs) {
+        this.tickMs = tickMs;
+        this.currentTick = Math.floorDiv(nowMs, tickMs);
+        for (int i = 0; i < LEVELS * SLOTS; i++) {
+            slots.add(new ArrayList<>());
+        }
+    }
+
+    // Fires on the first tick at or after deadlineMs, never early
+    void add(long deadlineMs, T value) {
+        place(new Timer<>(Math.floorDiv(deadlineMs + tickMs - 1, tickMs), value));
+        size++;
+    }
+
+    // Moves time forward to nowMs and hands every timer that came due to expired
+    void advance(long nowMs, Consumer<T> expired) {
+        long target = Math.floorDiv(nowMs, tickMs);
+        expire(takeOverdue(), expired);
+        while (currentTick < target) {
+            currentTick++;
+            cascade();
+            expire(take(0, (int) (currentTick & (SLOTS - 1))), expired);
+            expire(takeOverdue(), expired);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void place(Timer<T> timer) {
+        long delay = timer.tick() - currentTick;
+        if (delay <= 0) {
+            overdue.add(timer);
+            return;
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            if (delay < 1L << (BITS * (level + 1))) {
+                slots.get(level * SLOTS + (int) ((timer.tick() >>> (BITS * level)) & (SLOTS - 1))).add(timer);
+                return;
+            }
+        }
+        overflow.add(timer);
+    }
+
+    // At the start of each level-n slot period, spread that slot over the levels below
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            if ((currentTick & ((1L << (BITS * level)) - 1)) != 0) {
+                return;
+            }
+            take(level, (int) ((currentTick >>> (BITS * level)) & (SLOTS - 1))).forEach(this::place);
+        }
+        List<Timer<T>> far = overflow;
+        overflow = new ArrayList<>();
+        far.forEach(this::place);
+    }
+
+    private List<Timer<T>> take(int level, int slot) {
+        int index = level * SLOTS + slot;
+        List<Timer<T>> timers = slots.get(index);
+        if (!timers.isEmpty()) {
+            slots.set(index, new ArrayList<>());
+        }
+        return timers;
+    }
+
+    private List<Timer<T>> takeOverdue() {
+        List<Timer<T>> timers = overdue;
+        if (!timers.isEmpty()) {
+            overdue = new ArrayList<>();
+        }
+        return timers;
+    }
+
+    private void expire(List<Timer<T>> timers, Consumer<T> expired) {
+        size -= timers.size();
+        for (Timer<T> timer : timers) {
+            expired.accept(timer.value());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.nmemarcoding.evonto.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.nmemarcoding.evonto.model.ArchivedEvent;
+
+@Repository
+public interface ArchivedEventRepository extends JpaRepository<ArchivedEvent, Long> {
+
+    List<ArchivedEvent> findByCreatedByIdOrderByStartDateTimeDesc(Long createdById);
+
+    // Live events whose last occurrence ended before the cutoff and whose
+    // invitations have all been archived already, oldest first.
+    // Series that repeat forever (series_ends_at null) are never archived.
+    @Query(value = "SELECT event_id FROM events e WHERE deleted_at IS NULL AND " +
+                   "((recurrence_frequency IS NULL AND end_date_time < :cutoff) OR series_ends_at < :cutoff) " +
+                   "AND NOT EXISTS (SELECT 1 FROM invitations i WHERE i.event_id = e.event_id) " +
+                   "ORDER BY end_date_time LIMIT :limit", nativeQuery = true)
+    List<Long> findArchivableEventIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "INSERT INTO events_archive (event_id, title, description, start_date_time, end_date_time, " +
+                   "location, capacity, created_by, created_at, recurrence_frequency, recurrence_interval, " +
+                   "recurrence_until, recurrence_count, recurrence_exceptions, series_ends_at, archived_at) " +
+                   "SELECT event_id, title, description, start_date_time, end_date_time, location, capacity, " +
+                   "created_by, created_at, recurrence_frequency, recurrence_interval, recurrence_until, " +
+                   "recurrence_count, recurrence_exceptions, series_ends_at, :now " +
+                   "FROM events WHERE event_id IN (:eventIds)", nativeQuery = true)
+    int copyFromLive(@Param("eventIds") List<Long> eventIds, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "DELETE FROM events WHERE event_id IN (:eventIds)", nativeQuery = true)
+    int deleteFromLive(@Param("eventIds") List<Long> eventIds);
+}
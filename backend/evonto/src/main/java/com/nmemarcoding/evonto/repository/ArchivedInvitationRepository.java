@@ -0,0 +1,40 @@
+package com.nmemarcoding.evonto.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.nmemarcoding.evonto.model.ArchivedInvitation;
+
+@Repository
+public interface ArchivedInvitationRepository extends JpaRepository<ArchivedInvitation, Long> {
+
+    List<ArchivedInvitation> findByEventId(Long eventId);
+
+    // Invitations of events whose last occurrence ended before the cutoff, a few
+    // events at a time (oldest first), so events become empty and movable in order
+    @Query(value = "SELECT i.invitation_id FROM invitations i JOIN events e ON e.event_id = i.event_id " +
+                   "WHERE e.deleted_at IS NULL AND " +
+                   "((e.recurrence_frequency IS NULL AND e.end_date_time < :cutoff) OR e.series_ends_at < :cutoff) " +
+                   "ORDER BY e.end_date_time, i.event_id, i.invitation_id LIMIT :limit", nativeQuery = true)
+    List<Long> findArchivableInvitationIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Query(value = "SELECT DISTINCT event_id FROM invitations WHERE invitation_id IN (:invitationIds)", nativeQuery = true)
+    List<Long> findEventIdsOfLive(@Param("invitationIds") List<Long> invitationIds);
+
+    @Modifying
+    @Query(value = "INSERT INTO invitations_archive (invitation_id, event_id, guest_name, guest_email, guest_phone, " +
+                   "occurrence_start, rsvp_status, invitation_sent_at, responded_at, archived_at) " +
+                   "SELECT invitation_id, event_id, guest_name, guest_email, guest_phone, occurrence_start, rsvp_status, " +
+                   "invitation_sent_at, responded_at, :now FROM invitations WHERE invitation_id IN (:invitationIds)", nativeQuery = true)
+    int copyFromLiveByIds(@Param("invitationIds") List<Long> invitationIds, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "DELETE FROM invitations WHERE invitation_id IN (:invitationIds)", nativeQuery = true)
+    int deleteFromLiveByIds(@Param("invitationIds") List<Long> invitationIds);
+}
@@ -0,0 +1,10 @@
+package com.nmemarcoding.evonto.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.nmemarcoding.evonto.model.ChangeLogHorizon;
+
+@Repository
+public interface ChangeLogHorizonRepository extends JpaRepository<ChangeLogHorizon, Integer> {
+}
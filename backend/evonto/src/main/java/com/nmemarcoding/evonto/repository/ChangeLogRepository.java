@@ -0,0 +1,51 @@
+package com.nmemarcoding.evonto.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.nmemarcoding.evonto.model.ChangeLogEntry;
+
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    // An owner's changes after the cursor, oldest first. Ids commit in
+    // increasing order (ChangeLogSequence), so none can appear below the cursor later.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select c from ChangeLogEntry c where c.ownerId = :ownerId and c.id > :cursor order by c.id")
+    List<ChangeLogEntry> findChanges(@Param("ownerId") Long ownerId, @Param("cursor") long cursor, Limit limit);
+
+    // Ids are reserved from ChangeLogSequence just before commit
+    @Modifying
+    @Query(value = "INSERT INTO change_log (id, owner_id, entity_type, entity_id, operation, changed_at) " +
+                   "VALUES (:id, :ownerId, :entityType, :entityId, :operation, :changedAt)", nativeQuery = true)
+    void insert(@Param("id") long id, @Param("ownerId") Long ownerId, @Param("entityType") String entityType,
+                @Param("entityId") Long entityId, @Param("operation") String operation,
+                @Param("changedAt") LocalDateTime changedAt);
+
+    // Entries with a newer entry for the same entity; dropping them loses nothing
+    @Query(value = "SELECT c.id FROM change_log c WHERE EXISTS (SELECT 1 FROM change_log n " +
+                   "WHERE n.entity_type = c.entity_type AND n.entity_id = c.entity_id AND n.id > c.id) LIMIT :limit",
+           nativeQuery = true)
+    List<Long> findSupersededIds(@Param("limit") int limit);
+
+    @Query("select max(c.id) from ChangeLogEntry c where c.operation = " +
+           "com.nmemarcoding.evonto.model.ChangeLogEntry.Operation.DELETE and c.changedAt < :cutoff")
+    Long findLastTombstoneIdBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM change_log WHERE operation = 'DELETE' AND id <= :through LIMIT :batchSize", nativeQuery = true)
+    int deleteTombstonesThrough(@Param("through") long through, @Param("batchSize") int batchSize);
+}
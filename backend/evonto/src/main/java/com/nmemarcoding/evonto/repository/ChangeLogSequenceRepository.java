@@ -0,0 +1,30 @@
+package com.nmemarcoding.evonto.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.nmemarcoding.evonto.model.ChangeLogSequence;
+
+@Repository
+public interface ChangeLogSequenceRepository extends JpaRepository<ChangeLogSequence, Integer> {
+
+    // Reserves count ids and locks the row until the caller's transaction ends
+    @Modifying
+    @Query("update ChangeLogSequence s set s.lastId = s.lastId + :count where s.id = 1")
+    int reserve(@Param("count") long count);
+
+    // Committed value for other transactions, the reserved one for the transaction holding the lock
+    @Query("select s.lastId from ChangeLogSequence s where s.id = 1")
+    Long findLastId();
+
+    // Created once per shard, continuing from the ids the table had before the sequence existed
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO change_log_sequence (id, last_id) SELECT 1, COALESCE(MAX(id), 0) FROM change_log " +
+                   "WHERE NOT EXISTS (SELECT 1 FROM change_log_sequence WHERE id = 1)", nativeQuery = true)
+    int createIfMissing();
+}
@@ -0,0 +1,16 @@
+package com.nmemarcoding.evonto.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.nmemarcoding.evonto.model.User;
+
+// Event lists narrowed to the fields of ?fields=, named as in EventDto.
+// Unknown names throw IllegalArgumentException.
+public interface EventFieldsRepository {
+
+    List<Map<String, Object>> findFieldsByCreator(User user, Set<String> fields);
+
+    List<Map<String, Object>> findFieldsOfAll(Set<String> fields);
+}
@@ -0,0 +1,48 @@
+package com.nmemarcoding.evonto.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.nmemarcoding.evonto.model.Event;
+import com.nmemarcoding.evonto.model.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.JoinType;
+
+public class EventFieldsRepositoryImpl implements EventFieldsRepository {
+
+    // The users table is joined only when hostUsername is requested
+    private static final FieldProjection<Event> FIELDS = new FieldProjection<>(Event.class)
+            .attribute("eventId")
+            .attribute("title")
+            .attribute("description")
+            .attribute("startDateTime")
+            .attribute("endDateTime")
+            .attribute("location")
+            .attribute("capacity")
+            .column("hostUsername", root -> root.join("createdBy", JoinType.LEFT).get("username"))
+            .attribute("createdAt")
+            .attribute("recurrenceFrequency")
+            .attribute("recurrenceInterval")
+            .attribute("recurrenceUntil")
+            .attribute("recurrenceCount")
+            .attribute("recurrenceExceptions");
+
+    private final EntityManager entityManager;
+
+    public EventFieldsRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Map<String, Object>> findFieldsByCreator(User user, Set<String> fields) {
+        return FIELDS.select(entityManager, fields,
+                (cb, root) -> cb.and(cb.equal(root.get("createdBy"), user), cb.isNull(root.get("deletedAt"))));
+    }
+
+    @Override
+    public List<Map<String, Object>> findFieldsOfAll(Set<String> fields) {
+        return FIELDS.select(entityManager, fields, (cb, root) -> cb.isNull(root.get("deletedAt")));
+    }
+}
@@ -1,18 +1,109 @@
 package com.nmemarcoding.evonto.repository;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.nmemarcoding.evonto.dto.EventVersionDto;
 import com.nmemarcoding.evonto.model.Event;
 import com.nmemarcoding.evonto.model.User;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface EventRepository extends JpaRepository<Event, Long> {
+public interface EventRepository extends JpaRepository<Event, Long>, EventFieldsRepository {
+
+    // Soft-deleted events are hidden from every read below
+
+    Optional<Event> findByEventIdAndDeletedAtIsNull(Long eventId);
+
+    // Batch read: live events among ids with their creators, in one IN query
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select e from Event e join fetch e.createdBy where e.eventId in :ids and e.deletedAt is null")
+    List<Event> findWithCreatorByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Versions of the live events among ids, to tell which cached JSON is still current
+    @Query("select new com.nmemarcoding.evonto.dto.EventVersionDto(e.eventId, e.version) " +
+           "from Event e where e.eventId in :ids and e.deletedAt is null")
+    List<EventVersionDto> findVersionsByIdIn(@Param("ids") Collection<Long> ids);
 
     // Fetch all events created by a specific user
-    List<Event> findByCreatedBy(User user);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Event> findByCreatedByAndDeletedAtIsNull(User user);
+
+    // One page of a user's events, used by the owner dashboard
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Page<Event> findByCreatedByAndDeletedAtIsNull(User user, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Event> findByDeletedAtIsNull();
+
+    // A user's finished events still in the live tier: single events that have
+    // ended and series whose last occurrence has ended, as the archive job decides
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select e from Event e where e.createdBy = :user and e.deletedAt is null and " +
+           "((e.recurrenceFrequency is null and e.endDateTime < :before) or e.seriesEndsAt < :before) " +
+           "order by e.startDateTime desc")
+    List<Event> findFinishedByCreator(@Param("user") User user, @Param("before") LocalDateTime before);
+
+    // A user's events that can have an occurrence in [from, to): single events
+    // overlapping the window and series that started before it ends and have
+    // not finished before it starts (legacy rows have no series_ends_at)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select e from Event e where e.createdBy = :user and e.deletedAt is null and e.startDateTime < :to " +
+           "and (e.seriesEndsAt is null or e.seriesEndsAt > :from) " +
+           "and (e.recurrenceFrequency is not null or e.endDateTime > :from)")
+    List<Event> findInWindow(@Param("user") User user, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Takes one seat if the event has room; returns 1 when admitted, 0 when full.
+    // A single conditional UPDATE, so concurrent admissions can never oversell.
+    @Modifying
+    @Query("update Event e set e.seatsTaken = e.seatsTaken + 1 " +
+           "where e.eventId = :eventId and (e.capacity is null or e.seatsTaken < e.capacity)")
+    int tryTakeSeat(@Param("eventId") Long eventId);
+
+    @Modifying
+    @Query("update Event e set e.seatsTaken = e.seatsTaken - 1 where e.eventId = :eventId and e.seatsTaken > 0")
+    int releaseSeat(@Param("eventId") Long eventId);
+
+    // Row lock for callers that must decide about seats after reading an invitation
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from Event e where e.eventId = :eventId")
+    Optional<Event> lockById(@Param("eventId") Long eventId);
+
+    // Hide the event immediately; invitations and the row itself are purged later
+    @Modifying
+    @Transactional
+    @Query("update Event e set e.deletedAt = :deletedAt, e.version = e.version + 1 where e.eventId = :eventId and e.deletedAt is null")
+    int markDeleted(@Param("eventId") Long eventId, @Param("deletedAt") LocalDateTime deletedAt);
+
+    // Ids of soft-deleted events still waiting for the purge job
+    @Query(value = "SELECT event_id FROM events WHERE deleted_at IS NOT NULL ORDER BY deleted_at LIMIT :limit", nativeQuery = true)
+    List<Long> findDeletedEventIds(@Param("limit") int limit);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM events WHERE event_id = :eventId AND deleted_at IS NOT NULL", nativeQuery = true)
+    int purgeDeletedEvent(@Param("eventId") Long eventId);
+
+    // Live event ids after the given one, in id order, to walk a shard in batches
+    @Query("select e.eventId from Event e where e.eventId > :after and e.deletedAt is null order by e.eventId")
+    List<Long> findLiveIdsAfter(@Param("after") Long after, Limit limit);
 
     // Optional: fetch by title if needed
     List<Event> findByTitleContainingIgnoreCase(String title);
@@ -0,0 +1,70 @@
+package com.nmemarcoding.evonto.repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+// Tuple query whose select list holds only the requested fields, so columns
+// (and joins) nobody asked for never leave the database. Rows come back as
+// maps keyed by the DTO field names, in the requested order.
+final class FieldProjection<T> {
+
+    private final Class<T> entityType;
+    private final Map<String, Function<Root<T>, Expression<?>>> columns = new HashMap<>();
+
+    FieldProjection(Class<T> entityType) {
+        this.entityType = entityType;
+    }
+
+    // A field named like the entity attribute
+    FieldProjection<T> attribute(String name) {
+        return column(name, root -> root.get(name));
+    }
+
+    FieldProjection<T> column(String name, Function<Root<T>, Expression<?>> path) {
+        columns.put(name, path);
+        return this;
+    }
+
+    List<Map<String, Object>> select(EntityManager entityManager, Set<String> fields,
+                                     BiFunction<CriteriaBuilder, Root<T>, Predicate> where) {
+        for (String field : fields) {
+            if (!columns.containsKey(field)) {
+                throw new IllegalArgumentException("Unknown field: " + field);
+            }
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(entityType);
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            selections.add(columns.get(field).apply(root).alias(field));
+        }
+        query.multiselect(selections).where(where.apply(cb, root));
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Tuple tuple : entityManager.createQuery(query).getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String field : fields) {
+                row.put(field, tuple.get(field));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,12 @@
+package com.nmemarcoding.evonto.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Guest lists narrowed to the fields of ?fields=, named as in InvitationDto.
+// Unknown names throw IllegalArgumentException.
+public interface InvitationFieldsRepository {
+
+    List<Map<String, Object>> findFieldsByEvent(Long eventId, Set<String> fields);
+}
@@ -0,0 +1,35 @@
+package com.nmemarcoding.evonto.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.nmemarcoding.evonto.model.Invitation;
+
+import jakarta.persistence.EntityManager;
+
+public class InvitationFieldsRepositoryImpl implements InvitationFieldsRepository {
+
+    // eventId is the foreign key column, no join needed
+    private static final FieldProjection<Invitation> FIELDS = new FieldProjection<>(Invitation.class)
+            .attribute("invitationId")
+            .column("eventId", root -> root.get("event").get("eventId"))
+            .attribute("guestName")
+            .attribute("guestEmail")
+            .attribute("guestPhone")
+            .attribute("occurrenceStart")
+            .attribute("rsvpStatus")
+            .attribute("invitationSentAt")
+            .attribute("respondedAt");
+
+    private final EntityManager entityManager;
+
+    public InvitationFieldsRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Map<String, Object>> findFieldsByEvent(Long eventId, Set<String> fields) {
+        return FIELDS.select(entityManager, fields, (cb, root) -> cb.equal(root.get("event").get("eventId"), eventId));
+    }
+}
@@ -1,23 +1,103 @@
 package com.nmemarcoding.evonto.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.nmemarcoding.evonto.dto.RsvpCountDto;
 import com.nmemarcoding.evonto.model.Event;
 import com.nmemarcoding.evonto.model.Invitation;
+import com.nmemarcoding.evonto.model.Invitation.RSVPStatus;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
-public interface InvitationRepository extends JpaRepository<Invitation, Long> {
+public interface InvitationRepository extends JpaRepository<Invitation, Long>, InvitationFieldsRepository {
 
-    // Find all invitations for an event
+    // Find all invitations for an event (guest lists are never modified through this)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Invitation> findByEvent(Event event);
 
-    // Find by guest email (to allow public RSVP)
-    List<Invitation> findByGuestEmail(String guestEmail);
+    // Guest lists of several events in one query (reminder dispatch, analytics rebuild)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select i from Invitation i where i.event.eventId in :eventIds")
+    List<Invitation> findByEventIds(@Param("eventIds") Collection<Long> eventIds);
+
+    // A guest's invitations newest first, with event and host in the same query.
+    // Keyset pagination on invitation_id, served by the (guest_email_normalized, invitation_id) index.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select i from Invitation i join fetch i.event e join fetch e.createdBy " +
+           "where i.guestEmailNormalized = :email and i.invitationId < :before and e.deletedAt is null " +
+           "order by i.invitationId desc")
+    List<Invitation> findInbox(@Param("email") String normalizedEmail, @Param("before") Long before, Limit limit);
+
+    // Fills guest_email_normalized for rows written before the column existed
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE invitations SET guest_email_normalized = LOWER(TRIM(guest_email)) " +
+                   "WHERE guest_email_normalized IS NULL AND guest_email IS NOT NULL AND TRIM(guest_email) <> '' " +
+                   "LIMIT :batchSize", nativeQuery = true)
+    int backfillNormalizedEmails(@Param("batchSize") int batchSize);
+
+    // Fills guest_key for rows written before the column existed, one id range at a
+    // time. Must match Invitation.guestKey(); rows that duplicate an earlier guest
+    // are skipped (IGNORE) and keep a null key, as do guests without an email.
+    @Query(value = "SELECT invitation_id FROM invitations WHERE guest_key IS NULL AND invitation_id > :after " +
+                   "AND guest_email IS NOT NULL AND TRIM(guest_email) <> '' " +
+                   "ORDER BY invitation_id LIMIT :batchSize", nativeQuery = true)
+    List<Long> findIdsWithoutGuestKey(@Param("after") Long after, @Param("batchSize") int batchSize);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE IGNORE invitations SET guest_key = CONCAT(" +
+                   "LOWER(TRIM(guest_email)), " +
+                   "IF(occurrence_start IS NULL, '', CONCAT('#', DATE_FORMAT(occurrence_start, '%Y-%m-%dT%H:%i:%s')))) " +
+                   "WHERE invitation_id IN (:ids) AND guest_key IS NULL", nativeQuery = true)
+    int backfillGuestKeys(@Param("ids") List<Long> invitationIds);
+
+    // Name-based keys were once written for guests without an email and blocked
+    // a second guest of the same name; clears them in bounded batches
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE invitations SET guest_key = NULL WHERE guest_key LIKE 'name:%' LIMIT :batchSize",
+           nativeQuery = true)
+    int clearNameGuestKeys(@Param("batchSize") int batchSize);
+
+    // Duplicate check before inserting; the unique (event_id, guest_key) constraint
+    // catches the sends that race past it
+    boolean existsByEventAndGuestKey(Event event, String guestKey);
+
+    // Moves an invitation from the status it was read with to a new one; 0 rows
+    // means someone else changed it first. Bumps the version for the JSON cache.
+    @Modifying(clearAutomatically = true)
+    @Query("update Invitation i set i.rsvpStatus = :next, i.respondedAt = :respondedAt, i.version = i.version + 1 " +
+           "where i.invitationId = :invitationId and i.rsvpStatus = :expected")
+    int updateStatus(@Param("invitationId") Long invitationId, @Param("expected") RSVPStatus expected,
+                     @Param("next") RSVPStatus next, @Param("respondedAt") LocalDateTime respondedAt);
+
+    // Waitlisted guests of an event in the order they answered
+    @Query("select i from Invitation i where i.event.eventId = :eventId and i.rsvpStatus = " +
+           "com.nmemarcoding.evonto.model.Invitation.RSVPStatus.WAITLISTED order by i.respondedAt, i.invitationId")
+    List<Invitation> findWaitlisted(@Param("eventId") Long eventId, Limit limit);
+
+    // Invitation counts per event and RSVP status for a set of events, in one grouped query
+    @Query("select new com.nmemarcoding.evonto.dto.RsvpCountDto(i.event.eventId, i.rsvpStatus, count(i)) " +
+           "from Invitation i where i.event.eventId in :eventIds group by i.event.eventId, i.rsvpStatus")
+    List<RsvpCountDto> countByEventIdsGroupedByStatus(@Param("eventIds") List<Long> eventIds);
 
-    // Optional: prevent duplicates
-    Optional<Invitation> findByEventAndGuestEmail(Event event, String guestEmail);
+    // Removes at most batchSize invitations of an event; each call is its own short transaction
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM invitations WHERE event_id = :eventId LIMIT :batchSize", nativeQuery = true)
+    int deleteBatchByEventId(@Param("eventId") Long eventId, @Param("batchSize") int batchSize);
 }
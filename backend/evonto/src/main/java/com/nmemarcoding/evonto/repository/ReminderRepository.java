@@ -0,0 +1,35 @@
+package com.nmemarcoding.evonto.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.nmemarcoding.evonto.model.Reminder;
+
+@Repository
+public interface ReminderRepository extends JpaRepository<Reminder, Long> {
+
+    // One page of the reminders due in [from, to), keyset-paged by id
+    @Query("select r from Reminder r where r.dueAt >= :from and r.dueAt < :to and r.id > :after order by r.id")
+    List<Reminder> findDueBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                 @Param("after") Long after, Limit limit);
+
+    // Rows past the last seen id, plus recent ones again: identity ids can commit
+    // out of order. Paged by id through cursor.
+    @Query("select r from Reminder r where (r.id > :afterId or r.createdAt > :since) and r.id > :cursor order by r.id")
+    List<Reminder> findCreatedSince(@Param("afterId") Long afterId, @Param("since") LocalDateTime since,
+                                    @Param("cursor") Long cursor, Limit limit);
+
+    @Query("select max(r.id) from Reminder r")
+    Long findMaxId();
+
+    @Modifying
+    @Query("delete from Reminder r where r.eventId = :eventId")
+    int deleteByEventId(@Param("eventId") Long eventId);
+}
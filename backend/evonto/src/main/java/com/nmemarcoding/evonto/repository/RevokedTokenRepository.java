@@ -0,0 +1,28 @@
+package com.nmemarcoding.evonto.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.nmemarcoding.evonto.model.RevokedToken;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    // Rows past the last seen id, plus recent ones again: identity ids can commit
+    // out of order, and re-applying a revocation is harmless
+    @Query("select r from RevokedToken r where (r.id > :afterId or r.revokedAt > :since) and r.expiresAt > :now order by r.id")
+    List<RevokedToken> findUnexpiredSince(@Param("afterId") Long afterId, @Param("since") LocalDateTime since,
+                                          @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("delete from RevokedToken r where r.expiresAt < :cutoff")
+    int deleteExpired(@Param("cutoff") LocalDateTime cutoff);
+}
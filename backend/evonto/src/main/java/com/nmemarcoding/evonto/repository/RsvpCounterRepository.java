@@ -0,0 +1,37 @@
+package com.nmemarcoding.evonto.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.nmemarcoding.evonto.model.RsvpCounter;
+
+@Repository
+public interface RsvpCounterRepository extends JpaRepository<RsvpCounter, RsvpCounter.Key> {
+
+    // Adds delta to one cell, creating it on first use. A single statement, so
+    // concurrent flushes from several instances add up instead of overwriting.
+    @Modifying
+    @Query(value = "INSERT INTO rsvp_counters (event_id, metric, bucket, total) VALUES (:eventId, :metric, :bucket, :delta) " +
+                   "ON DUPLICATE KEY UPDATE total = total + :delta", nativeQuery = true)
+    int add(@Param("eventId") Long eventId, @Param("metric") String metric, @Param("bucket") long bucket,
+            @Param("delta") long delta);
+
+    @Query("select c from RsvpCounter c where c.eventId in :eventIds and c.total <> 0")
+    List<RsvpCounter> findByEventIds(@Param("eventIds") Collection<Long> eventIds);
+
+    @Modifying
+    @Query("delete from RsvpCounter c where c.eventId in :eventIds")
+    int deleteByEventIds(@Param("eventIds") Collection<Long> eventIds);
+
+    // Cells of events that were deleted or archived since the last rebuild
+    @Modifying
+    @Query(value = "DELETE FROM rsvp_counters WHERE event_id NOT IN (SELECT event_id FROM events WHERE deleted_at IS NULL)",
+           nativeQuery = true)
+    int deleteOrphans();
+}
@@ -3,9 +3,14 @@ package com.nmemarcoding.evonto.repository;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.nmemarcoding.evonto.model.User;
 
+import jakarta.persistence.LockModeType;
+
 
 
 
@@ -13,4 +18,11 @@ import com.nmemarcoding.evonto.model.User;
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
+    Optional<User> findByCalendarToken(String calendarToken);
+
+    // Shared lock held by an owner's writes until they commit; a shard move
+    // takes it exclusively to wait for them
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select u from User u where u.userId = :userId")
+    Optional<User> lockShared(@Param("userId") Long userId);
 }
\ No newline at end of file
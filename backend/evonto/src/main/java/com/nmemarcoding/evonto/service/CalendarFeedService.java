@@ -0,0 +1,63 @@
+package com.nmemarcoding.evonto.service;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Optional;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.nmemarcoding.evonto.cache.CalendarFeedCache;
+import com.nmemarcoding.evonto.cache.CalendarFeedCache.Feed;
+import com.nmemarcoding.evonto.model.User;
+import com.nmemarcoding.evonto.repository.UserRepository;
+
+// Per-user .ics feeds. Calendar apps cannot send a bearer token, so the feed
+// URL carries a random secret that the owner can rotate.
+@Service
+@Transactional(readOnly = true)
+public class CalendarFeedService {
+
+    private final UserRepository userRepository;
+    private final EventService eventService;
+    private final CalendarFeedCache feedCache;
+    private final SecureRandom random = new SecureRandom();
+
+    public CalendarFeedService(UserRepository userRepository, EventService eventService, CalendarFeedCache feedCache) {
+        this.userRepository = userRepository;
+        this.eventService = eventService;
+        this.feedCache = feedCache;
+    }
+
+    // Cached feeds are served without a transaction or query; a miss costs one
+    // user lookup and one events query (users and events may be on different shards)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<Feed> getFeed(String token) {
+        Feed cached = feedCache.get(token);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return userRepository.findByCalendarToken(token)
+                .map(user -> feedCache.load(token, user.getUserId(), () -> eventService.getEventsByCreator(user)));
+    }
+
+    // Existing token, or a new one on first use
+    @Transactional
+    public String getFeedToken(User user) {
+        if (user.getCalendarToken() != null) {
+            return user.getCalendarToken();
+        }
+        return rotateFeedToken(user);
+    }
+
+    @Transactional
+    public String rotateFeedToken(User user) {
+        byte[] secret = new byte[32];
+        random.nextBytes(secret);
+        user.setCalendarToken(Base64.getUrlEncoder().withoutPadding().encodeToString(secret));
+        userRepository.save(user);
+        feedCache.userTokenChanged(user.getUserId());
+        return user.getCalendarToken();
+    }
+}
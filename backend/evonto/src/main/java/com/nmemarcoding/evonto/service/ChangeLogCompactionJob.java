@@ -0,0 +1,79 @@
+package com.nmemarcoding.evonto.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.nmemarcoding.evonto.repository.ChangeLogRepository;
+import com.nmemarcoding.evonto.shard.ShardRouter;
+
+// Keeps change_log small. Entries superseded by a newer entry for the same
+// entity are dropped at any age, since sync only ever reports the latest
+// state. Delete entries older than the retention are dropped after raising
+// the horizon, so clients with an older cursor are told to reload.
+@Component
+public class ChangeLogCompactionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeLogCompactionJob.class);
+
+    private final ChangeLogRepository changeLogRepository;
+    private final ChangeLogService changeLogService;
+    private final ShardRouter shardRouter;
+    private final long tombstoneRetentionDays;
+    private final int batchSize;
+
+    public ChangeLogCompactionJob(ChangeLogRepository changeLogRepository, ChangeLogService changeLogService,
+                                  ShardRouter shardRouter,
+                                  @Value("${sync.tombstone-retention-days:30}") long tombstoneRetentionDays,
+                                  @Value("${sync.compaction-batch-size:1000}") int batchSize) {
+        this.changeLogRepository = changeLogRepository;
+        this.changeLogService = changeLogService;
+        this.shardRouter = shardRouter;
+        this.tombstoneRetentionDays = tombstoneRetentionDays;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${sync.compaction-cron:0 0 4 * * *}")
+    public void compact() {
+        shardRouter.onEachShard(shard -> {
+            try {
+                compactShard(shard);
+            } catch (Exception e) {
+                log.warn("Change log compaction on shard {} failed: {}", shard, e.getMessage());
+            }
+        });
+    }
+
+    private void compactShard(String shard) {
+        long superseded = 0;
+        List<Long> ids;
+        do {
+            ids = changeLogRepository.findSupersededIds(batchSize);
+            if (!ids.isEmpty()) {
+                changeLogRepository.deleteAllByIdInBatch(ids);
+                superseded += ids.size();
+            }
+        } while (ids.size() == batchSize);
+
+        long tombstones = 0;
+        Long through = changeLogRepository.findLastTombstoneIdBefore(LocalDateTime.now().minusDays(tombstoneRetentionDays));
+        if (through != null) {
+            changeLogService.advanceHorizon(through);
+            int deleted;
+            do {
+                deleted = changeLogRepository.deleteTombstonesThrough(through, batchSize);
+                tombstones += deleted;
+            } while (deleted == batchSize);
+        }
+
+        if (superseded + tombstones > 0) {
+            log.info("Compacted change log on shard {}: {} superseded and {} expired delete entries removed",
+                    shard, superseded, tombstones);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.nmemarcoding.evonto.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.nmemarcoding.evonto.dto.EventDto;
+import com.nmemarcoding.evonto.dto.InvitationDto;
+import com.nmemarcoding.evonto.dto.SyncDto;
+import com.nmemarcoding.evonto.model.ChangeLogEntry;
+import com.nmemarcoding.evonto.model.ChangeLogEntry.EntityType;
+import com.nmemarcoding.evonto.model.ChangeLogEntry.Operation;
+import com.nmemarcoding.evonto.model.ChangeLogHorizon;
+import com.nmemarcoding.evonto.model.Event;
+import com.nmemarcoding.evonto.model.Invitation;
+import com.nmemarcoding.evonto.model.User;
+import com.nmemarcoding.evonto.repository.ChangeLogHorizonRepository;
+import com.nmemarcoding.evonto.repository.ChangeLogRepository;
+import com.nmemarcoding.evonto.repository.ChangeLogSequenceRepository;
+import com.nmemarcoding.evonto.repository.EventRepository;
+import com.nmemarcoding.evonto.repository.InvitationRepository;
+import com.nmemarcoding.evonto.shard.ShardDirectory;
+import com.nmemarcoding.evonto.shard.ShardRouter;
+
+import jakarta.annotation.PostConstruct;
+
+// Outbox of event/invitation changes and the delta sync built on it. Entries
+// carry no payload: sync returns the current state of whatever changed, so a
+// client pays for the number of changed rows, not the size of its data.
+//
+// Entry ids are the sync cursor, so they must become visible in increasing
+// order: a transaction's entries are held until it is about to commit and then
+// written under ids reserved from ChangeLogSequence, whose row stays locked
+// until the commit. A later id cannot commit before an earlier one.
+@Service
+@Transactional(readOnly = true)
+public class ChangeLogService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeLogService.class);
+
+    private final ChangeLogRepository changeLogRepository;
+    private final ChangeLogHorizonRepository horizonRepository;
+    private final ChangeLogSequenceRepository sequenceRepository;
+    private final EventRepository eventRepository;
+    private final InvitationRepository invitationRepository;
+    private final ShardRouter shardRouter;
+    private final ShardDirectory shardDirectory;
+
+    public ChangeLogService(ChangeLogRepository changeLogRepository, ChangeLogHorizonRepository horizonRepository,
+                            ChangeLogSequenceRepository sequenceRepository, EventRepository eventRepository,
+                            InvitationRepository invitationRepository, ShardRouter shardRouter, ShardDirectory shardDirectory) {
+        this.changeLogRepository = changeLogRepository;
+        this.horizonRepository = horizonRepository;
+        this.sequenceRepository = sequenceRepository;
+        this.eventRepository = eventRepository;
+        this.invitationRepository = invitationRepository;
+        this.shardRouter = shardRouter;
+        this.shardDirectory = shardDirectory;
+    }
+
+    // A shard whose schema is not there yet gets its row on the first write instead
+    @PostConstruct
+    public void createSequences() {
+        shardRouter.onEachShard(shard -> {
+            try {
+                sequenceRepository.createIfMissing();
+            } catch (Exception e) {
+                log.warn("Could not create the change log sequence{}: {}", shard != null ? " on " + shard : "", e.getMessage());
+            }
+        });
+    }
+
+    // Must join the caller's transaction so the entry commits or rolls back with the change
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordEvent(Long ownerId, Long eventId, Operation operation) {
+        pendingEntries().add(new ChangeLogEntry(ownerId, EntityType.EVENT, eventId, operation));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordInvitation(Invitation invitation, Operation operation) {
+        pendingEntries().add(new ChangeLogEntry(invitation.getEvent().getCreatedBy().getUserId(),
+                EntityType.INVITATION, invitation.getInvitationId(), operation));
+    }
+
+    private List<ChangeLogEntry> pendingEntries() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingEntries pending) {
+                return pending.entries;
+            }
+        }
+        PendingEntries pending = new PendingEntries();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending.entries;
+    }
+
+    // The current transaction's entries, written as its last statements
+    private final class PendingEntries implements TransactionSynchronization {
+
+        private final List<ChangeLogEntry> entries = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // Flush the change itself first, so the sequence row is locked only for the entries and the commit
+            changeLogRepository.flush();
+            if (sequenceRepository.reserve(entries.size()) == 0) {
+                // A shard added after startup
+                sequenceRepository.createIfMissing();
+                sequenceRepository.reserve(entries.size());
+            }
+            long id = sequenceRepository.findLastId() - entries.size();
+            for (ChangeLogEntry entry : entries) {
+                entry.setId(++id);
+                changeLogRepository.insert(entry.getId(), entry.getOwnerId(), entry.getEntityType().name(),
+                        entry.getEntityId(), entry.getOperation().name(), entry.getChangedAt());
+            }
+        }
+    }
+
+    public SyncDto sync(User owner, long cursor, int limit) {
+        return shardRouter.onShardOfUser(owner, () -> loadChanges(owner, cursor, limit));
+    }
+
+    private SyncDto loadChanges(User owner, long cursor, int limit) {
+        long horizon = horizonRepository.findById(ChangeLogHorizon.SINGLETON_ID)
+                .map(ChangeLogHorizon::getCompactedThrough).orElse(0L);
+        // Cursors from before the owner moved shards were issued by the old shard
+        long floor = shardDirectory.syncFloorOf(owner.getUserId());
+        if (cursor <= 0 || cursor < horizon || cursor < floor) {
+            // Every id up to the committed sequence value has committed
+            Long latest = sequenceRepository.findLastId();
+            return SyncDto.reset(Math.max(latest != null ? latest : 0, floor));
+        }
+
+        List<ChangeLogEntry> entries = changeLogRepository.findChanges(owner.getUserId(), cursor, Limit.of(limit));
+        if (entries.isEmpty()) {
+            return new SyncDto(cursor, false, false, List.of(), List.of(), List.of(), List.of());
+        }
+
+        // Several changes to one entity collapse into its latest operation
+        Map<Long, Operation> events = new LinkedHashMap<>();
+        Map<Long, Operation> invitations = new LinkedHashMap<>();
+        for (ChangeLogEntry entry : entries) {
+            (entry.getEntityType() == EntityType.EVENT ? events : invitations).put(entry.getEntityId(), entry.getOperation());
+        }
+
+        // An upserted entity that is gone by now (its delete is on a later page,
+        // or it was archived) is reported as deleted
+        List<Long> deletedEventIds = new ArrayList<>(idsWith(events, Operation.DELETE));
+        List<EventDto> eventDtos = new ArrayList<>();
+        Set<Long> missingEvents = new HashSet<>(idsWith(events, Operation.UPSERT));
+        for (Event event : eventRepository.findAllById(missingEvents)) {
+            if (event.getDeletedAt() == null) {
+                eventDtos.add(new EventDto(event));
+                missingEvents.remove(event.getEventId());
+            }
+        }
+        deletedEventIds.addAll(missingEvents);
+
+        List<Long> deletedInvitationIds = new ArrayList<>(idsWith(invitations, Operation.DELETE));
+        List<InvitationDto> invitationDtos = new ArrayList<>();
+        Set<Long> missingInvitations = new HashSet<>(idsWith(invitations, Operation.UPSERT));
+        for (Invitation invitation : invitationRepository.findAllById(missingInvitations)) {
+            invitationDtos.add(new InvitationDto(invitation));
+            missingInvitations.remove(invitation.getInvitationId());
+        }
+        deletedInvitationIds.addAll(missingInvitations);
+
+        long nextCursor = entries.get(entries.size() - 1).getId();
+        return new SyncDto(nextCursor, entries.size() == limit, false, eventDtos, deletedEventIds,
+                invitationDtos, deletedInvitationIds);
+    }
+
+    // Records that delete entries up to this id are about to be dropped
+    @Transactional
+    public void advanceHorizon(long compactedThrough) {
+        ChangeLogHorizon horizon = horizonRepository.findById(ChangeLogHorizon.SINGLETON_ID)
+                .orElseGet(() -> new ChangeLogHorizon(0));
+        if (compactedThrough > horizon.getCompactedThrough()) {
+            horizon.setCompactedThrough(compactedThrough);
+            horizonRepository.save(horizon);
+        }
+    }
+
+    private static List<Long> idsWith(Map<Long, Operation> changes, Operation operation) {
+        return changes.entrySet().stream().filter(change -> change.getValue() == operation).map(Map.Entry::getKey).toList();
+    }
+}
@@ -0,0 +1,74 @@
+package com.nmemarcoding.evonto.service;
+
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.nmemarcoding.evonto.shard.ShardRouter;
+
+// Drains events that ended more than archive.after-days ago into the archive
+// tables, one bounded batch (and transaction) at a time: first their invitations,
+// archive.invitation-batch-size rows per batch, then the emptied event rows
+@Component
+public class EventArchiveJob {
+
+    private static final Logger log = LoggerFactory.getLogger(EventArchiveJob.class);
+
+    private final EventArchiveService archiveService;
+    private final ShardRouter shardRouter;
+    private final long afterDays;
+    private final int batchSize;
+    private final int invitationBatchSize;
+    private final int maxBatchesPerRun;
+
+    public EventArchiveJob(EventArchiveService archiveService, ShardRouter shardRouter,
+                           @Value("${archive.after-days:30}") long afterDays,
+                           @Value("${archive.batch-size:100}") int batchSize,
+                           @Value("${archive.invitation-batch-size:1000}") int invitationBatchSize,
+                           @Value("${archive.max-batches-per-run:50}") int maxBatchesPerRun) {
+        this.archiveService = archiveService;
+        this.shardRouter = shardRouter;
+        this.afterDays = afterDays;
+        this.batchSize = batchSize;
+        this.invitationBatchSize = invitationBatchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    @Scheduled(cron = "${archive.cron:0 30 3 * * *}")
+    public void archiveFinishedEvents() {
+        shardRouter.onEachShard(this::archiveShard);
+    }
+
+    private void archiveShard(String shard) {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(afterDays);
+        int invitations = 0;
+        int events = 0;
+        try {
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                int moved = archiveService.archiveInvitationBatch(cutoff, invitationBatchSize);
+                invitations += moved;
+                if (moved < invitationBatchSize) {
+                    break;
+                }
+            }
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                int moved = archiveService.archiveEventBatch(cutoff, batchSize);
+                events += moved;
+                if (moved < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Archiving on shard {} stopped after {} events and {} invitations: {}",
+                    shard, events, invitations, e.getMessage());
+        }
+        if (events > 0 || invitations > 0) {
+            log.info("Archived {} events and {} invitations on shard {} that ended before {}",
+                    events, invitations, shard, cutoff);
+        }
+    }
+}
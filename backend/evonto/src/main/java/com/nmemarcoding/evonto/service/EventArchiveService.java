@@ -0,0 +1,120 @@
+package com.nmemarcoding.evonto.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.nmemarcoding.evonto.cache.CalendarFeedCache;
+import com.nmemarcoding.evonto.cache.JsonFragmentCache;
+import com.nmemarcoding.evonto.dto.EventDto;
+import com.nmemarcoding.evonto.dto.EventWithInvitationsDto;
+import com.nmemarcoding.evonto.dto.InvitationDto;
+import com.nmemarcoding.evonto.model.ChangeLogEntry.Operation;
+import com.nmemarcoding.evonto.model.User;
+import com.nmemarcoding.evonto.repository.ArchivedEventRepository;
+import com.nmemarcoding.evonto.repository.ArchivedInvitationRepository;
+import com.nmemarcoding.evonto.repository.EventRepository;
+import com.nmemarcoding.evonto.shard.ShardRouter;
+
+// Moves finished events into the archive tables and serves history views that
+// span both tiers. Hot paths (EventService, InvitationService) never read the archive.
+@Service
+@Transactional(readOnly = true)
+public class EventArchiveService {
+
+    private final EventRepository eventRepository;
+    private final ArchivedEventRepository archivedEventRepository;
+    private final ArchivedInvitationRepository archivedInvitationRepository;
+    private final JsonFragmentCache fragmentCache;
+    private final CalendarFeedCache calendarFeedCache;
+    private final ChangeLogService changeLogService;
+    private final ShardRouter shardRouter;
+
+    public EventArchiveService(EventRepository eventRepository, ArchivedEventRepository archivedEventRepository,
+                               ArchivedInvitationRepository archivedInvitationRepository, JsonFragmentCache fragmentCache,
+                               CalendarFeedCache calendarFeedCache, ChangeLogService changeLogService, ShardRouter shardRouter) {
+        this.eventRepository = eventRepository;
+        this.archivedEventRepository = archivedEventRepository;
+        this.archivedInvitationRepository = archivedInvitationRepository;
+        this.fragmentCache = fragmentCache;
+        this.calendarFeedCache = calendarFeedCache;
+        this.changeLogService = changeLogService;
+        this.shardRouter = shardRouter;
+    }
+
+    // Moves up to batchSize invitations of finished events in one transaction, so
+    // a single large event never holds locks on all its guests at once. Until its
+    // event follows in archiveEventBatch, a finished event shows only the guests
+    // not moved yet. Returns how many invitations were moved.
+    @Transactional
+    public int archiveInvitationBatch(LocalDateTime cutoff, int batchSize) {
+        List<Long> invitationIds = archivedInvitationRepository.findArchivableInvitationIds(cutoff, batchSize);
+        if (invitationIds.isEmpty()) {
+            return 0;
+        }
+        List<Long> eventIds = archivedInvitationRepository.findEventIdsOfLive(invitationIds);
+
+        archivedInvitationRepository.copyFromLiveByIds(invitationIds, LocalDateTime.now());
+        archivedInvitationRepository.deleteFromLiveByIds(invitationIds);
+
+        invitationIds.forEach(fragmentCache::evictInvitation);
+        eventIds.forEach(fragmentCache::evictEvent);
+        return invitationIds.size();
+    }
+
+    // Moves up to batchSize finished events whose invitations are already archived,
+    // in one transaction. Returns how many events were moved.
+    @Transactional
+    public int archiveEventBatch(LocalDateTime cutoff, int batchSize) {
+        List<Long> eventIds = archivedEventRepository.findArchivableEventIds(cutoff, batchSize);
+        if (eventIds.isEmpty()) {
+            return 0;
+        }
+
+        // Archived events leave the live views, so syncing clients get a delete
+        Map<Long, Long> owners = new HashMap<>();
+        eventRepository.findAllById(eventIds).forEach(event -> {
+            owners.put(event.getEventId(), event.getCreatedBy().getUserId());
+            changeLogService.recordEvent(event.getCreatedBy().getUserId(), event.getEventId(), Operation.DELETE);
+        });
+
+        archivedEventRepository.copyFromLive(eventIds, LocalDateTime.now());
+        archivedEventRepository.deleteFromLive(eventIds);
+
+        eventIds.forEach(fragmentCache::evictEvent);
+        owners.forEach((eventId, ownerId) -> calendarFeedCache.eventRemoved(ownerId, eventId));
+        return eventIds.size();
+    }
+
+    // Finished events of a user from both tiers, newest first
+    public List<EventDto> getHistory(User user) {
+        return shardRouter.onShardOfUser(user, () -> loadHistory(user));
+    }
+
+    private List<EventDto> loadHistory(User user) {
+        List<EventDto> history = new ArrayList<>();
+        eventRepository.findFinishedByCreator(user, LocalDateTime.now())
+                .forEach(event -> history.add(new EventDto(event)));
+        archivedEventRepository.findByCreatedByIdOrderByStartDateTimeDesc(user.getUserId())
+                .forEach(event -> history.add(new EventDto(event, user.getUsername())));
+        history.sort(Comparator.comparing(EventDto::getStartDateTime).reversed());
+        return history;
+    }
+
+    // Guest list of an archived event, only for its owner
+    public Optional<EventWithInvitationsDto> getArchivedEventWithGuests(Long eventId, User owner) {
+        return shardRouter.onShardOfEvent(eventId, () -> archivedEventRepository.findById(eventId))
+                .filter(event -> event.getCreatedById().equals(owner.getUserId()))
+                .map(event -> new EventWithInvitationsDto(
+                        new EventDto(event, owner.getUsername()),
+                        shardRouter.onShardOfEvent(eventId, () -> archivedInvitationRepository.findByEventId(eventId))
+                                .stream().map(InvitationDto::new).toList()));
+    }
+}
@@ -0,0 +1,67 @@
+package com.nmemarcoding.evonto.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.nmemarcoding.evonto.repository.EventRepository;
+import com.nmemarcoding.evonto.repository.InvitationRepository;
+import com.nmemarcoding.evonto.shard.ShardRouter;
+
+// Physically removes soft-deleted events. Invitations go first in bounded
+// batches, each in its own transaction, so no statement holds locks on more
+// than batchSize rows; the event row is deleted once nothing references it.
+@Component
+public class EventPurgeJob {
+
+    private static final Logger log = LoggerFactory.getLogger(EventPurgeJob.class);
+
+    private final EventRepository eventRepository;
+    private final InvitationRepository invitationRepository;
+    private final ShardRouter shardRouter;
+    private final int batchSize;
+    private final int eventsPerRun;
+
+    public EventPurgeJob(EventRepository eventRepository, InvitationRepository invitationRepository, ShardRouter shardRouter,
+                         @Value("${purge.batch-size:1000}") int batchSize,
+                         @Value("${purge.events-per-run:10}") int eventsPerRun) {
+        this.eventRepository = eventRepository;
+        this.invitationRepository = invitationRepository;
+        this.shardRouter = shardRouter;
+        this.batchSize = batchSize;
+        this.eventsPerRun = eventsPerRun;
+    }
+
+    @Scheduled(fixedDelayString = "${purge.interval-ms:30000}")
+    public void purgeDeletedEvents() {
+        shardRouter.onEachShard(shard -> purgeShard());
+    }
+
+    private void purgeShard() {
+        List<Long> eventIds = eventRepository.findDeletedEventIds(eventsPerRun);
+        for (Long eventId : eventIds) {
+            try {
+                purge(eventId);
+            } catch (Exception e) {
+                // Leave it soft-deleted; the next run picks it up again
+                log.warn("Could not purge event {}: {}", eventId, e.getMessage());
+            }
+        }
+    }
+
+    private void purge(Long eventId) {
+        long removed = 0;
+        int deleted;
+        do {
+            deleted = invitationRepository.deleteBatchByEventId(eventId, batchSize);
+            removed += deleted;
+        } while (deleted == batchSize);
+
+        eventRepository.purgeDeletedEvent(eventId);
+        log.info("Purged event {} and {} invitations", eventId, removed);
+    }
+}
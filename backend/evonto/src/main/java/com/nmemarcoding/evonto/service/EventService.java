@@ -1,45 +1,198 @@
 package com.nmemarcoding.evonto.service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.nmemarcoding.evonto.audit.AuditLog;
+import com.nmemarcoding.evonto.audit.AuditRecord.Action;
+import com.nmemarcoding.evonto.cache.CalendarFeedCache;
+import com.nmemarcoding.evonto.cache.JsonFragmentCache;
+import com.nmemarcoding.evonto.dto.EventDashboardDto;
+import com.nmemarcoding.evonto.dto.EventSummaryDto;
+import com.nmemarcoding.evonto.dto.EventVersionDto;
+import com.nmemarcoding.evonto.dto.OccurrenceDto;
+import com.nmemarcoding.evonto.dto.RsvpCountDto;
+import com.nmemarcoding.evonto.model.ChangeLogEntry.Operation;
 import com.nmemarcoding.evonto.model.Event;
 import com.nmemarcoding.evonto.model.User;
+import com.nmemarcoding.evonto.recurrence.RecurrenceExpander;
 import com.nmemarcoding.evonto.repository.EventRepository;
+import com.nmemarcoding.evonto.repository.InvitationRepository;
+import com.nmemarcoding.evonto.shard.ShardRouter;
 
+// Reads run in read-only transactions (no flush, no dirty-checking snapshots);
+// mutations declare their own read-write transaction
 @Service
+@Transactional(readOnly = true)
 public class EventService {
 
     private final EventRepository eventRepository;
+    private final InvitationRepository invitationRepository;
+    private final JsonFragmentCache fragmentCache;
+    private final CalendarFeedCache calendarFeedCache;
+    private final ChangeLogService changeLogService;
+    private final AuditLog auditLog;
+    private final ReminderService reminderService;
+    private final ShardRouter shardRouter;
 
-    public EventService(EventRepository eventRepository) {
+    public EventService(EventRepository eventRepository, InvitationRepository invitationRepository, JsonFragmentCache fragmentCache,
+                        CalendarFeedCache calendarFeedCache, ChangeLogService changeLogService, AuditLog auditLog,
+                        ReminderService reminderService, ShardRouter shardRouter) {
         this.eventRepository = eventRepository;
+        this.invitationRepository = invitationRepository;
+        this.fragmentCache = fragmentCache;
+        this.calendarFeedCache = calendarFeedCache;
+        this.changeLogService = changeLogService;
+        this.auditLog = auditLog;
+        this.reminderService = reminderService;
+        this.shardRouter = shardRouter;
     }
 
-    // Create a new event
+    // Create a new event (or recurring series)
+    @Transactional
     public Event createEvent(Event event) {
-        return eventRepository.save(event);
+        RecurrenceExpander.validate(event);
+        event.setSeriesEndsAt(RecurrenceExpander.seriesEnd(event));
+        if (event.getCapacity() != null && event.getCapacity() < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        event.setSeatsTaken(0);
+
+        User owner = event.getCreatedBy();
+        shardRouter.ensureUserOnShard(owner);
+        Event saved = shardRouter.onShardOfUser(owner, () -> {
+            shardRouter.requireWritable(owner);
+            Event created = eventRepository.save(event);
+            changeLogService.recordEvent(owner.getUserId(), created.getEventId(), Operation.UPSERT);
+            reminderService.scheduleFor(created);
+            return created;
+        });
+        calendarFeedCache.eventSaved(saved);
+        auditLog.record(Action.EVENT_CREATED, owner.getUserId(), saved.getEventId(), null, saved.getTitle());
+        return saved;
     }
 
     // Get event by ID
     public Optional<Event> getEventById(Long eventId) {
-        return eventRepository.findById(eventId);
+        return shardRouter.onShardOfEvent(eventId, () -> eventRepository.findByEventIdAndDeletedAtIsNull(eventId));
+    }
+
+    // Events as JSON in the order of eventIds; ids that do not resolve get a
+    // not-found marker. Cached fragments are checked with a versions-only probe
+    // (skipped when none is cached), and the rest is loaded with creators in one
+    // IN query per shard.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<byte[]> getEventsJson(List<Long> eventIds) {
+        Set<Long> distinct = new LinkedHashSet<>(eventIds);
+        List<Long> cachedIds = distinct.stream().filter(fragmentCache::containsEvent).toList();
+        List<Long> misses = new ArrayList<>(distinct);
+        Map<Long, byte[]> found = new HashMap<>();
+
+        if (!cachedIds.isEmpty()) {
+            misses.removeAll(cachedIds);
+            for (EventVersionDto current : shardRouter.fanOutByEvent(cachedIds, eventRepository::findVersionsByIdIn)) {
+                byte[] json = fragmentCache.cachedEvent(current.getEventId(), current.getVersion());
+                if (json != null) {
+                    found.put(current.getEventId(), json);
+                } else {
+                    misses.add(current.getEventId());
+                }
+            }
+        }
+        if (!misses.isEmpty()) {
+            for (Event event : shardRouter.fanOutByEvent(misses, eventRepository::findWithCreatorByIdIn)) {
+                found.put(event.getEventId(), fragmentCache.event(event));
+            }
+        }
+
+        return eventIds.stream()
+                .map(id -> found.containsKey(id) ? found.get(id) : fragmentCache.eventNotFound(id))
+                .toList();
     }
 
     // Get all events by a specific user
     public List<Event> getEventsByCreator(User user) {
-        return eventRepository.findByCreatedBy(user);
+        return shardRouter.onShardOfUser(user, () -> eventRepository.findByCreatedByAndDeletedAtIsNull(user));
+    }
+
+    // Same rows with only the requested fields selected
+    public List<Map<String, Object>> getEventFieldsByCreator(User user, Set<String> fields) {
+        return shardRouter.onShardOfUser(user, () -> eventRepository.findFieldsByCreator(user, fields));
+    }
+
+    // A user's occurrences in [from, to), series expanded lazily, in start order
+    public List<OccurrenceDto> getOccurrences(User user, LocalDateTime from, LocalDateTime to) {
+        return shardRouter.onShardOfUser(user, () -> eventRepository.findInWindow(user, from, to))
+                .stream()
+                .flatMap(event -> RecurrenceExpander.occurrences(event, from, to))
+                .sorted(Comparator.comparing(RecurrenceExpander.Occurrence::start))
+                .map(OccurrenceDto::new)
+                .toList();
     }
 
-    // Get all events
+    // One page of a user's events with invitation totals: one page query plus one grouped count query
+    public EventDashboardDto getDashboard(User user, int page, int size, Sort.Direction direction) {
+        return shardRouter.onShardOfUser(user, () -> buildDashboard(user, page, size, direction));
+    }
+
+    private EventDashboardDto buildDashboard(User user, int page, int size, Sort.Direction direction) {
+        Page<Event> events = eventRepository.findByCreatedByAndDeletedAtIsNull(user,
+                PageRequest.of(page, size, Sort.by(direction, "startDateTime")));
+
+        Map<Long, EventSummaryDto> summaries = new LinkedHashMap<>();
+        for (Event event : events) {
+            summaries.put(event.getEventId(), new EventSummaryDto(event));
+        }
+
+        if (!summaries.isEmpty()) {
+            List<RsvpCountDto> counts = invitationRepository.countByEventIdsGroupedByStatus(List.copyOf(summaries.keySet()));
+            for (RsvpCountDto count : counts) {
+                summaries.get(count.getEventId()).addCount(count.getRsvpStatus(), count.getCount());
+            }
+        }
+
+        return new EventDashboardDto(List.copyOf(summaries.values()), events.getNumber(), events.getSize(),
+                events.getTotalElements(), events.getTotalPages());
+    }
+
+    // Get all events (crosses owners, so every shard is queried in its own transaction)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<Event> getAllEvents() {
-        return eventRepository.findAll();
+        return shardRouter.fanOut(eventRepository::findByDeletedAtIsNull);
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<Map<String, Object>> getAllEventFields(Set<String> fields) {
+        return shardRouter.fanOut(() -> eventRepository.findFieldsOfAll(fields));
     }
 
-    // Optional: delete event
-    public void deleteEvent(Long eventId) {
-        eventRepository.deleteById(eventId);
+    // Soft delete: one indexed UPDATE, EventPurgeJob removes the rows later
+    @Transactional
+    public void deleteEvent(Event event) {
+        shardRouter.onShardOfEvent(event.getEventId(), () -> {
+            shardRouter.requireWritable(event.getCreatedBy());
+            eventRepository.markDeleted(event.getEventId(), LocalDateTime.now());
+            changeLogService.recordEvent(event.getCreatedBy().getUserId(), event.getEventId(), Operation.DELETE);
+            reminderService.cancelFor(event.getEventId());
+            return null;
+        });
+        fragmentCache.evictEvent(event.getEventId());
+        calendarFeedCache.eventRemoved(event.getCreatedBy().getUserId(), event.getEventId());
+        auditLog.record(Action.EVENT_DELETED, event.getCreatedBy().getUserId(), event.getEventId(), null, null);
     }
 }
@@ -0,0 +1,70 @@
+package com.nmemarcoding.evonto.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.nmemarcoding.evonto.repository.InvitationRepository;
+import com.nmemarcoding.evonto.shard.ShardRouter;
+
+// One-off fill of guest_email_normalized and guest_key for invitations created
+// before those columns existed, and removal of the name-based keys written for
+// email-less guests before those stopped being deduplicated. Runs in bounded batches at startup; a no-op once done.
+@Component
+public class InvitationEmailBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(InvitationEmailBackfill.class);
+
+    private final InvitationRepository invitationRepository;
+    private final ShardRouter shardRouter;
+    private final int batchSize;
+
+    public InvitationEmailBackfill(InvitationRepository invitationRepository, ShardRouter shardRouter,
+                                   @Value("${invitations.email-backfill.batch-size:1000}") int batchSize) {
+        this.invitationRepository = invitationRepository;
+        this.shardRouter = shardRouter;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        shardRouter.onEachShard(shard -> {
+            long filled = 0;
+            int updated;
+            do {
+                updated = invitationRepository.backfillNormalizedEmails(batchSize);
+                filled += updated;
+            } while (updated == batchSize);
+            if (filled > 0) {
+                log.info("Normalized guest emails of {} invitations{}", filled, shard != null ? " on " + shard : "");
+            }
+
+            long cleared = 0;
+            do {
+                updated = invitationRepository.clearNameGuestKeys(batchSize);
+                cleared += updated;
+            } while (updated == batchSize);
+            if (cleared > 0) {
+                log.info("Cleared name-based guest keys of {} invitations{}", cleared, shard != null ? " on " + shard : "");
+            }
+
+            // Walks ids instead of re-selecting null keys: duplicates of an earlier
+            // guest stay null and must not be picked up again
+            long keyed = 0;
+            Long after = 0L;
+            List<Long> ids;
+            while (!(ids = invitationRepository.findIdsWithoutGuestKey(after, batchSize)).isEmpty()) {
+                keyed += invitationRepository.backfillGuestKeys(ids);
+                after = ids.get(ids.size() - 1);
+            }
+            if (keyed > 0) {
+                log.info("Set guest keys of {} invitations{}", keyed, shard != null ? " on " + shard : "");
+            }
+        });
+    }
+}
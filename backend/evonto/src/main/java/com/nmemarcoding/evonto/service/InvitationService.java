@@ -1,71 +1,267 @@
 package com.nmemarcoding.evonto.service;
 
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.nmemarcoding.evonto.analytics.RsvpRecorder;
+import com.nmemarcoding.evonto.analytics.RsvpRecorder.State;
+import com.nmemarcoding.evonto.audit.AuditLog;
+import com.nmemarcoding.evonto.audit.AuditRecord.Action;
+import com.nmemarcoding.evonto.cache.JsonFragmentCache;
+import com.nmemarcoding.evonto.dto.EventDto;
+import com.nmemarcoding.evonto.dto.InvitationDto;
+import com.nmemarcoding.evonto.dto.InvitationInboxDto;
+import com.nmemarcoding.evonto.dto.InvitationWithEventDto;
+import com.nmemarcoding.evonto.model.ChangeLogEntry.Operation;
 import com.nmemarcoding.evonto.model.Event;
 import com.nmemarcoding.evonto.model.Invitation;
 import com.nmemarcoding.evonto.model.Invitation.RSVPStatus;
+import com.nmemarcoding.evonto.model.User;
+import com.nmemarcoding.evonto.repository.EventRepository;
 import com.nmemarcoding.evonto.repository.InvitationRepository;
+import com.nmemarcoding.evonto.shard.ShardRouter;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
+@Transactional(readOnly = true)
 public class InvitationService {
 
+    private static final int PROMOTION_CANDIDATES = 5;
+
     private final InvitationRepository invitationRepository;
+    private final EventRepository eventRepository;
+    private final JsonFragmentCache fragmentCache;
+    private final ChangeLogService changeLogService;
+    private final AuditLog auditLog;
+    private final RsvpRecorder rsvpRecorder;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate writeTransaction;
 
-    public InvitationService(InvitationRepository invitationRepository) {
+    public InvitationService(InvitationRepository invitationRepository, EventRepository eventRepository,
+                             JsonFragmentCache fragmentCache, ChangeLogService changeLogService, AuditLog auditLog,
+                             RsvpRecorder rsvpRecorder, ShardRouter shardRouter,
+                             PlatformTransactionManager transactionManager) {
         this.invitationRepository = invitationRepository;
+        this.eventRepository = eventRepository;
+        this.fragmentCache = fragmentCache;
+        this.changeLogService = changeLogService;
+        this.auditLog = auditLog;
+        this.rsvpRecorder = rsvpRecorder;
+        this.shardRouter = shardRouter;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    // Send a new invitation (if not already invited). occurrenceStart picks one
+    // occurrence of a recurring event; null invites to the whole series.
+    // Concurrent sends for the same guest are settled by the unique
+    // (event_id, guest_key) constraint: the losing insert rolls back its own
+    // transaction and is reported as already invited, like the pre-check.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<Invitation> sendInvitation(Event event, String guestName, String guestEmail, String guestPhone,
+                                               LocalDateTime occurrenceStart) {
+        try {
+            return shardRouter.onShardOfEvent(event.getEventId(), () -> writeTransaction.execute(status -> {
+                shardRouter.requireWritable(event.getCreatedBy());
+                return insertInvitation(event, guestName, guestEmail, guestPhone, occurrenceStart);
+            }));
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateGuest(e)) {
+                return Optional.empty(); // invited by a concurrent request
+            }
+            throw e;
+        }
     }
 
-    // Send a new invitation (if not already invited)
-    public Optional<Invitation> sendInvitation(Event event, String guestName, String guestEmail, String guestPhone) {
-        // Check for existing invitation
-        if (guestEmail != null) {
-            Optional<Invitation> existing = invitationRepository.findByEventAndGuestEmail(event, guestEmail);
-            if (existing.isPresent()) {
+    private Optional<Invitation> insertInvitation(Event event, String guestName, String guestEmail, String guestPhone,
+                                                  LocalDateTime occurrenceStart) {
+        // Already invited to the whole series, or to this one occurrence; guests
+        // without an email have no key and are always invited
+        String seriesKey = Invitation.guestKey(guestEmail, null);
+        if (seriesKey != null) {
+            boolean invited = invitationRepository.existsByEventAndGuestKey(event, seriesKey)
+                    || (occurrenceStart != null && invitationRepository.existsByEventAndGuestKey(event,
+                            Invitation.guestKey(guestEmail, occurrenceStart)));
+            if (invited) {
                 return Optional.empty(); // already invited
             }
         }
 
         Invitation invitation = new Invitation(event, guestName, guestEmail, guestPhone);
+        invitation.setOccurrenceStart(occurrenceStart);
         Invitation saved = invitationRepository.save(invitation);
+        changeLogService.recordInvitation(saved, Operation.UPSERT);
+        rsvpRecorder.changed(event.getEventId(), null, State.of(saved));
+        auditLog.record(Action.INVITATION_SENT, event.getCreatedBy().getUserId(), event.getEventId(),
+                saved.getInvitationId(), guestEmail);
         return Optional.of(saved);
     }
 
+    private static boolean isDuplicateGuest(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            String constraint = cause instanceof ConstraintViolationException violation
+                    ? violation.getConstraintName() : cause.getMessage();
+            if (constraint != null && constraint.toLowerCase(Locale.ROOT).contains(Invitation.UNIQUE_GUEST)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     // Get all invitations for an event
     public List<Invitation> getInvitationsByEvent(Event event) {
-        return invitationRepository.findByEvent(event);
+        return shardRouter.onShardOfEvent(event.getEventId(), () -> invitationRepository.findByEvent(event));
+    }
+
+    // Guest list with only the requested fields selected
+    public List<Map<String, Object>> getInvitationFieldsByEvent(Event event, Set<String> fields) {
+        return shardRouter.onShardOfEvent(event.getEventId(),
+                () -> invitationRepository.findFieldsByEvent(event.getEventId(), fields));
     }
 
-    // Get invitations for a guest by email
-    public List<Invitation> getInvitationsByGuestEmail(String guestEmail) {
-        return invitationRepository.findByGuestEmail(guestEmail);
+    // Invitations addressed to the user's email across all events, newest first.
+    // One indexed join query per shard (guests span owners); shard id ranges
+    // do not overlap, so merging by id keeps the cursor valid everywhere.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public InvitationInboxDto getInbox(User user, Long cursor, int size) {
+        String email = Invitation.normalizeEmail(user.getEmail());
+        if (email == null) {
+            return new InvitationInboxDto(List.of(), null);
+        }
+        long before = cursor != null ? cursor : Long.MAX_VALUE;
+
+        List<Invitation> rows = shardRouter.fanOut(() -> invitationRepository.findInbox(email, before, Limit.of(size + 1)))
+                .stream()
+                .sorted(Comparator.comparing(Invitation::getInvitationId).reversed())
+                .limit(size + 1)
+                .toList();
+
+        List<Invitation> page = rows.size() > size ? rows.subList(0, size) : rows;
+        Long nextCursor = rows.size() > size ? page.get(page.size() - 1).getInvitationId() : null;
+        return new InvitationInboxDto(page.stream()
+                .map(invitation -> new InvitationWithEventDto(new EventDto(invitation.getEvent()), new InvitationDto(invitation)))
+                .toList(), nextCursor);
     }
 
-    // Respond to an invitation (RSVP)
+    // Respond to an invitation (RSVP). A YES takes a seat through one conditional
+    // UPDATE on the event row, or lands on the waitlist when the event is full;
+    // leaving YES frees the seat for the longest-waiting guest. Every path that
+    // touches seats updates the event row before the invitation row, so
+    // concurrent responses cannot deadlock, and the invitation update is
+    // conditional on the status read, so a lost race rolls back its seat change.
+    @Transactional
     public Optional<Invitation> respondToInvitation(Long invitationId, RSVPStatus rsvpStatus) {
-        Optional<Invitation> optionalInvitation = invitationRepository.findById(invitationId);
+        if (rsvpStatus == RSVPStatus.WAITLISTED) {
+            throw new IllegalArgumentException("WAITLISTED is assigned by the server");
+        }
+        return shardRouter.onShardOfInvitation(invitationId, () -> {
+            Optional<Invitation> optionalInvitation = getInvitationById(invitationId);
 
-        if (optionalInvitation.isPresent()) {
-            Invitation invitation = optionalInvitation.get();
-            invitation.setRsvpStatus(rsvpStatus);
-            invitation.setRespondedAt(LocalDateTime.now());
-            return Optional.of(invitationRepository.save(invitation));
+            if (optionalInvitation.isPresent()) {
+                Invitation invitation = optionalInvitation.get();
+                shardRouter.requireWritable(invitation.getEvent().getCreatedBy());
+                applyResponse(invitation, rsvpStatus);
+                return invitationRepository.findById(invitationId);
+            }
+
+            return Optional.<Invitation>empty();
+        });
+    }
+
+    private void applyResponse(Invitation invitation, RSVPStatus requested) {
+        Long eventId = invitation.getEvent().getEventId();
+        RSVPStatus previous = invitation.getRsvpStatus();
+        RSVPStatus next = requested;
+        State before = State.of(invitation);
+
+        boolean releasing = previous == RSVPStatus.YES && requested != RSVPStatus.YES;
+        if (requested == RSVPStatus.YES && previous != RSVPStatus.YES) {
+            next = eventRepository.tryTakeSeat(eventId) == 1 ? RSVPStatus.YES : RSVPStatus.WAITLISTED;
+        } else if (releasing) {
+            eventRepository.releaseSeat(eventId);
+        }
+
+        // The same answer again, or a waitlisted YES that still finds no seat: nothing
+        // changes, and respondedAt keeps the guest's place on the waitlist
+        if (next == previous) {
+            return;
+        }
+
+        LocalDateTime respondedAt = LocalDateTime.now();
+        if (invitationRepository.updateStatus(invitation.getInvitationId(), previous, next, respondedAt) == 0) {
+            throw new IllegalStateException("Invitation was changed by another request, please retry");
         }
+        changeLogService.recordInvitation(invitation, Operation.UPSERT);
+        rsvpRecorder.changed(eventId, before, new State(next, invitation.getInvitationSentAt(), respondedAt));
+        // Guests answer without an account, so there is no actor id
+        auditLog.record(Action.RSVP_CHANGED, null, eventId, invitation.getInvitationId(), previous + "->" + next);
 
-        return Optional.empty();
+        if (releasing) {
+            promoteFromWaitlist(eventId);
+        }
     }
 
-    // Get invitation by ID
+    // Fills a freed seat from the waitlist; the caller already holds the event row
+    private void promoteFromWaitlist(Long eventId) {
+        for (Invitation candidate : invitationRepository.findWaitlisted(eventId, Limit.of(PROMOTION_CANDIDATES))) {
+            if (eventRepository.tryTakeSeat(eventId) == 0) {
+                return;
+            }
+            if (invitationRepository.updateStatus(candidate.getInvitationId(), RSVPStatus.WAITLISTED, RSVPStatus.YES,
+                    candidate.getRespondedAt()) == 1) {
+                changeLogService.recordInvitation(candidate, Operation.UPSERT);
+                rsvpRecorder.changed(eventId,
+                        new State(RSVPStatus.WAITLISTED, candidate.getInvitationSentAt(), candidate.getRespondedAt()),
+                        new State(RSVPStatus.YES, candidate.getInvitationSentAt(), candidate.getRespondedAt()));
+                auditLog.record(Action.RSVP_CHANGED, null, eventId, candidate.getInvitationId(), "WAITLISTED->YES (promoted)");
+                return;
+            }
+            // That guest changed their answer meanwhile; give the seat back and try the next one
+            eventRepository.releaseSeat(eventId);
+        }
+    }
+
+    // Get invitation by ID (invitations of a deleted event are gone for callers)
     public Optional<Invitation> getInvitationById(Long id) {
-        return invitationRepository.findById(id);
+        return shardRouter.onShardOfInvitation(id, () -> invitationRepository.findById(id))
+                .filter(invitation -> invitation.getEvent().getDeletedAt() == null);
     }
     
-    // Delete invitation by ID
-    public void deleteInvitation(Long id) {
-        invitationRepository.deleteById(id);
+    // Delete an invitation; a guest holding a seat frees it for the waitlist
+    @Transactional
+    public void deleteInvitation(Invitation invitation) {
+        Long id = invitation.getInvitationId();
+        Long eventId = invitation.getEvent().getEventId();
+        shardRouter.onShardOfInvitation(id, () -> {
+            shardRouter.requireWritable(invitation.getEvent().getCreatedBy());
+            // Event row first, as in respondToInvitation; the status read after it is stable
+            eventRepository.lockById(eventId);
+            Optional<Invitation> current = invitationRepository.findById(id);
+            boolean heldSeat = current
+                    .map(row -> row.getRsvpStatus() == RSVPStatus.YES)
+                    .orElse(false);
+            invitationRepository.deleteById(id);
+            changeLogService.recordInvitation(invitation, Operation.DELETE);
+            current.ifPresent(row -> rsvpRecorder.changed(eventId, State.of(row), null));
+            auditLog.record(Action.INVITATION_DELETED, invitation.getEvent().getCreatedBy().getUserId(), eventId, id, null);
+            if (heldSeat) {
+                eventRepository.releaseSeat(eventId);
+                promoteFromWaitlist(eventId);
+            }
+            return null;
+        });
+        fragmentCache.evictInvitation(id);
     }
 }
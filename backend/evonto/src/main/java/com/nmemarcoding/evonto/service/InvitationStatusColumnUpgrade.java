@@ -0,0 +1,55 @@
+package com.nmemarcoding.evonto.service;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.nmemarcoding.evonto.shard.ShardRouter;
+
+import jakarta.annotation.PostConstruct;
+
+// Hibernate used to create rsvp_status as a native MySQL ENUM of the statuses
+// known at the time, and ddl-auto=update never changes a column type, so
+// WAITLISTED could not be written. Converts such columns to VARCHAR once, on
+// every shard, before the app serves requests; a no-op afterwards. The ALTER
+// rebuilds the table, so a large invitations table takes a while the first time.
+@Component
+public class InvitationStatusColumnUpgrade {
+
+    private static final Logger log = LoggerFactory.getLogger(InvitationStatusColumnUpgrade.class);
+
+    private static final List<String> TABLES = List.of("invitations", "invitations_archive");
+
+    private final JdbcTemplate jdbc;
+    private final ShardRouter shardRouter;
+
+    // The router depends on the JPA repositories, so Hibernate has created or updated the schema by now
+    public InvitationStatusColumnUpgrade(DataSource dataSource, ShardRouter shardRouter) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.shardRouter = shardRouter;
+    }
+
+    @PostConstruct
+    public void upgrade() {
+        shardRouter.onEachShard(shard -> {
+            for (String table : TABLES) {
+                try {
+                    List<String> types = jdbc.queryForList("SELECT DATA_TYPE FROM information_schema.COLUMNS " +
+                            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND COLUMN_NAME = 'rsvp_status'",
+                            String.class, table);
+                    if (!types.isEmpty() && "enum".equalsIgnoreCase(types.get(0))) {
+                        jdbc.execute("ALTER TABLE " + table + " MODIFY rsvp_status VARCHAR(16) NOT NULL");
+                        log.info("Converted {}.rsvp_status from ENUM to VARCHAR{}", table, shard != null ? " on " + shard : "");
+                    }
+                } catch (Exception e) {
+                    log.warn("Could not check {}.rsvp_status{}: {}", table, shard != null ? " on " + shard : "", e.getMessage());
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,77 @@
+package com.nmemarcoding.evonto.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.nmemarcoding.evonto.model.Event;
+import com.nmemarcoding.evonto.model.Reminder;
+import com.nmemarcoding.evonto.recurrence.RecurrenceExpander;
+import com.nmemarcoding.evonto.repository.ReminderRepository;
+
+// Keeps the reminders table in step with events: one pending row per
+// configured offset, for the next occurrence whose reminder time is still
+// ahead. Called inside the caller's transaction on the event's shard;
+// ReminderEngine picks new rows up from there.
+@Service
+@Transactional(readOnly = true)
+public class ReminderService {
+
+    private final ReminderRepository reminderRepository;
+    private final List<Duration> offsets;
+
+    public ReminderService(ReminderRepository reminderRepository,
+                           @Value("${reminders.offsets:24h,1h}") List<Duration> offsets) {
+        this.reminderRepository = reminderRepository;
+        this.offsets = List.copyOf(offsets);
+    }
+
+    @Transactional
+    public void scheduleFor(Event event) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Reminder> reminders = new ArrayList<>();
+        for (Duration offset : offsets) {
+            nextOccurrence(event, now.plus(offset))
+                    .ifPresent(start -> reminders.add(new Reminder(event.getEventId(), start, offset.toMinutes())));
+        }
+        reminderRepository.saveAll(reminders);
+    }
+
+    @Transactional
+    public void cancelFor(Long eventId) {
+        reminderRepository.deleteByEventId(eventId);
+    }
+
+    // For when event times can be edited: drop the pending rows and start over
+    @Transactional
+    public void reschedule(Event event) {
+        cancelFor(event.getEventId());
+        scheduleFor(event);
+    }
+
+    // Same offset, next occurrence of a recurring event; empty for a single event
+    // or once the series is over
+    public Optional<Reminder> nextAfter(Event event, Reminder sent) {
+        if (event.getRecurrenceFrequency() == null) {
+            return Optional.empty();
+        }
+        LocalDateTime earliest = LocalDateTime.now().plusMinutes(sent.getOffsetMinutes());
+        LocalDateTime after = sent.getOccurrenceStart().isAfter(earliest) ? sent.getOccurrenceStart() : earliest;
+        return nextOccurrence(event, after)
+                .map(start -> new Reminder(event.getEventId(), start, sent.getOffsetMinutes()));
+    }
+
+    // First occurrence starting strictly after the given time
+    private static Optional<LocalDateTime> nextOccurrence(Event event, LocalDateTime after) {
+        return RecurrenceExpander.occurrences(event, after, LocalDateTime.MAX)
+                .map(RecurrenceExpander.Occurrence::start)
+                .filter(start -> start.isAfter(after))
+                .findFirst();
+    }
+}
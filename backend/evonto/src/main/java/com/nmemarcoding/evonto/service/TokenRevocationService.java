@@ -0,0 +1,126 @@
+package com.nmemarcoding.evonto.service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.nmemarcoding.evonto.model.RevokedToken;
+import com.nmemarcoding.evonto.repository.RevokedTokenRepository;
+import com.nmemarcoding.evonto.util.JwtUtil;
+import com.nmemarcoding.evonto.util.TokenRevocationList;
+import com.nmemarcoding.evonto.util.TokenRevocationList.Revocation;
+
+import jakarta.annotation.PostConstruct;
+
+// Logout and "log out everywhere". Revocations are written to revoked_tokens
+// and applied to this instance's TokenRevocationList after commit; other
+// instances pick them up on their next sync (auth.revocation.sync-interval-ms).
+// revoked_tokens lives on the default shard with the users.
+@Service
+@Transactional(readOnly = true)
+public class TokenRevocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    // Rows revoked this recently are read again on every sync, see RevokedTokenRepository
+    private static final long RESYNC_WINDOW_MS = 60_000;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TokenRevocationList revocations;
+    private final long tokenTtlMs;
+
+    private long lastSeenId;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository, TokenRevocationList revocations,
+                                  JwtUtil jwtUtil) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.revocations = revocations;
+        this.tokenTtlMs = jwtUtil.getExpirationMillis();
+    }
+
+    // The row is kept until the token would have expired anyway
+    @Transactional
+    public void revokeToken(String jti, Date expiresAt) {
+        long now = System.currentTimeMillis();
+        Revocation revocation = new Revocation(jti, null, now, expiresAt.getTime());
+        revokedTokenRepository.save(toRow(revocation));
+        afterCommit(() -> revocations.addAll(List.of(revocation)));
+    }
+
+    // Every token of the user issued up to now, including the caller's
+    @Transactional
+    public void revokeAllForUser(String username) {
+        long now = System.currentTimeMillis();
+        Revocation revocation = new Revocation(null, username, now, now + tokenTtlMs);
+        revokedTokenRepository.save(toRow(revocation));
+        afterCommit(() -> revocations.addAll(List.of(revocation)));
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${auth.revocation.sync-interval-ms:5000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public synchronized void sync() {
+        try {
+            long now = System.currentTimeMillis();
+            List<RevokedToken> rows = revokedTokenRepository.findUnexpiredSince(lastSeenId,
+                    toLocal(now - RESYNC_WINDOW_MS), toLocal(now));
+            for (RevokedToken row : rows) {
+                lastSeenId = Math.max(lastSeenId, row.getId());
+            }
+            revocations.addAll(rows.stream()
+                    .map(row -> new Revocation(row.getJti(), row.getUsername(),
+                            toMillis(row.getRevokedAt()), toMillis(row.getExpiresAt())))
+                    .toList());
+            revocations.removeExpired(now);
+        } catch (Exception e) {
+            log.warn("Token revocation sync failed: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${auth.revocation.cleanup-interval-ms:3600000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void removeExpired() {
+        try {
+            revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        } catch (Exception e) {
+            log.warn("Removing expired token revocations failed: {}", e.getMessage());
+        }
+    }
+
+    private static RevokedToken toRow(Revocation revocation) {
+        return new RevokedToken(revocation.jti(), revocation.username(),
+                toLocal(revocation.revokedAt()), toLocal(revocation.expiresAt()));
+    }
+
+    private static LocalDateTime toLocal(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+}
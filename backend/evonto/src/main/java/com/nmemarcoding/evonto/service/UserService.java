@@ -4,33 +4,48 @@ import java.util.Optional;
 
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.nmemarcoding.evonto.audit.AuditLog;
+import com.nmemarcoding.evonto.audit.AuditRecord.Action;
 import com.nmemarcoding.evonto.model.User;
 import com.nmemarcoding.evonto.repository.UserRepository;
+import com.nmemarcoding.evonto.trace.RequestTrace;
 
 
 
 
 
 @Service
+@Transactional(readOnly = true)
 public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder encoder;
+    private final AuditLog auditLog;
 
-    public UserService(UserRepository userRepository, PasswordEncoder encoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder encoder, AuditLog auditLog) {
         this.userRepository = userRepository;
         this.encoder = encoder;
+        this.auditLog = auditLog;
     }
 
+    @Transactional
     public User register(User user) {
         // Encode the password and save it as passwordHash
         user.setPasswordHash(encoder.encode(user.getPassword()));
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        auditLog.record(Action.USER_REGISTERED, saved.getUserId(), null, null, saved.getUsername());
+        return saved;
     }
 
     public Optional<User> findByUsername(String username) {
-        return userRepository.findByUsername(username);
+        long start = RequestTrace.start();
+        try {
+            return userRepository.findByUsername(username);
+        } finally {
+            RequestTrace.stop("user", start);
+        }
     }
 
     public Optional<User> findByEmail(String email) {
@@ -0,0 +1,30 @@
+package com.nmemarcoding.evonto.shard;
+
+import java.util.function.Supplier;
+
+// Shard the current thread's next connection should come from. Read by
+// ShardRoutingDataSource when a physical connection is actually opened.
+public final class ShardContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {}
+
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    public static <T> T callOn(String shard, Supplier<T> action) {
+        String previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.nmemarcoding.evonto.shard;
+
+import java.util.Collections;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+// The physical DataSource of every shard, by name
+public class ShardDataSources {
+
+    private final Map<String, DataSource> dataSources;
+
+    public ShardDataSources(Map<String, DataSource> dataSources) {
+        this.dataSources = Collections.unmodifiableMap(dataSources);
+    }
+
+    public DataSource get(String shard) {
+        DataSource dataSource = dataSources.get(shard);
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Unknown shard: " + shard);
+        }
+        return dataSource;
+    }
+
+    public Map<String, DataSource> all() {
+        return dataSources;
+    }
+}
@@ -0,0 +1,338 @@
+package com.nmemarcoding.evonto.shard;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Answers "which shard owns this?" without touching a database.
+//  - users: consistent-hash ring over the configured shards
+//  - events/invitations: the shard whose id range contains the id
+//  - owners moved by ShardMigrationService: one shard_owners row each on the
+//    default shard, holding their shard and their event and invitation ids as
+//    runs of consecutive ids. Every instance reloads changed rows every
+//    sharding.directory-refresh-ms.
+// The row is also the owner's migration lock. Writes check it in the database
+// (acceptsWrites), so a move is seen by every instance the moment it starts.
+// Flips also bump the shard_directory version, and every instance records the
+// version it last loaded in shard_directory_readers, so a move can tell when
+// all of them route to the new shard.
+@Component
+public class ShardDirectory {
+
+    // Where an owner lives and what is happening to them, as the database has it now
+    public record OwnerState(String home, String migratingTo, String pendingCleanup) {}
+
+    private record MovedOwner(long version, String shard, String eventIds, String invitationIds, long syncFloor) {}
+
+    private record Run(long last, String shard) {}
+
+    // Immutable, swapped on refresh so lookups never lock
+    private record Snapshot(Map<Long, MovedOwner> owners, NavigableMap<Long, Run> events, NavigableMap<Long, Run> invitations) {}
+
+    private static final int LOAD_CHUNK = 500;
+
+    // An instance that has not refreshed for this many intervals is taken to be gone
+    private static final int STALL_INTERVALS = 10;
+
+    private final ShardingProperties properties;
+    private final ObjectProvider<ShardDataSources> shardDataSources;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private ConsistentHashRing ring;
+    private final TreeMap<Long, String> idRanges = new TreeMap<>();
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), Collections.emptyNavigableMap(), Collections.emptyNavigableMap());
+
+    public ShardDirectory(ShardingProperties properties, ObjectProvider<ShardDataSources> shardDataSources) {
+        this.properties = properties;
+        this.shardDataSources = shardDataSources;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!isEnabled()) {
+            return;
+        }
+        ring = new ConsistentHashRing(properties.getShards().keySet(), properties.getVirtualNodes());
+        properties.getShards().forEach((name, shard) -> idRanges.put(shard.getIdBase(), name));
+
+        directoryJdbc().execute("CREATE TABLE IF NOT EXISTS shard_owners (" +
+                "user_id BIGINT NOT NULL PRIMARY KEY, shard VARCHAR(64), event_ids LONGTEXT, invitation_ids LONGTEXT, " +
+                "sync_floor BIGINT NOT NULL DEFAULT 0, migrating_to VARCHAR(64), migrating_since BIGINT, " +
+                "pending_cleanup VARCHAR(64), version BIGINT NOT NULL DEFAULT 0)");
+        directoryJdbc().execute("CREATE TABLE IF NOT EXISTS shard_directory (id INT NOT NULL PRIMARY KEY, version BIGINT NOT NULL)");
+        directoryJdbc().execute("CREATE TABLE IF NOT EXISTS shard_directory_readers (" +
+                "instance_id VARCHAR(64) NOT NULL PRIMARY KEY, loaded_version BIGINT NOT NULL, refreshes BIGINT NOT NULL)");
+        try {
+            directoryJdbc().update("INSERT INTO shard_directory (id, version) VALUES (1, 0)");
+        } catch (DuplicateKeyException e) {
+            // Created by another instance
+        }
+        refresh();
+    }
+
+    @PreDestroy
+    public void leave() {
+        if (isEnabled()) {
+            directoryJdbc().update("DELETE FROM shard_directory_readers WHERE instance_id = ?", instanceId);
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public List<String> shards() {
+        return List.copyOf(properties.getShards().keySet());
+    }
+
+    public String defaultShard() {
+        return properties.getDefaultShard();
+    }
+
+    // All lookups return null when sharding is off, meaning "the only DataSource"
+    public String shardOfUser(Long userId) {
+        if (!isEnabled()) {
+            return null;
+        }
+        MovedOwner moved = snapshot.owners().get(userId);
+        return moved != null && moved.shard() != null ? moved.shard() : ring.shardFor("user:" + userId);
+    }
+
+    public String shardOfEvent(Long eventId) {
+        return shardOfId(snapshot.events(), eventId);
+    }
+
+    public String shardOfInvitation(Long invitationId) {
+        return shardOfId(snapshot.invitations(), invitationId);
+    }
+
+    private String shardOfId(NavigableMap<Long, Run> moved, Long id) {
+        if (!isEnabled() || id == null) {
+            return null;
+        }
+        Map.Entry<Long, Run> run = moved.floorEntry(id);
+        if (run != null && id <= run.getValue().last()) {
+            return run.getValue().shard();
+        }
+        Map.Entry<Long, String> range = idRanges.floorEntry(id);
+        return range != null ? range.getValue() : defaultShard();
+    }
+
+    // Change log ids up to this one were issued by the owner's previous shard,
+    // so sync cursors below it must reload; 0 for owners never moved
+    public long syncFloorOf(Long userId) {
+        MovedOwner moved = snapshot.owners().get(userId);
+        return moved != null ? moved.syncFloor() : 0;
+    }
+
+    // Loads shard_owners rows whose version changed since the last refresh, then
+    // records the directory version read before loading them
+    @Scheduled(fixedDelayString = "${sharding.directory-refresh-ms:1000}")
+    public synchronized void refresh() {
+        if (!isEnabled()) {
+            return;
+        }
+        JdbcTemplate jdbc = directoryJdbc();
+        long version = currentVersion();
+        reload(jdbc);
+        if (jdbc.update("UPDATE shard_directory_readers SET loaded_version = ?, refreshes = refreshes + 1 WHERE instance_id = ?",
+                version, instanceId) == 0) {
+            jdbc.update("INSERT INTO shard_directory_readers (instance_id, loaded_version, refreshes) VALUES (?, ?, 0)",
+                    instanceId, version);
+        }
+    }
+
+    public long currentVersion() {
+        return directoryJdbc().queryForObject("SELECT version FROM shard_directory WHERE id = 1", Long.class);
+    }
+
+    // Waits until every instance has loaded the directory at this version or
+    // later. An instance that makes no refresh for STALL_INTERVALS intervals
+    // while behind is taken to be gone and dropped from the readers.
+    public void awaitLoaded(long version) {
+        JdbcTemplate jdbc = directoryJdbc();
+        Map<String, Long> refreshesAtStart = new HashMap<>();
+        long start = System.currentTimeMillis();
+        while (true) {
+            Map<String, Long> behind = new HashMap<>();
+            jdbc.query("SELECT instance_id, refreshes FROM shard_directory_readers WHERE loaded_version < ?", rs -> {
+                behind.put(rs.getString("instance_id"), rs.getLong("refreshes"));
+            }, version);
+            boolean stallTimeUp = System.currentTimeMillis() - start >= STALL_INTERVALS * properties.getDirectoryRefreshMs();
+            behind.forEach((instance, refreshes) -> {
+                Long atStart = refreshesAtStart.putIfAbsent(instance, refreshes);
+                if (stallTimeUp && refreshes.equals(atStart)) {
+                    jdbc.update("DELETE FROM shard_directory_readers WHERE instance_id = ? AND refreshes = ?", instance, refreshes);
+                }
+            });
+            if (behind.isEmpty()) {
+                return;
+            }
+            try {
+                Thread.sleep(Math.max(10, properties.getDirectoryRefreshMs() / 4));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for directory version " + version, e);
+            }
+        }
+    }
+
+    private void reload(JdbcTemplate jdbc) {
+        Map<Long, Long> versions = new HashMap<>();
+        jdbc.query("SELECT user_id, version FROM shard_owners", rs -> {
+            versions.put(rs.getLong("user_id"), rs.getLong("version"));
+        });
+
+        Snapshot current = snapshot;
+        List<Long> changed = new ArrayList<>();
+        versions.forEach((userId, version) -> {
+            MovedOwner known = current.owners().get(userId);
+            if (known == null || known.version() != version) {
+                changed.add(userId);
+            }
+        });
+        if (changed.isEmpty() && versions.size() == current.owners().size()) {
+            return;
+        }
+
+        Map<Long, MovedOwner> owners = new HashMap<>(current.owners());
+        owners.keySet().retainAll(versions.keySet());
+        for (int from = 0; from < changed.size(); from += LOAD_CHUNK) {
+            List<Long> chunk = changed.subList(from, Math.min(changed.size(), from + LOAD_CHUNK));
+            jdbc.query("SELECT user_id, version, shard, event_ids, invitation_ids, sync_floor FROM shard_owners " +
+                       "WHERE user_id IN (" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")", rs -> {
+                owners.put(rs.getLong("user_id"), new MovedOwner(rs.getLong("version"), rs.getString("shard"),
+                        rs.getString("event_ids"), rs.getString("invitation_ids"), rs.getLong("sync_floor")));
+            }, chunk.toArray());
+        }
+
+        NavigableMap<Long, Run> events = new TreeMap<>();
+        NavigableMap<Long, Run> invitations = new TreeMap<>();
+        owners.values().stream().filter(owner -> owner.shard() != null).forEach(owner -> {
+            addRuns(events, owner.eventIds(), owner.shard());
+            addRuns(invitations, owner.invitationIds(), owner.shard());
+        });
+        snapshot = new Snapshot(Map.copyOf(owners), Collections.unmodifiableNavigableMap(events),
+                Collections.unmodifiableNavigableMap(invitations));
+    }
+
+    public OwnerState ownerState(Long userId) {
+        List<OwnerState> rows = directoryJdbc().query(
+                "SELECT shard, migrating_to, pending_cleanup FROM shard_owners WHERE user_id = ?",
+                (rs, i) -> new OwnerState(rs.getString("shard"), rs.getString("migrating_to"), rs.getString("pending_cleanup")),
+                userId);
+        OwnerState row = rows.isEmpty() ? new OwnerState(null, null, null) : rows.get(0);
+        String home = row.home() != null ? row.home() : ring.shardFor("user:" + userId);
+        return new OwnerState(home, row.migratingTo(), row.pendingCleanup());
+    }
+
+    public boolean isMigrating(Long userId) {
+        return isEnabled() && ownerState(userId).migratingTo() != null;
+    }
+
+    // False while the owner is being moved, or when this instance routed the
+    // write to a shard that is no longer theirs (it then reloads the directory)
+    public boolean acceptsWrites(Long userId, String shard) {
+        OwnerState state = ownerState(userId);
+        if (state.migratingTo() != null) {
+            return false;
+        }
+        if (shard != null && !shard.equals(state.home())) {
+            refresh();
+            return false;
+        }
+        return true;
+    }
+
+    // Takes the owner's migration lock; false if another move holds it and has
+    // not timed out
+    public boolean claimMove(Long userId, String targetShard) {
+        JdbcTemplate jdbc = directoryJdbc();
+        try {
+            jdbc.update("INSERT INTO shard_owners (user_id) VALUES (?)", userId);
+        } catch (DuplicateKeyException e) {
+            // Moved or locked before
+        }
+        long now = System.currentTimeMillis();
+        return jdbc.update("UPDATE shard_owners SET migrating_to = ?, migrating_since = ?, version = version + 1 " +
+                           "WHERE user_id = ? AND (migrating_to IS NULL OR migrating_since < ?)",
+                targetShard, now, userId, now - properties.getMigrationTimeoutMs()) == 1;
+    }
+
+    // Points the owner and all their ids at the target in one row update,
+    // remembering that the source rows still have to go. Returns the directory
+    // version an instance must have loaded to route to the target.
+    public long flip(Long userId, String targetShard, Collection<Long> eventIds, Collection<Long> invitationIds,
+                     long syncFloor, String sourceShard) {
+        JdbcTemplate jdbc = directoryJdbc();
+        jdbc.update("UPDATE shard_owners SET shard = ?, event_ids = ?, invitation_ids = ?, sync_floor = ?, " +
+                    "pending_cleanup = ?, version = version + 1 WHERE user_id = ?",
+                targetShard, encodeRuns(eventIds), encodeRuns(invitationIds), syncFloor, sourceShard, userId);
+        jdbc.update("UPDATE shard_directory SET version = version + 1 WHERE id = 1");
+        long version = currentVersion();
+        refresh();
+        return version;
+    }
+
+    public void cleanupDone(Long userId) {
+        directoryJdbc().update("UPDATE shard_owners SET pending_cleanup = NULL, version = version + 1 WHERE user_id = ?", userId);
+    }
+
+    public void releaseMove(Long userId) {
+        directoryJdbc().update("UPDATE shard_owners SET migrating_to = NULL, migrating_since = NULL, version = version + 1 " +
+                               "WHERE user_id = ?", userId);
+    }
+
+    // "1-5,9,12-13": ids created together are mostly consecutive, so an owner
+    // with many invitations still takes a short string and a few map entries
+    static String encodeRuns(Collection<Long> ids) {
+        List<Long> sorted = ids.stream().distinct().sorted().toList();
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < sorted.size(); ) {
+            int j = i;
+            while (j + 1 < sorted.size() && sorted.get(j + 1) == sorted.get(j) + 1) {
+                j++;
+            }
+            if (out.length() > 0) {
+                out.append(',');
+            }
+            out.append(sorted.get(i));
+            if (j > i) {
+                out.append('-').append(sorted.get(j));
+            }
+            i = j + 1;
+        }
+        return out.toString();
+    }
+
+    private static void addRuns(NavigableMap<Long, Run> into, String runs, String shard) {
+        if (runs == null || runs.isEmpty()) {
+            return;
+        }
+        for (String run : runs.split(",")) {
+            int dash = run.indexOf('-');
+            long first = Long.parseLong(dash < 0 ? run : run.substring(0, dash));
+            long last = dash < 0 ? first : Long.parseLong(run.substring(dash + 1));
+            into.put(first, new Run(last, shard));
+        }
+    }
+
+    private JdbcTemplate directoryJdbc() {
+        return new JdbcTemplate(shardDataSources.getObject().get(defaultShard()));
+    }
+}
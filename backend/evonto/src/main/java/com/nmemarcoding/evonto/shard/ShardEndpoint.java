@@ -0,0 +1,49 @@
+package com.nmemarcoding.evonto.shard;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+// Operator endpoint at /actuator/shards: lists the shards, looks up a user's
+// shard and moves a user to another shard.
+@Component
+@Endpoint(id = "shards")
+public class ShardEndpoint {
+
+    private final ShardDirectory directory;
+    private final ShardMigrationService migrationService;
+
+    public ShardEndpoint(ShardDirectory directory, ShardMigrationService migrationService) {
+        this.directory = directory;
+        this.migrationService = migrationService;
+    }
+
+    @ReadOperation
+    public Map<String, Object> shards() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", directory.isEnabled());
+        result.put("shards", directory.shards());
+        result.put("defaultShard", directory.defaultShard());
+        return result;
+    }
+
+    @ReadOperation
+    public Map<String, Object> userShard(@Selector Long userId) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("userId", userId);
+        result.put("shard", directory.shardOfUser(userId));
+        result.put("migrating", directory.isMigrating(userId));
+        return result;
+    }
+
+    @WriteOperation
+    public Map<String, Object> moveUser(@Selector Long userId, String targetShard) {
+        migrationService.moveUser(userId, targetShard);
+        return userShard(userId);
+    }
+}
@@ -0,0 +1,200 @@
+package com.nmemarcoding.evonto.shard;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.nmemarcoding.evonto.model.User;
+import com.nmemarcoding.evonto.repository.UserRepository;
+import com.nmemarcoding.evonto.shard.ShardDirectory.OwnerState;
+
+// Moves one owner's rows to another shard while the app keeps serving:
+//  1. The owner's shard_owners row is claimed. From then on every instance
+//     answers the owner's writes with a 503 (ShardRouter checks the row inside
+//     each write), and the move waits on the owner's user row for writes that
+//     got past the check just before.
+//  2. Every owner-scoped table is copied to the target in one transaction.
+//  3. The row flips to the target with the owner's event and invitation ids,
+//     and the move waits until every instance has loaded the flip.
+//  4. The source rows are deleted and the row released.
+// Reads stay on the source until an instance picks up the flip. Change log
+// entries are not copied: the owner's sync clients reload once instead.
+@Service
+public class ShardMigrationService {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardMigrationService.class);
+
+    // Rows belonging to one owner, parents first; copied without the columns
+    // in `generated` so the target assigns them
+    private record OwnerTable(String table, String where, List<String> generated) {}
+
+    private static final String OF_EVENTS = "event_id IN (SELECT event_id FROM events WHERE created_by = ?)";
+
+    private static final List<OwnerTable> OWNER_TABLES = List.of(
+            new OwnerTable("events", "created_by = ?", List.of()),
+            new OwnerTable("invitations", OF_EVENTS, List.of()),
+            new OwnerTable("reminders", OF_EVENTS, List.of("id")),
+            new OwnerTable("rsvp_counters", OF_EVENTS, List.of()),
+            new OwnerTable("events_archive", "created_by = ?", List.of()),
+            new OwnerTable("invitations_archive",
+                    "event_id IN (SELECT event_id FROM events_archive WHERE created_by = ?)", List.of()));
+
+    private final ShardDirectory directory;
+    private final ObjectProvider<ShardDataSources> shardDataSources;
+    private final UserRepository userRepository;
+
+    public ShardMigrationService(ShardDirectory directory, ObjectProvider<ShardDataSources> shardDataSources,
+                                 UserRepository userRepository) {
+        this.directory = directory;
+        this.shardDataSources = shardDataSources;
+        this.userRepository = userRepository;
+    }
+
+    public void moveUser(Long userId, String targetShard) {
+        if (!directory.isEnabled()) {
+            throw new IllegalStateException("Sharding is disabled");
+        }
+        if (!directory.shards().contains(targetShard)) {
+            throw new IllegalArgumentException("Unknown shard: " + targetShard);
+        }
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
+
+        if (!directory.claimMove(userId, targetShard)) {
+            throw new IllegalStateException("User " + userId + " is already being moved");
+        }
+        try {
+            OwnerState state = directory.ownerState(userId);
+            if (state.pendingCleanup() != null && !state.pendingCleanup().equals(state.home())) {
+                // An earlier move flipped but did not get to delete its source rows
+                removeSource(userId, state.pendingCleanup(), directory.currentVersion());
+            }
+            if (!state.home().equals(targetShard)) {
+                move(user, state.home(), targetShard);
+            }
+        } finally {
+            directory.releaseMove(userId);
+        }
+    }
+
+    private void move(User user, String sourceShard, String targetShard) {
+        Long userId = user.getUserId();
+        JdbcTemplate source = jdbc(sourceShard);
+        JdbcTemplate target = jdbc(targetShard);
+
+        // 1. Writes that checked the lock before it was taken hold a shared lock on this row until they commit
+        transaction(sourceShard).executeWithoutResult(status ->
+                source.queryForList("SELECT id FROM users WHERE id = ? FOR UPDATE", userId));
+
+        // 2. Copy in one target transaction, after clearing what an earlier failed attempt left there
+        Map<OwnerTable, List<Map<String, Object>>> rows = new LinkedHashMap<>();
+        for (OwnerTable table : OWNER_TABLES) {
+            rows.put(table, source.queryForList("SELECT * FROM " + table.table() + " WHERE " + table.where(), userId));
+        }
+        transaction(targetShard).executeWithoutResult(status -> {
+            deleteOwnerRows(target, userId);
+            if (!targetShard.equals(directory.defaultShard())) {
+                copyUserRow(target, user);
+            }
+            rows.forEach((table, tableRows) -> insertRows(target, table, tableRows));
+        });
+
+        // Owner change log ids on the target start above every id a client of either shard has seen
+        long sourceMax = lastChangeLogId(source);
+        long targetMax = lastChangeLogId(target);
+        long syncFloor = Math.max(sourceMax, targetMax);
+        target.update("UPDATE change_log_sequence SET last_id = ? WHERE id = 1 AND last_id < ?", sourceMax, sourceMax);
+
+        // 3. Flip and let every instance pick it up; the source still answers reads meanwhile
+        List<Long> eventIds = new ArrayList<>(ids(rows, "events", "event_id"));
+        eventIds.addAll(ids(rows, "events_archive", "event_id"));
+        List<Long> invitationIds = new ArrayList<>(ids(rows, "invitations", "invitation_id"));
+        invitationIds.addAll(ids(rows, "invitations_archive", "invitation_id"));
+        long version = directory.flip(userId, targetShard, eventIds, invitationIds, syncFloor, sourceShard);
+
+        // 4. Remove the source copies
+        removeSource(userId, sourceShard, version);
+
+        log.info("Moved user {} from {} to {} ({} events, {} invitations)",
+                userId, sourceShard, targetShard, eventIds.size(), invitationIds.size());
+    }
+
+    // Once no instance can still route the owner's reads to the source
+    private void removeSource(Long userId, String sourceShard, long flipVersion) {
+        directory.awaitLoaded(flipVersion);
+        JdbcTemplate source = jdbc(sourceShard);
+        transaction(sourceShard).executeWithoutResult(status -> deleteOwnerRows(source, userId));
+        directory.cleanupDone(userId);
+    }
+
+    // Children first; the user row stays, other shards' rows may still reference it
+    private void deleteOwnerRows(JdbcTemplate jdbc, Long userId) {
+        List<OwnerTable> reversed = new ArrayList<>(OWNER_TABLES);
+        Collections.reverse(reversed);
+        jdbc.update("DELETE FROM change_log WHERE owner_id = ?", userId);
+        for (OwnerTable table : reversed) {
+            jdbc.update("DELETE FROM " + table.table() + " WHERE " + table.where(), userId);
+        }
+    }
+
+    private long lastChangeLogId(JdbcTemplate jdbc) {
+        List<Long> last = jdbc.queryForList("SELECT last_id FROM change_log_sequence WHERE id = 1", Long.class);
+        return last.isEmpty() ? 0 : last.get(0);
+    }
+
+    private static List<Long> ids(Map<OwnerTable, List<Map<String, Object>>> rows, String table, String column) {
+        return rows.entrySet().stream()
+                .filter(entry -> entry.getKey().table().equals(table))
+                .flatMap(entry -> entry.getValue().stream())
+                .map(row -> ((Number) row.get(column)).longValue())
+                .toList();
+    }
+
+    private void copyUserRow(JdbcTemplate target, User user) {
+        Integer present = target.queryForObject("SELECT COUNT(*) FROM users WHERE id = ?", Integer.class, user.getUserId());
+        if (present == null || present == 0) {
+            target.update("INSERT INTO users (id, username, email, password_hash, created_at) VALUES (?, ?, ?, ?, ?)",
+                    user.getUserId(), user.getUsername(), user.getEmail(), user.getPasswordHash(), user.getCreatedAt());
+        }
+    }
+
+    // Column list comes from the source rows, so new entity columns are copied without changes here
+    private void insertRows(JdbcTemplate target, OwnerTable table, List<Map<String, Object>> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<String> columns = new ArrayList<>(rows.get(0).keySet());
+        columns.removeIf(column -> table.generated().stream().anyMatch(column::equalsIgnoreCase));
+        String sql = "INSERT INTO " + table.table() + " (" + String.join(", ", columns) + ") VALUES (" + placeholders(columns.size()) + ")";
+        List<Object[]> args = rows.stream().map(row -> columns.stream().map(row::get).toArray()).toList();
+        target.batchUpdate(sql, args);
+    }
+
+    private JdbcTemplate jdbc(String shard) {
+        return new JdbcTemplate(dataSource(shard));
+    }
+
+    private TransactionTemplate transaction(String shard) {
+        return new TransactionTemplate(new DataSourceTransactionManager(dataSource(shard)));
+    }
+
+    private DataSource dataSource(String shard) {
+        return shardDataSources.getObject().get(shard);
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -0,0 +1,141 @@
+package com.nmemarcoding.evonto.shard;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.nmemarcoding.evonto.model.User;
+import com.nmemarcoding.evonto.repository.UserRepository;
+
+// Runs repository work on the shard that owns the data. One transaction must
+// only ever touch one shard: call these before the first query of a
+// transaction, or from outside any transaction for fan-out.
+@Component
+public class ShardRouter {
+
+    private final ShardDirectory directory;
+    private final ObjectProvider<ShardDataSources> shardDataSources;
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyPerShard;
+
+    // Users already copied to a non-default shard, to skip the insert next time
+    private final Set<String> replicatedUsers = ConcurrentHashMap.newKeySet();
+
+    public ShardRouter(ShardDirectory directory, ObjectProvider<ShardDataSources> shardDataSources,
+                       UserRepository userRepository, PlatformTransactionManager transactionManager) {
+        this.directory = directory;
+        this.shardDataSources = shardDataSources;
+        this.userRepository = userRepository;
+        this.readOnlyPerShard = new TransactionTemplate(transactionManager);
+        this.readOnlyPerShard.setReadOnly(true);
+        this.readOnlyPerShard.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public <T> T onShardOfUser(User user, Supplier<T> action) {
+        return on(directory.shardOfUser(user.getUserId()), action);
+    }
+
+    public <T> T onShardOfEvent(Long eventId, Supplier<T> action) {
+        return on(directory.shardOfEvent(eventId), action);
+    }
+
+    public <T> T onShardOfInvitation(Long invitationId, Supplier<T> action) {
+        return on(directory.shardOfInvitation(invitationId), action);
+    }
+
+    public <T> T on(String shard, Supplier<T> action) {
+        return shard == null ? action.get() : ShardContext.callOn(shard, action);
+    }
+
+    // Runs the action once per shard (once in total when sharding is off)
+    public void onEachShard(Consumer<String> action) {
+        if (!directory.isEnabled()) {
+            action.accept(null);
+            return;
+        }
+        for (String shard : directory.shards()) {
+            ShardContext.callOn(shard, () -> {
+                action.accept(shard);
+                return null;
+            });
+        }
+    }
+
+    // Cross-owner read: runs the query on every shard, each in its own
+    // read-only transaction, and concatenates the results
+    public <T> List<T> fanOut(Supplier<List<T>> query) {
+        if (!directory.isEnabled()) {
+            return query.get();
+        }
+        List<T> merged = new ArrayList<>();
+        for (String shard : directory.shards()) {
+            merged.addAll(ShardContext.callOn(shard, () -> readOnlyPerShard.execute(status -> query.get())));
+        }
+        return merged;
+    }
+
+    // Batch read by event id: each shard gets one query for the ids it owns,
+    // in its own read-only transaction; a single query when sharding is off
+    public <T> List<T> fanOutByEvent(Collection<Long> eventIds, Function<List<Long>, List<T>> query) {
+        if (!directory.isEnabled()) {
+            return query.apply(List.copyOf(eventIds));
+        }
+        Map<String, List<Long>> idsByShard = new LinkedHashMap<>();
+        for (Long eventId : eventIds) {
+            idsByShard.computeIfAbsent(directory.shardOfEvent(eventId), shard -> new ArrayList<>()).add(eventId);
+        }
+        List<T> merged = new ArrayList<>();
+        idsByShard.forEach((shard, ids) ->
+                merged.addAll(ShardContext.callOn(shard, () -> readOnlyPerShard.execute(status -> query.apply(ids)))));
+        return merged;
+    }
+
+    // Writes for an owner being moved are refused briefly; reads keep working.
+    // Call inside the write's transaction on the owner's shard, before writing:
+    // the shared lock on the owner row is held until commit, and a move waits
+    // for it exclusively after taking its lock, so no write that got past this
+    // check is still running when the copy starts.
+    public void requireWritable(User owner) {
+        if (owner == null || !directory.isEnabled()) {
+            return;
+        }
+        userRepository.lockShared(owner.getUserId());
+        if (!directory.acceptsWrites(owner.getUserId(), ShardContext.current())) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Account is being migrated, please retry shortly");
+        }
+    }
+
+    // Events reference users by foreign key, so the owner row must exist on
+    // their shard. Users live on the default shard and are copied on demand.
+    public void ensureUserOnShard(User user) {
+        String shard = directory.shardOfUser(user.getUserId());
+        if (shard == null || shard.equals(directory.defaultShard()) || replicatedUsers.contains(shard + ":" + user.getUserId())) {
+            return;
+        }
+        JdbcTemplate jdbc = new JdbcTemplate(shardDataSources.getObject().get(shard));
+        try {
+            jdbc.update("INSERT INTO users (id, username, email, password_hash, created_at) VALUES (?, ?, ?, ?, ?)",
+                    user.getUserId(), user.getUsername(), user.getEmail(), user.getPasswordHash(), user.getCreatedAt());
+        } catch (DuplicateKeyException e) {
+            // Already there
+        }
+        replicatedUsers.add(shard + ":" + user.getUserId());
+    }
+}
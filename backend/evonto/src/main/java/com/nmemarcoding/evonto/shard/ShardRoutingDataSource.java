@@ -0,0 +1,13 @@
+package com.nmemarcoding.evonto.shard;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+// Picks the shard DataSource from ShardContext; without a context the
+// default shard (which also holds users and the shard directory) is used
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+}
@@ -0,0 +1,56 @@
+package com.nmemarcoding.evonto.shard;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+    public ShardDataSources shardDataSources(ShardingProperties properties) {
+        Map<String, DataSource> dataSources = new LinkedHashMap<>();
+        properties.getShards().forEach((name, shard) -> {
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shard.getUrl())
+                    .username(shard.getUsername())
+                    .password(shard.getPassword())
+                    .build();
+            dataSource.setPoolName("shard-" + name);
+            dataSources.put(name, dataSource);
+        });
+        if (!dataSources.containsKey(properties.getDefaultShard())) {
+            throw new IllegalStateException("sharding.default-shard '" + properties.getDefaultShard() + "' is not configured");
+        }
+        return new ShardDataSources(dataSources);
+    }
+
+    // JPA sees one DataSource. The lazy proxy delays opening the physical
+    // connection until the first statement, so a service can choose the shard
+    // after its transaction has started but before it touches the database.
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+    public DataSource dataSource(ShardDataSources shardDataSources, ShardingProperties properties) {
+        ShardRoutingDataSource routing = new ShardRoutingDataSource();
+        routing.setTargetDataSources(new HashMap<>(shardDataSources.all()));
+        routing.setDefaultTargetDataSource(shardDataSources.get(properties.getDefaultShard()));
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
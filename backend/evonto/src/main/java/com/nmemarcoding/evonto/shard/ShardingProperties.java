@@ -0,0 +1,116 @@
+package com.nmemarcoding.evonto.shard;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "sharding")
+public class ShardingProperties {
+
+    // Off by default: everything stays on spring.datasource
+    private boolean enabled;
+
+    // Shard holding users, the shard directory and unsharded tables
+    private String defaultShard = "shard0";
+
+    private int virtualNodes = 128;
+
+    // How often every instance reloads moved owners from shard_owners. A move
+    // deletes the source rows once every instance has reloaded after its flip.
+    private long directoryRefreshMs = 1000;
+
+    // A move not finished after this long is considered abandoned and can be taken over
+    private long migrationTimeoutMs = 30 * 60 * 1000;
+
+    private Map<String, Shard> shards = new LinkedHashMap<>();
+
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+        // First auto-increment id on this shard; ranges must not overlap so an
+        // event or invitation id alone tells which shard created it
+        private long idBase;
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public long getIdBase() {
+            return idBase;
+        }
+
+        public void setIdBase(long idBase) {
+            this.idBase = idBase;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDefaultShard() {
+        return defaultShard;
+    }
+
+    public void setDefaultShard(String defaultShard) {
+        this.defaultShard = defaultShard;
+    }
+
+    public int getVirtualNodes() {
+        return virtualNodes;
+    }
+
+    public void setVirtualNodes(int virtualNodes) {
+        this.virtualNodes = virtualNodes;
+    }
+
+    public long getDirectoryRefreshMs() {
+        return directoryRefreshMs;
+    }
+
+    public void setDirectoryRefreshMs(long directoryRefreshMs) {
+        this.directoryRefreshMs = directoryRefreshMs;
+    }
+
+    public long getMigrationTimeoutMs() {
+        return migrationTimeoutMs;
+    }
+
+    public void setMigrationTimeoutMs(long migrationTimeoutMs) {
+        this.migrationTimeoutMs = migrationTimeoutMs;
+    }
+
+    public Map<String, Shard> getShards() {
+        return shards;
+    }
+
+    public void setShards(Map<String, Shard> shards) {
+        this.shards = shards;
+    }
+}
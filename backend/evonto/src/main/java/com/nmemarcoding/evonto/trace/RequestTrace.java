@@ -0,0 +1,132 @@
+package com.nmemarcoding.evonto.trace;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Phase and SQL timings of the request running on this thread. Instrumented
+// code calls start()/stop(); both are a thread-local read and do nothing when
+// no request is being traced (background jobs, tests).
+public final class RequestTrace {
+
+    public record Statement(String sql, double ms) {}
+
+    public record Snapshot(String method, String route, int status, long startedAt, double totalMs,
+                           Map<String, Double> phases, int statementCount, double statementMs,
+                           List<Statement> statements) {}
+
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+
+    // Kept per request for the slow log; the count and total still cover all of them
+    private static final int MAX_STATEMENTS = 100;
+
+    private static final class Phase {
+        long nanos;
+        int count;
+    }
+
+    private final long startNanos = System.nanoTime();
+    private final long startedAt = System.currentTimeMillis();
+    private final Map<String, Phase> phases = new LinkedHashMap<>();
+    private final List<String> statementSql = new ArrayList<>();
+    private final List<Long> statementNanos = new ArrayList<>();
+    private int statementCount;
+    private long statementTotalNanos;
+    private String preparedSql;
+    private long statementStart;
+    private long totalNanos = -1;
+
+    private RequestTrace() {}
+
+    static RequestTrace begin() {
+        RequestTrace trace = new RequestTrace();
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    public static long start() {
+        return CURRENT.get() != null ? System.nanoTime() : 0;
+    }
+
+    public static void stop(String phase, long start) {
+        RequestTrace trace = CURRENT.get();
+        if (trace != null && start != 0) {
+            Phase timing = trace.phases.computeIfAbsent(phase, name -> new Phase());
+            timing.nanos += System.nanoTime() - start;
+            timing.count++;
+        }
+    }
+
+    static void sqlPrepared(String sql) {
+        RequestTrace trace = CURRENT.get();
+        if (trace != null) {
+            trace.preparedSql = sql;
+        }
+    }
+
+    static void sqlStarted() {
+        RequestTrace trace = CURRENT.get();
+        if (trace != null) {
+            trace.statementStart = System.nanoTime();
+        }
+    }
+
+    static void sqlEnded() {
+        RequestTrace trace = CURRENT.get();
+        if (trace != null && trace.statementStart != 0) {
+            long nanos = System.nanoTime() - trace.statementStart;
+            trace.statementStart = 0;
+            trace.statementCount++;
+            trace.statementTotalNanos += nanos;
+            if (trace.statementSql.size() < MAX_STATEMENTS) {
+                trace.statementSql.add(trace.preparedSql);
+                trace.statementNanos.add(nanos);
+            }
+        }
+    }
+
+    long finish() {
+        if (totalNanos < 0) {
+            totalNanos = System.nanoTime() - startNanos;
+        }
+        return totalNanos;
+    }
+
+    // Server-Timing value: per-phase durations, all SQL as "db" and the total so far.
+    // Statement text stays out of the header; it is only kept in the slow log.
+    String serverTiming() {
+        long total = totalNanos >= 0 ? totalNanos : System.nanoTime() - startNanos;
+        StringBuilder header = new StringBuilder(128);
+        phases.forEach((name, phase) -> appendMetric(header, name, phase.nanos).append(", "));
+        appendMetric(header, "db", statementTotalNanos).append(";desc=\"").append(statementCount).append(" queries\", ");
+        appendMetric(header, "total", total);
+        return header.toString();
+    }
+
+    Snapshot snapshot(String method, String route, int status) {
+        Map<String, Double> phaseMs = new LinkedHashMap<>();
+        phases.forEach((name, phase) -> phaseMs.put(name, millis(phase.nanos)));
+        List<Statement> statements = new ArrayList<>(statementSql.size());
+        for (int i = 0; i < statementSql.size(); i++) {
+            statements.add(new Statement(statementSql.get(i), millis(statementNanos.get(i))));
+        }
+        return new Snapshot(method, route, status, startedAt, millis(finish()), phaseMs, statementCount,
+                millis(statementTotalNanos), statements);
+    }
+
+    private static StringBuilder appendMetric(StringBuilder header, String name, long nanos) {
+        long micros = nanos / 1_000;
+        long fraction = micros % 1_000 / 10;
+        return header.append(name).append(";dur=").append(micros / 1_000).append('.')
+                .append(fraction < 10 ? "0" : "").append(fraction);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000 / 1_000.0;
+    }
+}
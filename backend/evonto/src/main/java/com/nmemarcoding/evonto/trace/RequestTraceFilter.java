@@ -0,0 +1,98 @@
+package com.nmemarcoding.evonto.trace;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+// Outermost filter: traces every request, adds Server-Timing and hands slow
+// requests to the slow log. Headers cannot change once the body starts, so the
+// header is set when the body stream is opened and replaced with the final
+// timings if the response is still uncommitted at the end.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestTraceFilter extends OncePerRequestFilter {
+
+    private static final String SERVER_TIMING = "Server-Timing";
+
+    private final SlowRequestLog slowRequestLog;
+    private final boolean enabled;
+    private final long slowThresholdNanos;
+
+    public RequestTraceFilter(SlowRequestLog slowRequestLog,
+                              @Value("${tracing.enabled:true}") boolean enabled,
+                              @Value("${tracing.slow-requests.threshold-ms:500}") long slowThresholdMs) {
+        this.slowRequestLog = slowRequestLog;
+        this.enabled = enabled;
+        this.slowThresholdNanos = slowThresholdMs * 1_000_000;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!enabled) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        RequestTrace trace = RequestTrace.begin();
+        try {
+            chain.doFilter(request, new TimedResponse(response, trace));
+        } finally {
+            RequestTrace.end();
+            long total = trace.finish();
+            if (!response.isCommitted()) {
+                response.setHeader(SERVER_TIMING, trace.serverTiming());
+            }
+            if (total >= slowThresholdNanos) {
+                slowRequestLog.add(trace.snapshot(request.getMethod(), route(request), response.getStatus()));
+            }
+        }
+    }
+
+    // The mapped pattern, never the raw path: paths can carry secrets such as calendar feed tokens
+    private static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "unmapped";
+    }
+
+    private static final class TimedResponse extends HttpServletResponseWrapper {
+
+        private final RequestTrace trace;
+
+        TimedResponse(HttpServletResponse response, RequestTrace trace) {
+            super(response);
+            this.trace = trace;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            stamp();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            stamp();
+            return super.getWriter();
+        }
+
+        private void stamp() {
+            if (!isCommitted()) {
+                setHeader(SERVER_TIMING, trace.serverTiming());
+            }
+        }
+    }
+}
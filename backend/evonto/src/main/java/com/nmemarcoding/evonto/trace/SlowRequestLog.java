@@ -0,0 +1,43 @@
+package com.nmemarcoding.evonto.trace;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.nmemarcoding.evonto.trace.RequestTrace.Snapshot;
+
+// The most recent slow requests with their full breakdown. Writers claim a
+// slot with one atomic increment and overwrite the oldest entry, so recording
+// never blocks a request thread.
+@Component
+public class SlowRequestLog {
+
+    private final AtomicReferenceArray<Snapshot> slots;
+    private final AtomicLong next = new AtomicLong();
+
+    public SlowRequestLog(@Value("${tracing.slow-requests.capacity:64}") int capacity) {
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    public void add(Snapshot snapshot) {
+        slots.set((int) (next.getAndIncrement() % slots.length()), snapshot);
+    }
+
+    // Slowest first
+    public List<Snapshot> slowest() {
+        List<Snapshot> snapshots = new ArrayList<>(slots.length());
+        for (int i = 0; i < slots.length(); i++) {
+            Snapshot snapshot = slots.get(i);
+            if (snapshot != null) {
+                snapshots.add(snapshot);
+            }
+        }
+        snapshots.sort(Comparator.comparingDouble(Snapshot::totalMs).reversed());
+        return snapshots;
+    }
+}
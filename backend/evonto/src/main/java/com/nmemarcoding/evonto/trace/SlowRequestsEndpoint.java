@@ -0,0 +1,27 @@
+package com.nmemarcoding.evonto.trace;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.nmemarcoding.evonto.trace.RequestTrace.Snapshot;
+
+// Operator endpoint at /actuator/slowrequests: the slowest recent requests with
+// their SQL text.
+@Component
+@Endpoint(id = "slowrequests")
+public class SlowRequestsEndpoint {
+
+    private final SlowRequestLog slowRequestLog;
+
+    public SlowRequestsEndpoint(SlowRequestLog slowRequestLog) {
+        this.slowRequestLog = slowRequestLog;
+    }
+
+    @ReadOperation
+    public List<Snapshot> slowRequests() {
+        return slowRequestLog.slowest();
+    }
+}
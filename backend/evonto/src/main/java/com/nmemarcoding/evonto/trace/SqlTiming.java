@@ -0,0 +1,36 @@
+package com.nmemarcoding.evonto.trace;
+
+import org.hibernate.SessionEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Hooked into Hibernate by class name (see application.properties): the
+// inspector sees each statement as it is prepared, the session listener
+// brackets its execution. Only JPA statements are timed, not JdbcTemplate.
+public class SqlTiming implements StatementInspector, SessionEventListener {
+
+    @Override
+    public String inspect(String sql) {
+        RequestTrace.sqlPrepared(sql);
+        return sql;
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        RequestTrace.sqlStarted();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestTrace.sqlEnded();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        RequestTrace.sqlStarted();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestTrace.sqlEnded();
+    }
+}
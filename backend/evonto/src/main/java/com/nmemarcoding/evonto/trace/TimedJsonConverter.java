@@ -0,0 +1,32 @@
+package com.nmemarcoding.evonto.trace;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Replaces Boot's default JSON converter so response serialization shows up
+// as the "json" phase
+@Component
+public class TimedJsonConverter extends MappingJackson2HttpMessageConverter {
+
+    public TimedJsonConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        long start = RequestTrace.start();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            RequestTrace.stop("json", start);
+        }
+    }
+}
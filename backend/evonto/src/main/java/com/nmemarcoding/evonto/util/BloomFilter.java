@@ -0,0 +1,62 @@
+package com.nmemarcoding.evonto.util;
+
+// Fixed-size Bloom filter over strings. A negative answer is exact, so the common
+// case (key never added) costs one string hash and a few bit tests. Not
+// thread-safe; TokenRevocationList copies it before changing a published one.
+final class BloomFilter {
+
+    private static final int HASHES = 7;
+
+    private final long[] bits;
+    private final int mask;
+
+    // About 10 bits per expected key, ~1% false positives at capacity
+    BloomFilter(int expectedKeys) {
+        int size = Integer.highestOneBit(Math.max(1024, expectedKeys * 10 - 1)) << 1;
+        this.bits = new long[size >>> 6];
+        this.mask = size - 1;
+    }
+
+    private BloomFilter(long[] bits, int mask) {
+        this.bits = bits;
+        this.mask = mask;
+    }
+
+    BloomFilter copy() {
+        return new BloomFilter(bits.clone(), mask);
+    }
+
+    int capacity() {
+        return (mask + 1) / 10;
+    }
+
+    void put(String key) {
+        int h1 = mix(key.hashCode());
+        int h2 = mix(h1) | 1;
+        for (int i = 0; i < HASHES; i++) {
+            int bit = (h1 + i * h2) & mask;
+            bits[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    boolean mightContain(String key) {
+        int h1 = mix(key.hashCode());
+        int h2 = mix(h1) | 1;
+        for (int i = 0; i < HASHES; i++) {
+            int bit = (h1 + i * h2) & mask;
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // murmur3 finalizer, spreads String.hashCode over all bits
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        return h ^ (h >>> 16);
+    }
+}
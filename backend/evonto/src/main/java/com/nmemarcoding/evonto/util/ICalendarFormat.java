@@ -0,0 +1,98 @@
+package com.nmemarcoding.evonto.util;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.stream.Collectors;
+
+import com.nmemarcoding.evonto.model.Event;
+
+// Minimal RFC 5545 writer for the calendar feed. Event times are stored without
+// a zone, so they are written as floating local times; DTSTAMP must be UTC.
+public final class ICalendarFormat {
+
+    public static final String HEADER = "BEGIN:VCALENDAR\r\n"
+            + "VERSION:2.0\r\n"
+            + "PRODID:-//Evonto//Evonto Calendar//EN\r\n"
+            + "CALSCALE:GREGORIAN\r\n"
+            + "METHOD:PUBLISH\r\n"
+            + "X-WR-CALNAME:Evonto\r\n";
+    public static final String FOOTER = "END:VCALENDAR\r\n";
+
+    private static final DateTimeFormatter LOCAL = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter UTC = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private ICalendarFormat() {}
+
+    public static String vevent(Event event) {
+        StringBuilder out = new StringBuilder(256);
+        line(out, "BEGIN:VEVENT");
+        line(out, "UID:event-" + event.getEventId() + "@evonto");
+        line(out, "SEQUENCE:" + event.getVersion());
+        line(out, "DTSTAMP:" + utc(event.getCreatedAt()));
+        line(out, "DTSTART:" + LOCAL.format(event.getStartDateTime()));
+        line(out, "DTEND:" + LOCAL.format(event.getEndDateTime()));
+        if (event.getRecurrenceFrequency() != null) {
+            line(out, "RRULE:" + rrule(event));
+            if (event.getRecurrenceExceptions() != null && !event.getRecurrenceExceptions().isEmpty()) {
+                line(out, "EXDATE:" + event.getRecurrenceExceptions().stream()
+                        .map(LOCAL::format).collect(Collectors.joining(",")));
+            }
+        }
+        line(out, "SUMMARY:" + escape(event.getTitle()));
+        if (event.getLocation() != null && !event.getLocation().isBlank()) {
+            line(out, "LOCATION:" + escape(event.getLocation()));
+        }
+        if (event.getDescription() != null && !event.getDescription().isBlank()) {
+            line(out, "DESCRIPTION:" + escape(event.getDescription()));
+        }
+        line(out, "END:VEVENT");
+        return out.toString();
+    }
+
+    // UNTIL is floating like DTSTART, as RFC 5545 requires
+    private static String rrule(Event event) {
+        StringBuilder rule = new StringBuilder("FREQ=").append(event.getRecurrenceFrequency().name());
+        if (event.getRecurrenceInterval() != null && event.getRecurrenceInterval() > 1) {
+            rule.append(";INTERVAL=").append(event.getRecurrenceInterval());
+        }
+        if (event.getRecurrenceUntil() != null) {
+            rule.append(";UNTIL=").append(LOCAL.format(event.getRecurrenceUntil()));
+        } else if (event.getRecurrenceCount() != null) {
+            rule.append(";COUNT=").append(event.getRecurrenceCount());
+        }
+        return rule.toString();
+    }
+
+    private static String utc(LocalDateTime time) {
+        return UTC.format(time.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC));
+    }
+
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r\n", "\\n")
+                .replace("\n", "\\n")
+                .replace("\r", "\\n");
+    }
+
+    // Lines longer than 75 octets are folded with CRLF + space, never inside a UTF-8 sequence
+    private static void line(StringBuilder out, String content) {
+        int octets = 0;
+        for (int i = 0; i < content.length(); ) {
+            int codePoint = content.codePointAt(i);
+            int width = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (octets + width > MAX_LINE_OCTETS) {
+                out.append("\r\n ");
+                octets = 1;
+            }
+            out.appendCodePoint(codePoint);
+            octets += width;
+            i += Character.charCount(codePoint);
+        }
+        out.append("\r\n");
+    }
+}
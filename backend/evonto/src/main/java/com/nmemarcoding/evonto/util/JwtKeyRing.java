@@ -0,0 +1,260 @@
+package com.nmemarcoding.evonto.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.Key;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import javax.crypto.SecretKey;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+
+// Signing keys shared by every instance through a key file, so tokens survive
+// restarts and verify on any node. Each key is stored as
+//   <kid>=<activeFromMillis>:<base64 secret>
+// The newest key whose activeFrom has passed signs. A rotation writes the next
+// key two reload intervals before it becomes active, so every instance already
+// verifies it when the first token signed with it arrives. A replaced key stays
+// valid for verification for the overlap window, then it is dropped from the file.
+//
+// Writers (first start on an empty file, rotation) hold an exclusive lock on
+// <path>.lock and re-read the file under it, so instances never overwrite each
+// other's keys. Rotation should still be enabled on one instance only.
+@Component
+public class JwtKeyRing {
+
+    // Kid and key used to sign new tokens, read together so they always match
+    public record SigningKey(String kid, Key key) {}
+
+    private record Entry(String kid, long activeFrom, Key key) {}
+
+    private final Path keyFile;
+    private final Path lockFile;
+    private final long rotationPeriodMs;
+    private final long overlapMs;
+    private final long publishAheadMs;
+    private final boolean rotationEnabled;
+    private final boolean createIfMissing;
+
+    // Immutable snapshots swapped on reload/rotation, so lookups never lock.
+    // ring is sorted by activeFrom.
+    private volatile Map<String, Key> keys = Collections.emptyMap();
+    private volatile List<Entry> ring = List.of();
+
+    public JwtKeyRing(@Value("${jwt.keyring.path:jwt-keyring.properties}") String keyFile,
+                      @Value("${jwt.keyring.rotation-period-hours:24}") long rotationPeriodHours,
+                      @Value("${jwt.keyring.overlap-hours:12}") long overlapHours,
+                      @Value("${jwt.keyring.check-interval-ms:60000}") long checkIntervalMs,
+                      @Value("${jwt.keyring.rotation-enabled:false}") boolean rotationEnabled,
+                      @Value("${jwt.keyring.create-if-missing:true}") boolean createIfMissing) {
+        this.keyFile = Paths.get(keyFile);
+        this.lockFile = this.keyFile.resolveSibling(this.keyFile.getFileName() + ".lock");
+        this.rotationPeriodMs = rotationPeriodHours * 60 * 60 * 1000;
+        this.overlapMs = overlapHours * 60 * 60 * 1000;
+        this.publishAheadMs = 2 * checkIntervalMs;
+        this.rotationEnabled = rotationEnabled;
+        this.createIfMissing = createIfMissing;
+    }
+
+    // Instances starting together on an empty file agree on one first key:
+    // whoever takes the lock first writes it, the others read it back.
+    // Verify-only instances (create-if-missing=false) refuse to start instead,
+    // since tokens signed with a key of their own would verify nowhere else.
+    @PostConstruct
+    public synchronized void init() {
+        reload();
+        if (ring.isEmpty() && !createIfMissing) {
+            throw new IllegalStateException("JWT key ring " + keyFile.toAbsolutePath()
+                    + " is missing or empty; point jwt.keyring.path at the key ring of the servlet app");
+        }
+        if (ring.isEmpty()) {
+            withFileLock(() -> {
+                Properties stored = readFile();
+                if (parse(stored).isEmpty()) {
+                    addKey(stored, System.currentTimeMillis());
+                    writeFile(stored);
+                }
+                apply(stored);
+                return null;
+            });
+        }
+    }
+
+    public SigningKey getSigningKey() {
+        List<Entry> current = ring;
+        long now = System.currentTimeMillis();
+        Entry active = current.get(0);
+        for (Entry entry : current) {
+            if (entry.activeFrom() <= now) {
+                active = entry;
+            }
+        }
+        return new SigningKey(active.kid(), active.key());
+    }
+
+    // Constant-time lookup used by the parser; null means unknown or retired key.
+    // Published keys that do not sign yet already verify.
+    public Key getKey(String kid) {
+        return kid == null ? null : keys.get(kid);
+    }
+
+    // Picks up keys written by other nodes and publishes the next key when due
+    @Scheduled(fixedDelayString = "${jwt.keyring.check-interval-ms:60000}")
+    public synchronized void refresh() {
+        reload();
+        if (rotationEnabled && rotationDue(ring, System.currentTimeMillis())) {
+            withFileLock(() -> {
+                rotate();
+                return null;
+            });
+        }
+    }
+
+    // Runs under the file lock: the file may have been rotated by another instance meanwhile
+    private void rotate() {
+        Properties stored = readFile();
+        List<Entry> entries = parse(stored);
+        long now = System.currentTimeMillis();
+
+        if (rotationDue(entries, now)) {
+            long newestActiveFrom = entries.isEmpty() ? now : entries.get(entries.size() - 1).activeFrom();
+            addKey(stored, Math.max(now + publishAheadMs, newestActiveFrom + rotationPeriodMs));
+            entries = parse(stored);
+        }
+
+        // A replaced key is kept until every token it signed has expired
+        for (int i = 0; i < entries.size() - 1; i++) {
+            long replacedAt = entries.get(i + 1).activeFrom();
+            if (replacedAt <= now && now - replacedAt > overlapMs) {
+                stored.remove(entries.get(i).kid());
+            }
+        }
+
+        writeFile(stored);
+        apply(stored);
+    }
+
+    // The next key is published publishAheadMs before the newest one has served its period
+    private boolean rotationDue(List<Entry> entries, long now) {
+        return entries.isEmpty()
+                || now >= entries.get(entries.size() - 1).activeFrom() + rotationPeriodMs - publishAheadMs;
+    }
+
+    private static void addKey(Properties stored, long activeFrom) {
+        SecretKey key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+        stored.setProperty(UUID.randomUUID().toString(),
+                activeFrom + ":" + Base64.getEncoder().encodeToString(key.getEncoded()));
+    }
+
+    private void reload() {
+        if (Files.exists(keyFile)) {
+            apply(readFile());
+        }
+    }
+
+    private void apply(Properties stored) {
+        List<Entry> entries = parse(stored);
+        if (entries.isEmpty()) {
+            return;
+        }
+        Map<String, Key> loaded = new HashMap<>();
+        for (Entry entry : entries) {
+            loaded.put(entry.kid(), entry.key());
+        }
+        keys = Collections.unmodifiableMap(loaded);
+        ring = List.copyOf(entries);
+    }
+
+    private static List<Entry> parse(Properties stored) {
+        List<Entry> entries = new ArrayList<>();
+        for (String kid : stored.stringPropertyNames()) {
+            String value = stored.getProperty(kid);
+            int separator = value.indexOf(':');
+            if (separator < 0) {
+                continue;
+            }
+            byte[] secret = Base64.getDecoder().decode(value.substring(separator + 1));
+            entries.add(new Entry(kid, parseActiveFrom(value), Keys.hmacShaKeyFor(secret)));
+        }
+        entries.sort(Comparator.comparingLong(Entry::activeFrom));
+        return entries;
+    }
+
+    private static long parseActiveFrom(String value) {
+        int separator = value.indexOf(':');
+        try {
+            return separator < 0 ? 0L : Long.parseLong(value.substring(0, separator));
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    // Exclusive lock on a sibling file, so it survives the atomic replace of the key file
+    private <T> T withFileLock(Supplier<T> action) {
+        try {
+            Path dir = lockFile.toAbsolutePath().getParent();
+            if (dir != null) {
+                Files.createDirectories(dir);
+            }
+            try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock lock = channel.lock()) {
+                return action.get();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not lock JWT key ring " + lockFile, e);
+        }
+    }
+
+    private Properties readFile() {
+        Properties stored = new Properties();
+        if (!Files.exists(keyFile)) {
+            return stored;
+        }
+        try (InputStream in = Files.newInputStream(keyFile)) {
+            stored.load(in);
+            return stored;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read JWT key ring " + keyFile, e);
+        }
+    }
+
+    // Write to a temp file and move it into place so readers never see a partial file
+    private void writeFile(Properties stored) {
+        try {
+            Path dir = keyFile.toAbsolutePath().getParent();
+            if (dir != null) {
+                Files.createDirectories(dir);
+            }
+            Path tmp = Files.createTempFile(dir, "jwt-keyring", ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                stored.store(out, "Evonto JWT signing keys");
+            }
+            Files.move(tmp, keyFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not write JWT key ring " + keyFile, e);
+        }
+    }
+}
@@ -2,47 +2,89 @@ package com.nmemarcoding.evonto.util;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.UUID;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.nmemarcoding.evonto.trace.RequestTrace;
+
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
 import jakarta.servlet.http.HttpServletRequest;
 
 @Component
 public class JwtUtil {
 
-    private final Key secretKey = Keys.secretKeyFor(SignatureAlgorithm.HS256);
     private final long EXPIRATION_TIME = 1000 * 60 * 60 * 10; // 10 hours
 
+    private final JwtKeyRing keyRing;
+    private final JwtParser parser;
+    private final TokenRevocationList revocations;
+
+    public JwtUtil(JwtKeyRing keyRing, TokenRevocationList revocations) {
+        this.keyRing = keyRing;
+        this.revocations = revocations;
+        // Parser is immutable and thread-safe; the key is picked per token by its kid header
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        Key key = keyRing.getKey(header.getKeyId());
+                        if (key == null) {
+                            throw new JwtException("Unknown signing key: " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .build();
+    }
+
     public String generateToken(String username) {
+        JwtKeyRing.SigningKey signingKey = keyRing.getSigningKey();
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, signingKey.kid())
+                .setId(UUID.randomUUID().toString())
                 .setSubject(username)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-                .signWith(secretKey)
+                .signWith(signingKey.key())
                 .compact();
     }
 
     public boolean validateToken(String token) {
+        long start = RequestTrace.start();
         try {
-            Jws<Claims> claims = Jwts.parserBuilder()
-                    .setSigningKey(secretKey)
-                    .build()
-                    .parseClaimsJws(token);
+            Claims claims = parser.parseClaimsJws(token).getBody();
 
-            return !claims.getBody().getExpiration().before(new Date());
+            // Tokens issued before jti was added only match a revoke-all cutoff
+            return !claims.getExpiration().before(new Date())
+                    && !revocations.isRevoked(claims.getId(), claims.getSubject(), claims.getIssuedAt().getTime());
         } catch (JwtException | IllegalArgumentException e) {
             return false;
+        } finally {
+            RequestTrace.stop("jwt", start);
+        }
+    }
+
+    // Claims of a correctly signed token, or null
+    public Claims extractClaims(String token) {
+        try {
+            return parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
         }
     }
 
+    public long getExpirationMillis() {
+        return EXPIRATION_TIME;
+    }
+
     public String extractToken(HttpServletRequest request) {
         String header = request.getHeader("Authorization");
         if (header != null && !header.isEmpty() && header.startsWith("Bearer ")) {
@@ -63,15 +105,15 @@ public class JwtUtil {
     }
 
     public String extractUsername(String token) {
+        long start = RequestTrace.start();
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(secretKey)
-                    .build()
-                    .parseClaimsJws(token)
+            return parser.parseClaimsJws(token)
                     .getBody()
                     .getSubject();
         } catch (JwtException | IllegalArgumentException e) {
             return null;
+        } finally {
+            RequestTrace.stop("jwt", start);
         }
     }
 
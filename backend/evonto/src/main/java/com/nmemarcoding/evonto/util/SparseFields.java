@@ -0,0 +1,22 @@
+package com.nmemarcoding.evonto.util;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+// Parses ?fields=title,startDateTime. The id field always comes first so
+// clients can still key and link rows.
+public final class SparseFields {
+
+    private SparseFields() {}
+
+    public static Set<String> parse(String fields, String idField) {
+        Set<String> parsed = new LinkedHashSet<>();
+        parsed.add(idField);
+        for (String field : fields.split(",")) {
+            if (!field.isBlank()) {
+                parsed.add(field.trim());
+            }
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,101 @@
+package com.nmemarcoding.evonto.util;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Revoked tokens (by jti) and per-user "revoke all before" cutoffs, checked on
+// every token validation. Readers see an immutable snapshot: a Bloom filter in
+// front of an exact map, so a token that was never revoked is rejected by the
+// filter without touching the map. Changes copy the snapshot, which is fine as
+// revocations are rare next to validations.
+//
+// Entries are dropped once every token they could match has expired. Loading
+// and persisting revocations is up to the caller (TokenRevocationService).
+@Component
+public class TokenRevocationList {
+
+    // A single token (jti set) or all tokens of a user issued up to revokedAt (username set)
+    public record Revocation(String jti, String username, long revokedAt, long expiresAt) {}
+
+    private record Snapshot(BloomFilter tokenFilter, Map<String, Revocation> tokens,
+                            BloomFilter userFilter, Map<String, Revocation> users) {}
+
+    private final int expectedEntries;
+    private volatile Snapshot snapshot;
+
+    public TokenRevocationList(@Value("${auth.revocation.expected-entries:10000}") int expectedEntries) {
+        this.expectedEntries = expectedEntries;
+        this.snapshot = rebuild(Map.of(), Map.of());
+    }
+
+    // issuedAt has second precision (JWT iat), so a revoke-all also rejects
+    // tokens issued later within the same second
+    public boolean isRevoked(String jti, String username, long issuedAt) {
+        Snapshot current = snapshot;
+        if (jti != null && current.tokenFilter().mightContain(jti) && current.tokens().containsKey(jti)) {
+            return true;
+        }
+        if (username != null && current.userFilter().mightContain(username)) {
+            Revocation all = current.users().get(username);
+            return all != null && issuedAt <= all.revokedAt();
+        }
+        return false;
+    }
+
+    public synchronized void addAll(Collection<Revocation> revocations) {
+        if (revocations.isEmpty()) {
+            return;
+        }
+        Snapshot current = snapshot;
+        Map<String, Revocation> tokens = new HashMap<>(current.tokens());
+        Map<String, Revocation> users = new HashMap<>(current.users());
+        BloomFilter tokenFilter = current.tokenFilter().copy();
+        BloomFilter userFilter = current.userFilter().copy();
+        for (Revocation revocation : revocations) {
+            if (revocation.jti() != null) {
+                tokens.put(revocation.jti(), revocation);
+                tokenFilter.put(revocation.jti());
+            } else if (revocation.username() != null) {
+                // Keep the latest cutoff; it covers the earlier ones
+                users.merge(revocation.username(), revocation,
+                        (previous, added) -> added.revokedAt() > previous.revokedAt() ? added : previous);
+                userFilter.put(revocation.username());
+            }
+        }
+        // Past capacity the false positive rate climbs; size the filters up
+        if (tokens.size() > tokenFilter.capacity() || users.size() > userFilter.capacity()) {
+            snapshot = rebuild(tokens, users);
+        } else {
+            snapshot = new Snapshot(tokenFilter, tokens, userFilter, users);
+        }
+    }
+
+    public synchronized void removeExpired(long now) {
+        Snapshot current = snapshot;
+        Map<String, Revocation> tokens = new HashMap<>(current.tokens());
+        Map<String, Revocation> users = new HashMap<>(current.users());
+        boolean removed = tokens.values().removeIf(revocation -> revocation.expiresAt() <= now);
+        removed |= users.values().removeIf(revocation -> revocation.expiresAt() <= now);
+        // Bloom filters cannot delete, so they are rebuilt from what is left
+        if (removed) {
+            snapshot = rebuild(tokens, users);
+        }
+    }
+
+    public int size() {
+        Snapshot current = snapshot;
+        return current.tokens().size() + current.users().size();
+    }
+
+    private Snapshot rebuild(Map<String, Revocation> tokens, Map<String, Revocation> users) {
+        BloomFilter tokenFilter = new BloomFilter(Math.max(expectedEntries, tokens.size() * 2));
+        BloomFilter userFilter = new BloomFilter(Math.max(expectedEntries / 10, users.size() * 2));
+        tokens.keySet().forEach(tokenFilter::put);
+        users.keySet().forEach(userFilter::put);
+        return new Snapshot(tokenFilter, Map.copyOf(tokens), userFilter, Map.copyOf(users));
+    }
+}
@@ -0,0 +1,131 @@
+package com.nmemarcoding.evonto.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.nmemarcoding.evonto.dto.RsvpCountDto;
+import com.nmemarcoding.evonto.model.Event;
+import com.nmemarcoding.evonto.model.Invitation;
+import com.nmemarcoding.evonto.model.Invitation.RSVPStatus;
+
+// Thousands of guests answer YES to a small event at the same moment; the
+// number admitted must be exactly the capacity, never more.
+class InvitationCapacityTests extends InvitationServiceTestBase {
+
+	private static final int CAPACITY = 50;
+	private static final int GUESTS = 2_000;
+
+	@Test
+	void simultaneousYesAdmitsExactlyCapacity() throws Exception {
+		Event event = createEvent(CAPACITY);
+		List<Long> invitationIds = invite(event, GUESTS);
+
+		List<Throwable> errors = respondConcurrently(invitationIds, RSVPStatus.YES);
+
+		assertTrue(errors.isEmpty(), () -> "responses failed: " + errors);
+		Map<RSVPStatus, Long> counts = countByStatus(event);
+		assertEquals(CAPACITY, counts.get(RSVPStatus.YES));
+		assertEquals(GUESTS - CAPACITY, counts.get(RSVPStatus.WAITLISTED));
+		assertEquals(CAPACITY, seatsTaken(event));
+	}
+
+	@Test
+	void freedSeatsGoToTheWaitlistWithoutOverselling() throws Exception {
+		Event event = createEvent(CAPACITY);
+		List<Long> invitationIds = invite(event, GUESTS);
+		assertTrue(respondConcurrently(invitationIds, RSVPStatus.YES).isEmpty());
+
+		// Half of the admitted guests cancel while waitlisted guests keep pressing YES
+		List<Long> admitted = new ArrayList<>();
+		List<Long> waitlisted = new ArrayList<>();
+		for (Invitation invitation : invitationRepository.findByEvent(event)) {
+			(invitation.getRsvpStatus() == RSVPStatus.YES ? admitted : waitlisted).add(invitation.getInvitationId());
+		}
+		List<Long> cancelling = admitted.subList(0, CAPACITY / 2);
+
+		List<Request> requests = new ArrayList<>();
+		for (Long id : cancelling) {
+			requests.add(() -> respond(id, RSVPStatus.NO));
+		}
+		for (Long id : waitlisted.subList(0, 500)) {
+			requests.add(() -> respond(id, RSVPStatus.YES));
+		}
+		List<Throwable> errors = runConcurrently(requests);
+
+		assertTrue(errors.isEmpty(), () -> "responses failed: " + errors);
+		Map<RSVPStatus, Long> counts = countByStatus(event);
+		assertEquals(CAPACITY, counts.get(RSVPStatus.YES));
+		assertEquals(CAPACITY / 2, counts.get(RSVPStatus.NO));
+		assertEquals(GUESTS - CAPACITY - CAPACITY / 2, counts.get(RSVPStatus.WAITLISTED));
+		assertEquals(CAPACITY, seatsTaken(event));
+	}
+
+	@Test
+	void waitlistedGuestAnsweringYesAgainKeepsTheirPlace() {
+		Event event = createEvent(CAPACITY);
+		List<Long> invitationIds = invite(event, CAPACITY + 2);
+		invitationIds.forEach(id -> invitationService.respondToInvitation(id, RSVPStatus.YES));
+		Long first = invitationIds.get(CAPACITY);
+		Long second = invitationIds.get(CAPACITY + 1);
+		LocalDateTime firstRespondedAt = invitationRepository.findById(first).orElseThrow().getRespondedAt();
+
+		invitationService.respondToInvitation(first, RSVPStatus.YES);
+		Invitation stillWaiting = invitationRepository.findById(first).orElseThrow();
+		assertEquals(RSVPStatus.WAITLISTED, stillWaiting.getRsvpStatus());
+		assertEquals(firstRespondedAt, stillWaiting.getRespondedAt());
+
+		// The first seat to free up still goes to the guest who asked first
+		invitationService.respondToInvitation(invitationIds.get(0), RSVPStatus.NO);
+		assertEquals(RSVPStatus.YES, invitationRepository.findById(first).orElseThrow().getRsvpStatus());
+		assertEquals(RSVPStatus.WAITLISTED, invitationRepository.findById(second).orElseThrow().getRsvpStatus());
+	}
+
+	private List<Long> invite(Event event, int guests) {
+		List<Invitation> invitations = new ArrayList<>();
+		for (int i = 0; i < guests; i++) {
+			invitations.add(new Invitation(event, "Guest " + i, "guest" + i + "@example.com", null));
+		}
+		return invitationRepository.saveAll(invitations).stream().map(Invitation::getInvitationId).toList();
+	}
+
+	private List<Throwable> respondConcurrently(List<Long> invitationIds, RSVPStatus status) throws InterruptedException {
+		return runConcurrently(invitationIds.stream().<Request>map(id -> () -> respond(id, status)).toList());
+	}
+
+	// Clients retry a 409 ("changed by another request"), so the test does too
+	private void respond(Long invitationId, RSVPStatus status) {
+		for (int attempt = 0; ; attempt++) {
+			try {
+				invitationService.respondToInvitation(invitationId, status);
+				return;
+			} catch (IllegalStateException e) {
+				if (attempt == 5) {
+					throw e;
+				}
+			}
+		}
+	}
+
+	private Map<RSVPStatus, Long> countByStatus(Event event) {
+		Map<RSVPStatus, Long> counts = new EnumMap<>(RSVPStatus.class);
+		for (RSVPStatus status : RSVPStatus.values()) {
+			counts.put(status, 0L);
+		}
+		for (RsvpCountDto count : invitationRepository.countByEventIdsGroupedByStatus(List.of(event.getEventId()))) {
+			counts.put(count.getRsvpStatus(), count.getCount());
+		}
+		return counts;
+	}
+
+	private int seatsTaken(Event event) {
+		return eventRepository.findById(event.getEventId()).orElseThrow().getSeatsTaken();
+	}
+}
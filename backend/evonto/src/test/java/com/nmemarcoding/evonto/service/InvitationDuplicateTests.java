@@ -0,0 +1,90 @@
+package com.nmemarcoding.evonto.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.nmemarcoding.evonto.model.Event;
+import com.nmemarcoding.evonto.model.Invitation;
+
+// Every guest is invited many times at once, with the email spelled differently
+// each time; exactly one invitation per guest must exist afterwards, and every
+// other send must report "already invited". Guests without an email are never
+// deduplicated.
+class InvitationDuplicateTests extends InvitationServiceTestBase {
+
+	private static final int GUESTS = 200;
+	private static final int SENDS_PER_GUEST = 10;
+
+	@Test
+	void concurrentSendsCreateOneInvitationPerGuest() throws Exception {
+		Event event = createEvent(null);
+
+		AtomicInteger created = new AtomicInteger();
+		AtomicInteger alreadyInvited = new AtomicInteger();
+		List<Request> sends = new ArrayList<>();
+		for (int send = 0; send < SENDS_PER_GUEST; send++) {
+			for (int guest = 0; guest < GUESTS; guest++) {
+				String name = "Guest " + guest;
+				String email = spelling("guest" + guest + "@example.com", send);
+				sends.add(() -> {
+					boolean sent = invitationService.sendInvitation(event, name, email, null, null).isPresent();
+					(sent ? created : alreadyInvited).incrementAndGet();
+				});
+			}
+		}
+		List<Throwable> errors = runConcurrently(sends);
+
+		assertTrue(errors.isEmpty(), () -> "sends failed: " + errors);
+		assertEquals(GUESTS, created.get());
+		assertEquals(GUESTS * (SENDS_PER_GUEST - 1), alreadyInvited.get());
+
+		List<Invitation> invitations = invitationRepository.findByEvent(event);
+		assertEquals(GUESTS, invitations.size());
+		Map<String, Long> perGuest = invitations.stream()
+				.collect(Collectors.groupingBy(Invitation::getGuestName, Collectors.counting()));
+		assertEquals(GUESTS, perGuest.size());
+		assertTrue(perGuest.values().stream().allMatch(count -> count == 1));
+	}
+
+	@Test
+	void occurrenceInvitesAreSeparateFromTheSeries() {
+		Event event = createEvent(null);
+		LocalDateTime occurrence = event.getStartDateTime();
+
+		assertTrue(invitationService.sendInvitation(event, "Ann", "ann@example.com", null, occurrence).isPresent());
+		assertTrue(invitationService.sendInvitation(event, "Ann", " ANN@example.com ", null, occurrence).isEmpty());
+		assertTrue(invitationService.sendInvitation(event, "Ann", "ann@example.com", null, null).isPresent());
+		assertTrue(invitationService.sendInvitation(event, "Ann", "ann@example.com", null, occurrence.plusDays(7)).isEmpty());
+		assertEquals(2, invitationRepository.findByEvent(event).size());
+	}
+
+	@Test
+	void guestsWithoutEmailAreNotDuplicatesOfEachOther() {
+		Event event = createEvent(null);
+
+		assertTrue(invitationService.sendInvitation(event, "John", null, null, null).isPresent());
+		assertTrue(invitationService.sendInvitation(event, "john ", "", null, null).isPresent());
+		assertTrue(invitationService.sendInvitation(event, "John", "john@example.com", null, null).isPresent());
+		assertEquals(3, invitationRepository.findByEvent(event).size());
+	}
+
+	// Same address, different case and surrounding whitespace per send
+	private static String spelling(String email, int send) {
+		Function<String, String> variant = switch (send % 3) {
+			case 0 -> Function.identity();
+			case 1 -> String::toUpperCase;
+			default -> value -> "  " + value + " ";
+		};
+		return variant.apply(email);
+	}
+}
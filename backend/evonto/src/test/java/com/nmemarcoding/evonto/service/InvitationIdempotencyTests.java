@@ -0,0 +1,106 @@
+package com.nmemarcoding.evonto.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nmemarcoding.evonto.idempotency.IdempotencyFilter;
+import com.nmemarcoding.evonto.idempotency.IdempotencyStore;
+import com.nmemarcoding.evonto.model.Event;
+import com.nmemarcoding.evonto.util.JwtUtil;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+
+// A double-clicked invite of a guest without an email: InviteGuestModal sends
+// the same Idempotency-Key with both requests, so only one invitation is
+// created and every click gets its response. A new key is a new guest.
+@Import(IdempotencyStore.class)
+class InvitationIdempotencyTests extends InvitationServiceTestBase {
+
+	private static final int CLICKS = 10;
+
+	@MockitoBean
+	private JwtUtil jwtUtil;
+
+	@Autowired
+	private IdempotencyStore store;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private IdempotencyFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		when(jwtUtil.extractUsernameFromRequest(any())).thenReturn("owner");
+		filter = new IdempotencyFilter(store, jwtUtil, objectMapper, 10000);
+	}
+
+	@Test
+	void repeatedSendsWithOneKeyCreateOneInvitation() throws Exception {
+		Event event = createEvent(null);
+		FilterChain controller = sendInvitation(event);
+
+		ConcurrentLinkedQueue<MockHttpServletResponse> responses = new ConcurrentLinkedQueue<>();
+		List<Request> clicks = new ArrayList<>();
+		for (int click = 0; click < CLICKS; click++) {
+			clicks.add(() -> {
+				MockHttpServletResponse response = new MockHttpServletResponse();
+				filter.doFilter(send(event, "John", "555-0100", "key-1"), response, controller);
+				responses.add(response);
+			});
+		}
+		List<Throwable> errors = runConcurrently(clicks);
+
+		assertTrue(errors.isEmpty(), () -> "sends failed: " + errors);
+		assertEquals(CLICKS, responses.size());
+		assertTrue(responses.stream().allMatch(response -> response.getStatus() == 200));
+		assertEquals(CLICKS - 1, responses.stream().filter(response -> response.getHeader("Idempotent-Replayed") != null).count());
+		assertEquals(1, invitationRepository.findByEvent(event).size());
+
+		// Another John without an email, entered separately, is still invited
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(send(event, "John", "555-0100", "key-2"), response, controller);
+		assertEquals(200, response.getStatus());
+		assertEquals(2, invitationRepository.findByEvent(event).size());
+	}
+
+	// Stands in for InvitationController.sendInvitation
+	private FilterChain sendInvitation(Event event) {
+		return (request, response) -> {
+			@SuppressWarnings("unchecked")
+			Map<String, String> payload = objectMapper.readValue(request.getInputStream(), Map.class);
+			boolean sent = invitationService.sendInvitation(event, payload.get("guestName"), payload.get("guestEmail"),
+					payload.get("guestPhone"), null).isPresent();
+			((HttpServletResponse) response).setStatus(sent ? 200 : 400);
+			response.getWriter().write(sent ? "sent" : "Guest already invited");
+		};
+	}
+
+	private MockHttpServletRequest send(Event event, String name, String phone, String key) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/invitations/send");
+		request.addHeader(IdempotencyFilter.HEADER, key);
+		request.setContentType("application/json");
+		request.setContent(objectMapper.writeValueAsString(Map.of(
+				"eventId", event.getEventId().toString(),
+				"guestName", name,
+				"guestPhone", phone)).getBytes(StandardCharsets.UTF_8));
+		return request;
+	}
+}
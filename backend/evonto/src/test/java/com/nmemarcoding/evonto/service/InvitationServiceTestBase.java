@@ -0,0 +1,117 @@
+package com.nmemarcoding.evonto.service;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.nmemarcoding.evonto.analytics.RsvpRecorder;
+import com.nmemarcoding.evonto.audit.AuditLog;
+import com.nmemarcoding.evonto.cache.JsonFragmentCache;
+import com.nmemarcoding.evonto.model.Event;
+import com.nmemarcoding.evonto.model.User;
+import com.nmemarcoding.evonto.repository.EventRepository;
+import com.nmemarcoding.evonto.repository.InvitationRepository;
+import com.nmemarcoding.evonto.repository.UserRepository;
+import com.nmemarcoding.evonto.shard.ShardDirectory;
+import com.nmemarcoding.evonto.shard.ShardRouter;
+import com.nmemarcoding.evonto.shard.ShardingProperties;
+
+// InvitationService on its real repositories (H2 in MySQL mode) with the
+// caches, audit log and analytics mocked. Tests run outside a test transaction,
+// so concurrent requests commit and collide as they do in production.
+@DataJpaTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:invitations;MODE=MySQL;LOCK_TIMEOUT=30000;DB_CLOSE_DELAY=-1",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.datasource.hikari.maximum-pool-size=32",
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnableConfigurationProperties(ShardingProperties.class)
+@Import({ InvitationService.class, ChangeLogService.class, ShardRouter.class, ShardDirectory.class })
+abstract class InvitationServiceTestBase {
+
+	protected static final int THREADS = 32;
+
+	// A request body run by one client thread
+	protected interface Request {
+		void run() throws Exception;
+	}
+
+	@MockitoBean
+	protected JsonFragmentCache fragmentCache;
+
+	@MockitoBean
+	protected AuditLog auditLog;
+
+	@MockitoBean
+	protected RsvpRecorder rsvpRecorder;
+
+	@Autowired
+	protected InvitationService invitationService;
+
+	@Autowired
+	protected UserRepository userRepository;
+
+	@Autowired
+	protected EventRepository eventRepository;
+
+	@Autowired
+	protected InvitationRepository invitationRepository;
+
+	@AfterEach
+	void tearDown() {
+		invitationRepository.deleteAll();
+		eventRepository.deleteAll();
+		userRepository.deleteAll();
+	}
+
+	// An event a week from now; capacity null means unlimited
+	protected Event createEvent(Integer capacity) {
+		User owner = userRepository.save(new User("owner" + System.nanoTime(), System.nanoTime() + "@example.com", "hash"));
+		Event event = new Event("Launch party", null, LocalDateTime.now().plusDays(7).withNano(0),
+				LocalDateTime.now().plusDays(7).plusHours(3).withNano(0), "Hall", owner);
+		event.setCapacity(capacity);
+		return eventRepository.save(event);
+	}
+
+	// Starts all requests at the same moment on THREADS threads; returns what they threw
+	protected List<Throwable> runConcurrently(List<Request> requests) throws InterruptedException {
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		ConcurrentLinkedQueue<Throwable> errors = new ConcurrentLinkedQueue<>();
+		for (Request request : requests) {
+			pool.submit(() -> {
+				try {
+					start.await();
+					request.run();
+				} catch (Throwable e) {
+					errors.add(e);
+				}
+			});
+		}
+		start.countDown();
+		pool.shutdown();
+		assertTrue(pool.awaitTermination(2, TimeUnit.MINUTES));
+		return List.copyOf(errors);
+	}
+}
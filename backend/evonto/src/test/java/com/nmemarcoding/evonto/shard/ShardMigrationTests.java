@@ -0,0 +1,200 @@
+package com.nmemarcoding.evonto.shard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.nmemarcoding.evonto.analytics.RsvpRecorder;
+import com.nmemarcoding.evonto.audit.AuditLog;
+import com.nmemarcoding.evonto.cache.CalendarFeedCache;
+import com.nmemarcoding.evonto.cache.JsonFragmentCache;
+import com.nmemarcoding.evonto.model.Event;
+import com.nmemarcoding.evonto.model.User;
+import com.nmemarcoding.evonto.repository.UserRepository;
+import com.nmemarcoding.evonto.service.ChangeLogService;
+import com.nmemarcoding.evonto.service.EventService;
+import com.nmemarcoding.evonto.service.InvitationService;
+import com.nmemarcoding.evonto.service.ReminderService;
+
+// Three embedded H2 databases as shards behind the real routing DataSource:
+// owners' rows land on their own shard, a cross-owner read merges all shards,
+// and a move leaves the owner's rows on the target only.
+@DataJpaTest(properties = {
+		"sharding.enabled=true",
+		"sharding.default-shard=shard0",
+		"sharding.directory-refresh-ms=50",
+		"sharding.shards.shard0.url=jdbc:h2:mem:shard0;MODE=MySQL;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+		"sharding.shards.shard0.username=sa",
+		"sharding.shards.shard0.password=",
+		"sharding.shards.shard0.id-base=0",
+		"sharding.shards.shard1.url=jdbc:h2:mem:shard1;MODE=MySQL;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+		"sharding.shards.shard1.username=sa",
+		"sharding.shards.shard1.password=",
+		"sharding.shards.shard1.id-base=1000000",
+		"sharding.shards.shard2.url=jdbc:h2:mem:shard2;MODE=MySQL;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+		"sharding.shards.shard2.username=sa",
+		"sharding.shards.shard2.password=",
+		"sharding.shards.shard2.id-base=2000000",
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ ShardingConfig.class, ShardDirectory.class, ShardRouter.class, ShardMigrationService.class,
+		EventService.class, InvitationService.class, ChangeLogService.class })
+class ShardMigrationTests {
+
+	private static final List<String> SHARDS = List.of("shard0", "shard1", "shard2");
+
+	// Owner-scoped tables, children first
+	private static final List<String> TABLES = List.of("change_log", "reminders", "rsvp_counters",
+			"invitations_archive", "events_archive", "invitations", "events");
+
+	@MockitoBean
+	private JsonFragmentCache fragmentCache;
+
+	@MockitoBean
+	private CalendarFeedCache calendarFeedCache;
+
+	@MockitoBean
+	private AuditLog auditLog;
+
+	@MockitoBean
+	private RsvpRecorder rsvpRecorder;
+
+	@MockitoBean
+	private ReminderService reminderService;
+
+	@Autowired
+	private ShardingProperties properties;
+
+	@Autowired
+	private ShardDataSources shardDataSources;
+
+	@Autowired
+	private ShardDirectory directory;
+
+	@Autowired
+	private ShardMigrationService migrationService;
+
+	@Autowired
+	private EventService eventService;
+
+	@Autowired
+	private InvitationService invitationService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	// Hibernate creates the schema on the default shard only; the others get a
+	// copy with their own id range, as a deployment would
+	@BeforeEach
+	void createShardSchemas() {
+		List<String> schema = jdbc("shard0").queryForList("SCRIPT NODATA", String.class).stream()
+				.filter(statement -> !statement.startsWith("--"))
+				.toList();
+		for (String shard : SHARDS.subList(1, SHARDS.size())) {
+			JdbcTemplate target = jdbc(shard);
+			Integer tables = target.queryForObject(
+					"SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE UPPER(TABLE_NAME) = 'EVENTS'", Integer.class);
+			if (tables != null && tables > 0) {
+				continue;
+			}
+			schema.forEach(target::execute);
+			long idBase = properties.getShards().get(shard).getIdBase();
+			target.execute("ALTER TABLE events ALTER COLUMN event_id RESTART WITH " + idBase);
+			target.execute("ALTER TABLE invitations ALTER COLUMN invitation_id RESTART WITH " + idBase);
+		}
+	}
+
+	@AfterEach
+	void tearDown() {
+		for (String shard : SHARDS) {
+			JdbcTemplate jdbc = jdbc(shard);
+			TABLES.forEach(table -> jdbc.update("DELETE FROM " + table));
+			jdbc.update("DELETE FROM users");
+		}
+		jdbc(properties.getDefaultShard()).update("DELETE FROM shard_owners");
+		directory.refresh();
+	}
+
+	@Test
+	void ownersAreRoutedFannedOutAndMoved() {
+		// One owner per shard
+		Map<String, User> owners = new LinkedHashMap<>();
+		for (int i = 0; owners.size() < SHARDS.size() && i < 200; i++) {
+			User user = userRepository.save(new User("owner" + i, "owner" + i + "@example.com", "hash"));
+			owners.putIfAbsent(directory.shardOfUser(user.getUserId()), user);
+		}
+		assertEquals(SHARDS.size(), owners.size());
+
+		LocalDateTime start = LocalDateTime.now().plusDays(7).withNano(0);
+		Map<String, Event> events = new LinkedHashMap<>();
+		owners.forEach((shard, owner) -> {
+			Event event = eventService.createEvent(new Event("Party on " + shard, null, start, start.plusHours(3), "Hall", owner));
+			assertTrue(invitationService.sendInvitation(event, "Ann", "ann@example.com", null, null).isPresent());
+			events.put(shard, event);
+		});
+
+		// Each owner's rows are on their shard only, and lookups by id go there
+		events.forEach((shard, event) -> {
+			assertEquals(shard, directory.shardOfEvent(event.getEventId()));
+			for (String other : SHARDS) {
+				int expected = other.equals(shard) ? 1 : 0;
+				assertEquals(expected, count(other, "events", event.getEventId()));
+				assertEquals(expected, count(other, "invitations", event.getEventId()));
+			}
+			assertTrue(eventService.getEventById(event.getEventId()).isPresent());
+			assertEquals(1, invitationService.getInvitationsByEvent(event).size());
+		});
+
+		// A cross-owner read merges every shard
+		assertEquals(SHARDS.size(), eventService.getAllEvents().size());
+
+		// Move the owner of shard1 to shard2
+		User owner = owners.get("shard1");
+		Event event = events.get("shard1");
+		Long invitationId = invitationService.getInvitationsByEvent(event).get(0).getInvitationId();
+		migrationService.moveUser(owner.getUserId(), "shard2");
+
+		assertEquals("shard2", directory.shardOfUser(owner.getUserId()));
+		assertEquals("shard2", directory.shardOfEvent(event.getEventId()));
+		assertEquals("shard2", directory.shardOfInvitation(invitationId));
+		assertEquals(1, count("shard2", "events", event.getEventId()));
+		assertEquals(1, count("shard2", "invitations", event.getEventId()));
+		assertEquals(0, count("shard1", "events", event.getEventId()));
+		assertEquals(0, count("shard1", "invitations", event.getEventId()));
+		assertTrue(eventService.getEventById(event.getEventId()).isPresent());
+		assertEquals(SHARDS.size(), eventService.getAllEvents().size());
+
+		// Writes for the moved owner land on the target
+		assertTrue(invitationService.sendInvitation(event, "Bob", "bob@example.com", null, null).isPresent());
+		assertEquals(2, count("shard2", "invitations", event.getEventId()));
+		assertEquals(0, count("shard1", "invitations", event.getEventId()));
+	}
+
+	private int count(String shard, String table, Long eventId) {
+		Integer rows = jdbc(shard).queryForObject("SELECT COUNT(*) FROM " + table + " WHERE event_id = ?", Integer.class, eventId);
+		return rows != null ? rows : 0;
+	}
+
+	private JdbcTemplate jdbc(String shard) {
+		return new JdbcTemplate(shardDataSources.get(shard));
+	}
+}
@@ -0,0 +1,96 @@
+package com.nmemarcoding.evonto.shard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+class ShardRoutingTests {
+
+	private final Map<String, EmbeddedDatabase> shards = new LinkedHashMap<>();
+	private JdbcTemplate routed;
+
+	@BeforeEach
+	void setUp() {
+		for (String name : List.of("shard0", "shard1", "shard2")) {
+			EmbeddedDatabase db = new EmbeddedDatabaseBuilder()
+					.setType(EmbeddedDatabaseType.H2)
+					.generateUniqueName(true)
+					.build();
+			new JdbcTemplate(db).execute("CREATE TABLE marker (name VARCHAR(16))");
+			new JdbcTemplate(db).update("INSERT INTO marker VALUES (?)", name);
+			shards.put(name, db);
+		}
+
+		ShardRoutingDataSource routing = new ShardRoutingDataSource();
+		routing.setTargetDataSources(new HashMap<>(shards));
+		routing.setDefaultTargetDataSource(shards.get("shard0"));
+		routing.afterPropertiesSet();
+		DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+		routed = new JdbcTemplate(dataSource);
+	}
+
+	@AfterEach
+	void tearDown() {
+		shards.values().forEach(EmbeddedDatabase::shutdown);
+	}
+
+	@Test
+	void queriesGoToTheShardInContext() {
+		for (String name : shards.keySet()) {
+			String seen = ShardContext.callOn(name, () -> routed.queryForObject("SELECT name FROM marker", String.class));
+			assertEquals(name, seen);
+		}
+	}
+
+	@Test
+	void noContextUsesDefaultShard() {
+		assertEquals("shard0", routed.queryForObject("SELECT name FROM marker", String.class));
+	}
+
+	@Test
+	void ringIsStableAndSpreadsOwners() {
+		ConsistentHashRing ring = new ConsistentHashRing(shards.keySet(), 128);
+		ConsistentHashRing sameRing = new ConsistentHashRing(shards.keySet(), 128);
+
+		Map<String, Integer> counts = new HashMap<>();
+		for (long userId = 1; userId <= 30_000; userId++) {
+			String shard = ring.shardFor("user:" + userId);
+			assertEquals(shard, sameRing.shardFor("user:" + userId));
+			counts.merge(shard, 1, Integer::sum);
+		}
+		counts.values().forEach(count -> assertTrue(count > 7_000, "unbalanced ring: " + counts));
+	}
+
+	@Test
+	void addingAShardMovesAboutItsShareOfOwners() {
+		ConsistentHashRing before = new ConsistentHashRing(List.of("shard0", "shard1", "shard2"), 128);
+		ConsistentHashRing after = new ConsistentHashRing(List.of("shard0", "shard1", "shard2", "shard3"), 128);
+
+		int moved = 0;
+		int owners = 20_000;
+		for (long userId = 1; userId <= owners; userId++) {
+			String from = before.shardFor("user:" + userId);
+			String to = after.shardFor("user:" + userId);
+			if (!from.equals(to)) {
+				assertEquals("shard3", to);
+				moved++;
+			}
+		}
+		assertTrue(moved < owners * 0.4, "too many owners moved: " + moved);
+	}
+}
@@ -1,7 +1,12 @@
 // src/components/InviteGuestModal.js
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import api from '../services/apiService';
 
+const newIdempotencyKey = () =>
+  window.crypto?.randomUUID
+    ? window.crypto.randomUUID()
+    : `${Date.now().toString(36)}-${Math.random().toString(36).slice(2)}`;
+
 function InviteGuestModal({ eventId, onClose }) {
   const [form, setForm] = useState({
     guestName: '',
@@ -14,6 +19,10 @@ function InviteGuestModal({ eventId, onClose }) {
   const [animateIn, setAnimateIn] = useState(false);
   const [existingInvitations, setExistingInvitations] = useState([]);
   const [isLoadingInvitations, setIsLoadingInvitations] = useState(true);
+  // One Idempotency-Key per filled-in form: a double-click or a retry of the
+  // same guest reuses it, so the backend creates the invitation only once
+  // (guests without an email are not de-duplicated otherwise)
+  const idempotencyKey = useRef(newIdempotencyKey());
 
   // Animation effect
   useEffect(() => {
@@ -52,6 +61,7 @@ function InviteGuestModal({ eventId, onClose }) {
 
   const handleChange = (e) => {
     setForm({ ...form, [e.target.name]: e.target.value });
+    idempotencyKey.current = newIdempotencyKey();
   };
 
   // Check if guest is already invited based on name or email
@@ -120,9 +130,12 @@ function InviteGuestModal({ eventId, onClose }) {
         ...formData, // Use formData with properly formatted null values
         eventId: eventId.toString(),
       };
-      const response = await api.post('/invitations/send', payload);
+      await api.post('/invitations/send', payload, {
+        headers: { 'Idempotency-Key': idempotencyKey.current },
+      });
       setSuccessMsg('Invitation sent successfully!');
       setForm({ guestName: '', guestEmail: '', guestPhone: '' });
+      idempotencyKey.current = newIdempotencyKey();
       
       // Refresh the invitations list
       fetchExistingInvitations();